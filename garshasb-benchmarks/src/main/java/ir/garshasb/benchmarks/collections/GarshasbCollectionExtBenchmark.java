@@ -0,0 +1,154 @@
+package ir.garshasb.benchmarks.collections;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput and allocation of the stream pass-throughs and embellishments in {@code GarshasbCollectionExt}.
+ * <p>
+ * Stream terminal operations are applied inside each benchmark, otherwise the lazy pass-throughs would measure nothing.
+ * The {@code parallel*} pairs compare the ordered {@code GarshasbStreamCollectionsExt} collectors with their concurrent counterparts
+ * on parallel streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GarshasbCollectionExtBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"ARRAY_LIST", "LINKED_LIST", "HASH_SET"})
+    public IterableSource source;
+
+    private Collection<Integer> collection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        collection = (Collection<Integer>) source.create(size);
+    }
+
+    @Benchmark
+    public List<Long> map() {
+        return collection.map(e -> (long) e).toList();
+    }
+
+    @Benchmark
+    public List<Integer> filter() {
+        return collection.filter(e -> (e & 1) == 0).toList();
+    }
+
+    @Benchmark
+    public List<Integer> distinct() {
+        return collection.distinct().toList();
+    }
+
+    @Benchmark
+    public List<Integer> sorted() {
+        return collection.sorted().toList();
+    }
+
+    @Benchmark
+    public List<Integer> sortedWithComparator() {
+        return collection.sorted((a, b) -> Integer.compare(b, a)).toList();
+    }
+
+    @Benchmark
+    public Integer reduce() {
+        return collection.reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public boolean anyMatch() {
+        return collection.anyMatch(e -> e < 0);
+    }
+
+    @Benchmark
+    public Integer max() {
+        return collection.max(Integer::compare);
+    }
+
+    @Benchmark
+    public String join() {
+        return collection.join(",");
+    }
+
+    @Benchmark
+    public List<Integer> toList() {
+        return collection.toList();
+    }
+
+    @Benchmark
+    public Set<Integer> toSet() {
+        return collection.toSet();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> toMap() {
+        return collection.toMap(e -> e);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> groupingBy() {
+        return collection.groupingBy(e -> e & 1023);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> countBy() {
+        return collection.countBy(e -> e & 1023);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> sumByLong() {
+        return collection.sumByLong(e -> e & 1023, e -> e);
+    }
+
+    @Benchmark
+    public List<Integer> streamToList() {
+        return collection.stream().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> streamToListPresized() {
+        return collection.stream().toList(size);
+    }
+
+    @Benchmark
+    public Set<Integer> parallelToSet() {
+        return collection.parallelStream().toSet();
+    }
+
+    @Benchmark
+    public Set<Integer> parallelToConcurrentSet() {
+        return collection.parallelStream().toConcurrentSet();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> parallelToMap() {
+        return collection.parallelStream().toMap(e -> e);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> parallelToConcurrentMap() {
+        return collection.parallelStream().toConcurrentMap(e -> e);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> parallelGroupingBy() {
+        return collection.parallelStream().groupingBy(e -> e & 1023);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> parallelGroupingByConcurrent() {
+        return collection.parallelStream().groupingByConcurrent(e -> e & 1023);
+    }
+}
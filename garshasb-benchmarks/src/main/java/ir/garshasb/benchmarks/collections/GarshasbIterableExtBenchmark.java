@@ -0,0 +1,341 @@
+package ir.garshasb.benchmarks.collections;
+
+import ir.garshasb.collections.primitive.LongObjectMap;
+import ir.garshasb.collections.sketch.Summary;
+import ir.garshasb.collections.sorting.SortedMerge;
+import manifold.rt.api.util.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation of the {@code GarshasbIterableExt} operations over the receiver shapes in {@link IterableSource}.
+ * <p>
+ * The set operations run against {@code other}, a list of {@code size} integers of which the first half overlaps the receiver,
+ * and against {@code tiny}, ten integers, in both directions.
+ * <p>
+ * The {@code ITERABLE} source runs the same data through the plain iterator paths, so comparing it with {@code ARRAY_LIST}
+ * shows what the list and {@code RandomAccess} fast paths gain, e.g. {@link #lastMatching()} scanning backwards.
+ * The joins match the receiver against {@code other}.
+ * The merge benchmarks deal the {@code size} integers into 64 sorted shards and do not depend on the source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GarshasbIterableExtBenchmark {
+
+    /**
+     * Multiplier spreading the ascending source values into sort keys in no particular order.
+     */
+    private static final long SCRAMBLE = 0x9E3779B97F4A7C15L;
+    /**
+     * Number of sorted lists the {@code size} integers are dealt into for the merge benchmarks, and of hash partitions.
+     */
+    private static final int SHARDS = 64;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    @Param({"ARRAY_LIST", "LINKED_LIST", "HASH_SET", "ITERABLE"})
+    public IterableSource source;
+
+    private Iterable<Integer> iterable;
+    private List<Integer> other;
+    private List<Integer> tiny;
+    private List<List<Integer>> shards;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        iterable = source.create(size);
+        other = new ArrayList<>(size);
+        for (int i = size / 2; i < size + size / 2; i++) {
+            other.add(i);
+        }
+        tiny = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            tiny.add(i * 7);
+        }
+        shards = new ArrayList<>(SHARDS);
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<Integer> sorted = new ArrayList<>(size / SHARDS + 1);
+            for (int i = shard; i < size; i += SHARDS) {
+                sorted.add(i);
+            }
+            shards.add(sorted);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> plusElement() {
+        return iterable.plus(-1);
+    }
+
+    @Benchmark
+    public List<Integer> plusIterable() {
+        return iterable.plus(other);
+    }
+
+    @Benchmark
+    public Iterable<Integer> minus() {
+        return iterable.minus(other);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> associateBy() {
+        return iterable.associateBy(e -> e);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> associatePairs() {
+        return iterable.associate(e -> new Pair<Integer, Integer>(e, e + 1));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> associateEmitter() {
+        return iterable.associate((e, sink) -> sink.put(e, e + 1));
+    }
+
+    @Benchmark
+    public List<Integer> flatMapLists() {
+        return iterable.flatMap(e -> Arrays.asList(e, -e));
+    }
+
+    @Benchmark
+    public List<Integer> flatMapEmitter() {
+        return iterable.flatMap((e, emit) -> {
+            emit.accept(e);
+            emit.accept(-e);
+        });
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> associateByReadOnly() {
+        return iterable.associateByReadOnly(e -> e);
+    }
+
+    @Benchmark
+    public LongObjectMap<Integer> associateByLong() {
+        return iterable.associateByLong(e -> e);
+    }
+
+    @Benchmark
+    public List<Integer> distinctByLong() {
+        return iterable.distinctByLong(e -> e & 1023);
+    }
+
+    @Benchmark
+    public Set<Integer> toReadOnlySet() {
+        return iterable.toReadOnlySet();
+    }
+
+    @Benchmark
+    public List<Integer> filterToList() {
+        return iterable.filterToList(e -> (e & 1) == 0);
+    }
+
+    @Benchmark
+    public Integer lastMatching() {
+        int threshold = size - 10;
+        return iterable.last(e -> e >= threshold);
+    }
+
+    @Benchmark
+    public int indexOfLast() {
+        int threshold = size - 10;
+        return iterable.indexOfLast(e -> e >= threshold);
+    }
+
+    @Benchmark
+    public int countMatching() {
+        return iterable.count(e -> (e & 1) == 0);
+    }
+
+    @Benchmark
+    public List<Integer> mapToArrayList() {
+        return iterable.mapTo(new ArrayList<>(), e -> e + 1);
+    }
+
+    @Benchmark
+    public List<Integer> reversedPage() {
+        return ((List<Integer>) iterable.reversed()).subList(0, Math.min(size, 100));
+    }
+
+    @Benchmark
+    public List<Integer> reversedViewPage() {
+        return iterable.reversedView().sliceView(0, 100).toList();
+    }
+
+    @Benchmark
+    public List<Long> mapToList() {
+        return iterable.mapToList(e -> (long) e);
+    }
+
+    @Benchmark
+    public List<Integer> distinctBy() {
+        return iterable.distinctBy(e -> e & 1023);
+    }
+
+    @Benchmark
+    public Set<Integer> intersect() {
+        return iterable.intersect(other);
+    }
+
+    @Benchmark
+    public Set<Integer> intersectTiny() {
+        return iterable.intersect(tiny);
+    }
+
+    @Benchmark
+    public Set<Integer> tinyIntersect() {
+        return tiny.intersect(iterable);
+    }
+
+    @Benchmark
+    public Set<Integer> union() {
+        return iterable.union(other);
+    }
+
+    @Benchmark
+    public Set<Integer> subtract() {
+        return iterable.subtract(other);
+    }
+
+    @Benchmark
+    public String joinToString() {
+        return iterable.joinToString(",");
+    }
+
+    @Benchmark
+    public Long fold() {
+        return iterable.fold(0L, (acc, e) -> acc + e);
+    }
+
+    @Benchmark
+    public List<Integer> maxN() {
+        return iterable.maxN(10, Integer::compare);
+    }
+
+    @Benchmark
+    public List<Integer> sortedThenTake() {
+        List<Integer> sorted = iterable.toList();
+        sorted.sort(Collections.reverseOrder());
+        return sorted.subList(0, Math.min(10, sorted.size()));
+    }
+
+    @Benchmark
+    public List<Integer> sortedComparingLong() {
+        List<Integer> sorted = iterable.toList();
+        sorted.sort(Comparator.comparingLong(e -> e * SCRAMBLE));
+        return sorted;
+    }
+
+    @Benchmark
+    public List<Integer> sortedByLong() {
+        return iterable.sortedByLong(e -> e * SCRAMBLE);
+    }
+
+    @Benchmark
+    public List<Integer> parallelSortedByLong() {
+        return iterable.parallelSortedByLong(e -> e * SCRAMBLE);
+    }
+
+    @Benchmark
+    public List<Integer> sortedByInt() {
+        return iterable.sortedByInt(e -> e * (int) SCRAMBLE);
+    }
+
+    @Benchmark
+    public List<Integer> concatShardsThenSort() {
+        List<Integer> all = new ArrayList<>(size);
+        for (List<Integer> shard : shards) {
+            all.addAll(shard);
+        }
+        all.sort(null);
+        return all;
+    }
+
+    @Benchmark
+    public List<Integer> mergeSortedShards() {
+        return SortedMerge.merge(shards, Comparator.<Integer>naturalOrder(), false).toList();
+    }
+
+    @Benchmark
+    public long associateByThenLookup() {
+        Map<Integer, Integer> byKey = other.associateBy(e -> e);
+        List<Pair<Integer, Integer>> pairs = iterable.mapNotNullToList(e -> {
+            Integer match = byKey.get(e);
+            return match == null ? null : new Pair<>(e, match);
+        });
+        long sum = 0;
+        for (Pair<Integer, Integer> pair : pairs) {
+            sum += pair.getFirst() + pair.getSecond();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long innerJoinBy() {
+        long[] sum = new long[1];
+        iterable.innerJoinBy(other, e -> e, e -> e, (e, match) -> sum[0] += e + match);
+        return sum[0];
+    }
+
+    @Benchmark
+    public int distinctCountViaSet() {
+        return iterable.toSet().size();
+    }
+
+    @Benchmark
+    public long approxDistinctCount() {
+        return iterable.approxDistinctCount();
+    }
+
+    @Benchmark
+    public long percentilesViaSortedCopy() {
+        List<Long> latencies = iterable.mapToList(e -> (e * SCRAMBLE) >>> 40);
+        Collections.sort(latencies);
+        int last = latencies.size() - 1;
+        return latencies.get(last / 2) + latencies.get((int) (last * 0.99)) + latencies.get((int) (last * 0.999));
+    }
+
+    @Benchmark
+    public double percentilesViaSummary() {
+        Summary summary = iterable.summaryOfLong(e -> (e * SCRAMBLE) >>> 40);
+        return summary.p50() + summary.p99() + summary.p999();
+    }
+
+    @Benchmark
+    public List<List<Integer>> handRolledHashBuckets() {
+        List<List<Integer>> buckets = new ArrayList<>(SHARDS);
+        for (int i = 0; i < SHARDS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (Integer e : iterable) {
+            buckets.get(Math.floorMod(e.hashCode(), SHARDS)).add(e);
+        }
+        return buckets;
+    }
+
+    @Benchmark
+    public List<List<Integer>> partitionByHash() {
+        return iterable.partitionByHash(SHARDS, e -> e);
+    }
+
+    @Benchmark
+    public int joinToOutputStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        iterable.joinTo(out, ",", "", "", -1, null);
+        return out.size();
+    }
+}
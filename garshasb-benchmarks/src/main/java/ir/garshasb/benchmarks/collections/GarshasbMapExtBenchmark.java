@@ -0,0 +1,93 @@
+package ir.garshasb.benchmarks.collections;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Build cost and lookup throughput of {@code freeze()} against the {@link HashMap} it is built from.
+ * <p>
+ * Lookups probe every key once in a shuffled order, so neither map gets to walk its memory sequentially,
+ * misses probe as many absent keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GarshasbMapExtBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Map<String, Integer> hashMap;
+    private Map<String, Integer> frozenMap;
+    private String[] probes;
+    private String[] absentProbes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hashMap = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            hashMap.put("key-" + i, i);
+        }
+        frozenMap = hashMap.freeze();
+        probes = hashMap.keySet().toArray(new String[0]);
+        Collections.shuffle(Arrays.asList(probes), new Random(42));
+        absentProbes = new String[size];
+        for (int i = 0; i < size; i++) {
+            absentProbes[i] = "absent-" + i;
+        }
+    }
+
+    @Benchmark
+    public Map<String, Integer> freeze() {
+        return hashMap.freeze(null);
+    }
+
+    @Benchmark
+    public Map<String, Integer> freezeParallel() {
+        return hashMap.freeze(ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public long hashMapGet() {
+        return sumOfLookups(hashMap);
+    }
+
+    @Benchmark
+    public long frozenMapGet() {
+        return sumOfLookups(frozenMap);
+    }
+
+    @Benchmark
+    public int hashMapMiss() {
+        return countOfHits(hashMap);
+    }
+
+    @Benchmark
+    public int frozenMapMiss() {
+        return countOfHits(frozenMap);
+    }
+
+    private int countOfHits(Map<String, Integer> map) {
+        int hits = 0;
+        for (String probe : absentProbes) {
+            if (map.containsKey(probe)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private long sumOfLookups(Map<String, Integer> map) {
+        long sum = 0;
+        for (String probe : probes) {
+            sum += map.get(probe);
+        }
+        return sum;
+    }
+}
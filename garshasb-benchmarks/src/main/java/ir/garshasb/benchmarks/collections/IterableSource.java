@@ -0,0 +1,55 @@
+package ir.garshasb.benchmarks.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * The receiver shapes the extensions are benchmarked against.
+ * <p>
+ * Each source holds the integers {@code [0, size)}, {@link #ITERABLE} wraps an {@code ArrayList} in a plain
+ * {@link Iterable} so that none of the {@code instanceof Collection}/{@code instanceof List} shortcuts apply.
+ */
+public enum IterableSource {
+    ARRAY_LIST {
+        @Override
+        public Iterable<Integer> create(int size) {
+            return fill(new ArrayList<>(size), size);
+        }
+    },
+    LINKED_LIST {
+        @Override
+        public Iterable<Integer> create(int size) {
+            return fill(new LinkedList<>(), size);
+        }
+    },
+    HASH_SET {
+        @Override
+        public Iterable<Integer> create(int size) {
+            return fill(new HashSet<>(), size);
+        }
+    },
+    ITERABLE {
+        @Override
+        public Iterable<Integer> create(int size) {
+            ArrayList<Integer> list = fill(new ArrayList<>(size), size);
+            return new Iterable<Integer>() {
+                @Override
+                public Iterator<Integer> iterator() {
+                    return list.iterator();
+                }
+            };
+        }
+    };
+
+    public abstract Iterable<Integer> create(int size);
+
+    static <C extends Collection<Integer>> C fill(C collection, int size) {
+        for (int i = 0; i < size; i++) {
+            collection.add(i);
+        }
+        return collection;
+    }
+}
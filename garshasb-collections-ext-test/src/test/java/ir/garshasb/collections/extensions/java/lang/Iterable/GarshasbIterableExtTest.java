@@ -1,9 +1,23 @@
 package ir.garshasb.collections.extensions.java.lang.Iterable;
 
+import ir.garshasb.collections.immutable.PersistentVector;
+import ir.garshasb.collections.primitive.IntObjectMap;
+import ir.garshasb.collections.primitive.LongObjectMap;
+import ir.garshasb.collections.sequence.Sequence;
+import ir.garshasb.collections.sketch.Summary;
 import manifold.test.api.ExtensionManifoldTest;
 import manifold.rt.api.util.Pair;
 
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.assertj.core.api.Assertions.*;
 
 public class GarshasbIterableExtTest extends ExtensionManifoldTest {
@@ -28,6 +42,26 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertThat(l1 + strArr).hasSameElementsAs(Arrays.asList("1", "2", "3", "4", "5", "6"));
     }
 
+    public void testPlusPersistentVector() {
+        List<String> list = makeTestIterable().toPersistentVector();
+        for (int i = 0; i < 100; i++) {
+            list = list + ("e" + i);
+        }
+        assertTrue(list instanceof PersistentVector);
+        assertEquals(104, list.size());
+        assertEquals("e99", list.get(103));
+        assertTrue(list + Arrays.asList("x", "y") instanceof PersistentVector);
+        assertTrue(list + new String[]{"x"} instanceof PersistentVector);
+    }
+
+    public void testMinusPersistentVector() {
+        PersistentVector<String> vector = makeTestIterable().toPersistentVector();
+        Iterable<String> result = vector - Arrays.asList("kyle", "luca");
+        assertTrue(result instanceof PersistentVector);
+        assertEquals(Arrays.asList("scott", "carson"), result);
+        assertSame(vector, vector - Collections.<String>emptyList());
+    }
+
     public void testMinusArray() {
         List<String> l1 = Arrays.asList("1", "2", "3", "4", "5", "6");
         String[] l2 = new String[]{"1", "2", "6"};
@@ -53,6 +87,94 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
 
         assertThat(l1.associate(str -> new Pair<String, Integer>(str, str.length())))
                 .containsExactlyInAnyOrderEntriesOf(res);
+        Map<String, Integer> emitted = l1.associate((str, sink) -> sink.put(str, str.length()));
+        assertEquals(res, emitted);
+        assertEquals(l1, new ArrayList<>(emitted.keySet()));
+    }
+
+    public void testAssociateTo() {
+        List<String> l1 = Arrays.asList("milad", "moen", "robab");
+        Map<String, Integer> byName = l1.associateTo(new TreeMap<>(), str -> new Pair<>(str, str.length()));
+        assertEquals(Arrays.asList("milad", "moen", "robab"), new ArrayList<>(byName.keySet()));
+        Map<Character, Integer> byLetter = l1.associateTo(new TreeMap<>(), (str, sink) -> {
+            sink.put(str.charAt(0), str.length());
+            sink.put(str.charAt(str.length() - 1), str.length());
+        });
+        assertEquals("{b=5, d=5, m=4, n=4, r=5}", byLetter.toString());
+    }
+
+    public void testAssociateByReadOnly() {
+        List<String> l1 = Arrays.asList("milad", "moen", "robab", "pouria", "simin", "sorosh");
+        Map<Integer, String> byLength = l1.associateByReadOnly(String::length);
+        assertEquals(Arrays.asList(5, 4, 6), new ArrayList<>(byLength.keySet()));
+        assertEquals("simin", byLength.get(5));
+        assertEquals(l1.associateBy(String::length, String::toUpperCase), l1.associateByReadOnly(String::length, String::toUpperCase));
+        try {
+            byLength.put(7, "missing");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    public void testAssociateByInt() {
+        List<String> l1 = Arrays.asList("milad", "moen", "robab", "pouria", "simin", "sorosh");
+        IntObjectMap<String> byLength = l1.associateByInt(String::length);
+        assertTrue(Arrays.equals(new int[]{5, 4, 6}, byLength.keys()));
+        assertEquals(Arrays.asList("simin", "moen", "sorosh"), byLength.values());
+        assertEquals("SIMIN", l1.associateByInt(String::length, String::toUpperCase).get(5));
+        assertNull(byLength.get(7));
+    }
+
+    public void testAssociateByLong() {
+        Iterable<String> iter = makeNonCollection();
+        LongObjectMap<String> byId = iter.associateByLong(e -> e.charAt(0) * 10_000_000_000L);
+        assertEquals(4, byId.size());
+        assertEquals("kyle", byId.get('k' * 10_000_000_000L));
+        assertEquals(Integer.valueOf(4), iter.associateByLong(e -> e.charAt(0) * 10_000_000_000L, String::length).get('l' * 10_000_000_000L));
+        assertFalse(byId.containsKey('z' * 10_000_000_000L));
+    }
+
+    public void testAsSequence() {
+        Iterable<String> iter = makeNonCollection();
+        assertEquals(Arrays.asList('k', 'l'), iter.asSequence().filter(e -> e.contains("l")).map(e -> e.charAt(0)).toList());
+        assertEquals("kyle", iter.asSequence().drop(1).first());
+        Sequence<String> seq = iter.asSequence();
+        assertSame(seq, seq.asSequence());
+    }
+
+    public void testChunked() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(Arrays.asList(Arrays.asList("scott", "kyle", "carson"), Arrays.asList("luca")), iter.chunked(3));
+        assertEquals(iter.chunked(3), makeNonCollection().chunked(3));
+
+        List<List<String>> chunks = new ArrayList<>();
+        Set<List<String>> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        makeNonCollection().chunked(2, chunk -> {
+            instances.add(chunk);
+            chunks.add(new ArrayList<>(chunk));
+        });
+        assertEquals(Arrays.asList(Arrays.asList("scott", "kyle"), Arrays.asList("carson", "luca")), chunks);
+        assertEquals(1, instances.size());
+
+        try {
+            iter.chunked(0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testWindowed() {
+        List<Integer> source = makeRange(6);
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(2, 3, 4)), source.windowed(3, 2, false));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1, 2), Arrays.asList(2, 3, 4), Arrays.asList(4, 5)), source.windowed(3, 2, true));
+        Iterable<Integer> nonCollection = source::iterator;
+        assertEquals(source.windowed(3, 2, true), nonCollection.windowed(3, 2, true));
+        assertEquals(Arrays.asList(Arrays.asList(0, 1), Arrays.asList(4, 5)), nonCollection.windowed(2, 4, false));
+
+        List<List<Integer>> windows = new ArrayList<>();
+        nonCollection.windowed(4, 1, false, window -> windows.add(new ArrayList<>(window)));
+        assertEquals(source.windowed(4, 1, false), windows);
     }
 
     public void testCount() {
@@ -62,6 +184,7 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
 
         iter = makeNonCollection();
         assertEquals(4, iter.count());
+        assertEquals(3, iter.count(e -> e.contains("c")));
     }
 
     public void testFilterIndexedTo() {
@@ -78,6 +201,48 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals(3, iter.distinctBy(e -> e.length()).size());
     }
 
+    public void testApproxDistinctCount() {
+        assertEquals(4, makeTestIterable().approxDistinctCount());
+        assertEquals(0, Collections.emptyList().approxDistinctCount());
+        List<Integer> source = makeRange(100_000);
+        assertEquals(100_000, source.approxDistinctCount(), 100_000 * 0.04);
+        assertEquals(100_000, source.approxDistinctCount(10), 100_000 * 0.15);
+        assertThatThrownBy(() -> source.approxDistinctCount(30)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public void testApproxDistinctCountBy() {
+        assertEquals(3, makeNonCollection().approxDistinctCountBy(String::length));
+        List<Integer> source = makeRange(100_000);
+        assertEquals(1_000, source.approxDistinctCountBy(e -> e % 1_000), 1_000 * 0.04);
+        assertEquals(1_000, source.approxDistinctCountBy(e -> "key-" + e % 1_000, 8), 1_000 * 0.3);
+    }
+
+    public void testSummaryOfDouble() {
+        Summary summary = makeTestIterable().summaryOfDouble(e -> e.length() / 2.0);
+        assertEquals(4, summary.count());
+        assertEquals(2.0, summary.min());
+        assertEquals(3.0, summary.max());
+        assertEquals(2.375, summary.mean(), 1e-12);
+        assertEquals(2.0, summary.p50(), 2.0 * 0.01);
+        assertThatThrownBy(() -> makeNonCollection().summaryOfDouble(e -> Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public void testSummaryOfLong() {
+        List<Integer> source = makeRange(100_000);
+        Summary summary = source.summaryOfLong(e -> e + 1L);
+        assertEquals(100_000, summary.count());
+        assertEquals(50_000.5, summary.mean(), 1e-6);
+        assertEquals(90_000, summary.p90(), 90_000 * 0.01);
+        assertEquals(99_900, summary.p999(), 99_900 * 0.01);
+        assertEquals(100_000.0, summary.max());
+        assertEquals(0, Collections.<String>emptyList().summaryOfLong(String::length).count());
+    }
+
+    public void testDistinctByLong() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(Arrays.asList("scott", "kyle", "carson"), iter.distinctByLong(e -> e.length()));
+    }
+
     public void testFilteredIndexToList() {
         Iterable<String> iter = makeTestIterable();
         assertEquals(Arrays.asList("scott", "carson"), iter.filterIndexedToList((i, e) -> i % 2 == 0));
@@ -130,6 +295,9 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
     public void testJoinToString() {
         Iterable<String> iter = makeTestIterable();
         assertEquals("scott; kyle; carson; luca", iter.joinToString("; "));
+        assertEquals("[scott, kyle, ...]", iter.joinToString(", ", "[", "]", 2, null));
+        assertEquals("(S|K|C|L)", iter.joinToString("|", "(", ")", -1, e -> e.substring(0, 1).toUpperCase()));
+        assertEquals("0, 1, 2", makeRange(3).joinToString(", "));
     }
 
     public void testJoinTo() {
@@ -137,22 +305,44 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         StringBuilder sb = new StringBuilder();
         assertSame(sb, iter.joinTo(sb, "; "));
         assertEquals("scott; kyle; carson; luca", iter.joinTo(new StringBuilder(), "; ").toString());
+
+        StringWriter writer = new StringWriter();
+        assertSame(writer, iter.joinTo(writer, ",", "{", "}", 3, null));
+        assertEquals("{scott,kyle,carson,...}", writer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertSame(out, iter.joinTo(out, "\u00b7", "", "\n", -1, null));
+        assertEquals("scott\u00b7kyle\u00b7carson\u00b7luca\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        iter.joinTo(buffer, ";", "", "", -1, e -> e.substring(0, 1));
+        assertEquals("s;k;c;l", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
     }
 
     public void testFlatMap() {
         Iterable<String> iter = makeTestIterable();
         assertEquals(Arrays.asList('s', 'k', 'c', 'l'), iter.flatMap(s -> Arrays.asList(s.charAt(0))));
         assertEquals(Arrays.asList('s', 'k', 'c', 'l'), iter.flatMapTo(new ArrayList<>(), s -> Arrays.asList(s.charAt(0))));
+        List<Character> emitted = iter.flatMap((s, emit) -> {
+            if (s.length() > 4) {
+                emit.accept(s.charAt(0));
+                emit.accept(s.charAt(1));
+            }
+        });
+        assertEquals(Arrays.asList('s', 'c', 'c', 'a'), emitted);
     }
 
     public void testFlatMapTo() {
         Iterable<String> iter = makeTestIterable();
         assertEquals(Arrays.asList('s', 'k', 'c', 'l'), iter.flatMapTo(new ArrayList<>(), s -> Arrays.asList(s.charAt(0))));
+        Set<Integer> lengths = iter.flatMapTo(new TreeSet<>(), (s, emit) -> emit.accept(s.length()));
+        assertEquals(new TreeSet<>(Arrays.asList(4, 5, 6)), lengths);
     }
 
     public void testFold() {
         Iterable<String> iter = makeTestIterable();
         assertEquals("skcl", iter.fold("", (a, s) -> a + s.charAt(0)));
+        assertEquals("skcl", makeNonCollection().fold("", (a, s) -> a + s.charAt(0)));
     }
 
     public void testForEachIndexed() {
@@ -170,6 +360,9 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
     public void testIndexOfLast() {
         Iterable<String> iter = makeTestIterable();
         assertEquals( 3, iter.indexOfLast( e -> e.contains("l") ) );
+        assertEquals( 1, new LinkedList<>( makeTestIterable().toList() ).indexOfLast( e -> e.contains("y") ) );
+        assertEquals( 2, makeNonCollection().indexOfLast( e -> e.contains("s") ) );
+        assertEquals( -1, iter.indexOfLast( e -> e.contains("z") ) );
     }
 
     public void testIntersect() {
@@ -181,6 +374,18 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         Iterable<String> iter = makeTestIterable();
         assertEquals("luca", iter.last());
         assertEquals("carson", iter.last(e -> e.contains("s")));
+        assertEquals("carson", makeNonCollection().last(e -> e.contains("s")));
+        assertEquals("luca", new LinkedList<>(makeTestIterable().toList()).last());
+
+        // lists are scanned from their end, stopping at the first match
+        List<String> tested = new ArrayList<>();
+        assertEquals("carson", iter.last(e -> tested.add(e) && e.contains("s")));
+        assertEquals(Arrays.asList("luca", "carson"), tested);
+        try {
+            iter.last(e -> e.contains("z"));
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
     }
 
     public void testLastOrNull()  {
@@ -189,6 +394,8 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertNull( empty().lastOrNull());
         assertEquals("carson", iter.lastOrNull(e -> e.contains("s")));
         assertNull("carson", iter.lastOrNull(e -> e.contains("z")));
+        assertEquals("kyle", new LinkedList<>(makeTestIterable().toList()).lastOrNull(e -> e.contains("y")));
+        assertEquals("carson", makeNonCollection().lastOrNull(e -> e.contains("s")));
     }
 
     public void testMapIndexed()  {
@@ -239,6 +446,7 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
     public void testMapTo() {
         Iterable<String> iter = makeTestIterableWithNulls();
         assertEquals(Arrays.asList('s', 'k', null, 'c', 'l'), iter.mapTo( new ArrayList<>(), e -> e == null ? null : e.charAt(0) ));
+        assertEquals(Arrays.asList(0, 's', 'k', 'c', 'l'), makeNonCollection().mapTo( new ArrayList<Object>( Collections.singletonList( 0 ) ), e -> e.charAt(0) ));
     }
 
     public void testMapToList() {
@@ -246,6 +454,93 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals(Arrays.asList('s', 'k', 'c', 'l'), iter.mapToList( e -> e == null ? null : e.charAt(0) ));
     }
 
+    public void testMapToIntArray() {
+        assertTrue(Arrays.equals(new int[]{5, 4, 6, 4}, makeTestIterable().mapToIntArray(String::length)));
+        assertTrue(Arrays.equals(new int[]{5, 4, 6, 4}, makeNonCollection().mapToIntArray(String::length)));
+        assertEquals(0, empty().mapToIntArray(String::length).length);
+    }
+
+    public void testMapToLongArray() {
+        assertTrue(Arrays.equals(new long[]{5, 4, 6, 4}, makeTestIterable().mapToLongArray(String::length)));
+        assertTrue(Arrays.equals(new long[]{5, 4, 6, 4}, makeNonCollection().mapToLongArray(String::length)));
+    }
+
+    public void testMapToDoubleArray() {
+        assertTrue(Arrays.equals(new double[]{5, 4, 6, 4}, makeTestIterable().mapToDoubleArray(String::length)));
+        assertTrue(Arrays.equals(new double[]{5, 4, 6, 4}, makeNonCollection().mapToDoubleArray(String::length)));
+    }
+
+    public void testSumOf() {
+        assertEquals(19, makeTestIterable().sumOfInt(String::length));
+        assertEquals(19L, makeNonCollection().sumOfLong(String::length));
+        assertEquals(1.9, makeTestIterable().sumOfDouble(e -> e.length() / 10.0), 1e-12);
+        assertEquals(Double.POSITIVE_INFINITY, Arrays.asList(Double.POSITIVE_INFINITY, 1.0).sumOfDouble(e -> e));
+        assertEquals(Double.NEGATIVE_INFINITY, Arrays.asList(1.0, Double.NEGATIVE_INFINITY, 2.0).sumOfDouble(e -> e));
+        assertTrue(Double.isNaN(Arrays.asList(Double.POSITIVE_INFINITY, 1.0, Double.NEGATIVE_INFINITY).sumOfDouble(e -> e)));
+        assertEquals(0, empty().sumOfInt(String::length));
+    }
+
+    public void testMaxOfAndMinOf() {
+        assertEquals(6, makeTestIterable().maxOfInt(String::length));
+        assertEquals(4, makeTestIterable().minOfInt(String::length));
+        assertEquals(6L, makeNonCollection().maxOfLong(String::length));
+        assertEquals(4L, makeNonCollection().minOfLong(String::length));
+        assertEquals(6.0, makeTestIterable().maxOfDouble(String::length), 0.0);
+        assertEquals(4.0, makeTestIterable().minOfDouble(String::length), 0.0);
+        try {
+            empty().maxOfInt(String::length);
+            fail();
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    public void testFoldPrimitive() {
+        assertEquals(19, makeTestIterable().foldInt(0, (acc, e) -> acc + e.length()));
+        assertEquals(480L, makeTestIterable().foldLong(1L, (acc, e) -> acc * e.length()));
+        assertEquals(2.5, makeTestIterable().foldDouble(0.5, (acc, e) -> acc + e.length() / 9.5), 1e-12);
+    }
+
+    public void testMapAsync() throws Exception {
+        List<Integer> source = makeRange(200);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Integer> result = source.mapAsync(e -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException ignore) {
+            }
+            inFlight.decrementAndGet();
+            return e * 2;
+        }, 4).get();
+        assertEquals(source.mapToList(e -> e * 2), result);
+        assertTrue(peak.get() <= 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertEquals(Arrays.asList('s', 'k', 'c', 'l'), makeNonCollection().mapAsync(e -> e.charAt(0), 8, executor).get());
+            source.mapAsync(e -> {
+                if (e == 100) {
+                    throw new IllegalStateException("boom");
+                }
+                return e;
+            }, 4, executor).get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testForEachAsync() throws Exception {
+        AtomicInteger sum = new AtomicInteger();
+        makeRange(100).forEachAsync(sum::addAndGet, 3).get();
+        assertEquals(4950, sum.get());
+        assertNull(empty().forEachAsync(e -> fail(), 3).get());
+    }
+
     public void testMaxWith() {
         Iterable<String> iter = makeTestIterable();
         assertEquals("scott", iter.maxWith(String::compareTo));
@@ -256,16 +551,187 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals("carson", iter.minWith(String::compareTo));
     }
 
+    public void testMaxN() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(Arrays.asList("scott", "luca"), iter.maxN(2, String::compareTo));
+        assertEquals(Arrays.asList("carson", "scott"), iter.maxN(2, Comparator.comparingInt(String::length)));
+        assertEquals(Collections.emptyList(), iter.maxN(0, String::compareTo));
+        assertEquals(Arrays.asList(99, 98, 97), makeRange(100).maxN(3, Integer::compare));
+    }
+
+    public void testMinN() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(Arrays.asList("carson", "kyle"), iter.minN(2, String::compareTo));
+        assertEquals(Arrays.asList("kyle", "luca", "scott", "carson"), iter.minN(10, Comparator.comparingInt(String::length)));
+        assertEquals(Arrays.asList("carson", "kyle"), makeNonCollection().minN(2, String::compareTo));
+        try {
+            iter.minN(-1, String::compareTo);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testSortedTake() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(Arrays.asList("kyle", "luca", "scott"), iter.sortedTake(3, Comparator.comparingInt(String::length)));
+        List<Integer> shuffled = makeRange(1000);
+        Collections.shuffle(shuffled, new Random(7));
+        assertEquals(makeRange(200), shuffled.sortedTake(200, Integer::compare));
+    }
+
+    public void testSortedByInt() {
+        assertEquals(Arrays.asList("kyle", "luca", "scott", "carson"), makeTestIterable().sortedByInt(String::length));
+        List<Integer> shuffled = makeRange(1000);
+        Collections.shuffle(shuffled, new Random(7));
+        assertEquals(makeRange(1000), shuffled.sortedByInt(e -> e));
+    }
+
+    public void testSortedByLong() {
+        assertEquals(Arrays.asList("kyle", "luca", "scott", "carson"), makeNonCollection().sortedByLong(String::length));
+        List<Integer> shuffled = makeRange(1000);
+        Collections.shuffle(shuffled, new Random(7));
+        List<Integer> expected = new ArrayList<>(shuffled);
+        expected.sort(Comparator.comparingLong(e -> e * 0x9E3779B97F4A7C15L));
+        assertEquals(expected, shuffled.sortedByLong(e -> e * 0x9E3779B97F4A7C15L));
+    }
+
+    public void testSortedByDouble() {
+        assertEquals(Arrays.asList("carson", "scott", "kyle", "luca"), makeTestIterable().sortedByDouble(e -> -e.length()));
+        assertEquals(Arrays.asList(-0.0, 0.0, Double.NaN), Arrays.asList(Double.NaN, 0.0, -0.0).sortedByDouble(e -> e));
+    }
+
+    public void testParallelSortedByInt() {
+        List<Integer> shuffled = makeRange(100_000);
+        Collections.shuffle(shuffled, new Random(7));
+        assertEquals(makeRange(100_000), shuffled.parallelSortedByInt(e -> e));
+    }
+
+    public void testParallelSortedByLong() {
+        List<Integer> shuffled = makeRange(100_000);
+        Collections.shuffle(shuffled, new Random(7));
+        List<Integer> expected = new ArrayList<>(shuffled);
+        expected.sort(Comparator.comparingLong(e -> e * 0x9E3779B97F4A7C15L));
+        assertEquals(expected, shuffled.parallelSortedByLong(e -> e * 0x9E3779B97F4A7C15L));
+        assertEquals(Arrays.asList("kyle", "luca", "scott", "carson"), makeTestIterable().parallelSortedByLong(String::length));
+    }
+
+    public void testParallelSortedByDouble() {
+        List<Integer> shuffled = makeRange(100_000);
+        Collections.shuffle(shuffled, new Random(7));
+        assertEquals(makeRange(100_000), shuffled.parallelSortedByDouble(e -> e / 3.0));
+    }
+
+    public void testParallelMapToList() {
+        List<Integer> source = makeRange(10_000);
+        assertEquals(source.mapToList(e -> e * 2), source.parallelMapToList(e -> e * 2));
+        assertEquals(source.mapToList(e -> e * 2), new LinkedList<>(source).parallelMapToList(e -> e * 2));
+        assertEquals(Arrays.asList('s', 'k', 'c', 'l'), makeNonCollection().parallelMapToList(e -> e.charAt(0), ForkJoinPool.commonPool(), 1));
+    }
+
+    public void testParallelFilterToList() {
+        List<Integer> source = makeRange(10_000);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertEquals(source.filterToList(e -> e % 7 == 0), source.parallelFilterToList(e -> e % 7 == 0, pool, 64));
+            Iterable<Integer> nonCollection = source::iterator;
+            assertEquals(source.filterToList(e -> e % 7 == 0), nonCollection.parallelFilterToList(e -> e % 7 == 0, pool, 64));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testParallelAssociateBy() {
+        List<Integer> source = makeRange(10_000);
+        Map<Integer, Integer> expected = source.associateBy(e -> e % 100);
+        Map<Integer, Integer> actual = source.parallelAssociateBy(e -> e % 100);
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+    }
+
+    public void testParallelFold() {
+        List<Integer> source = makeRange(10_000);
+        assertEquals(source.fold(0L, (acc, e) -> acc + e), source.parallelFold(0L, (acc, e) -> acc + e, Long::sum));
+        assertEquals("skcl", makeTestIterable().parallelFold("", (a, s) -> a + s.charAt(0), String::concat, ForkJoinPool.commonPool(), 1));
+    }
+
     public void testPartition() {
         Iterable<String> iter = makeTestIterable();
         assertEquals(new Pair<>(Arrays.asList("scott"), Arrays.asList("kyle", "carson", "luca")), iter.partition(e->e.compareTo("m") > 0));
     }
 
+    public void testPartitionByHash() {
+        List<Integer> source = makeRange(10_000);
+        List<List<Integer>> buckets = source.partitionByHash(8, e -> e % 100);
+        assertEquals(8, buckets.size());
+        List<Integer> all = new ArrayList<>();
+        Map<Integer, Integer> shardByKey = new HashMap<>();
+        for (int shard = 0; shard < buckets.size(); shard++) {
+            List<Integer> bucket = buckets.get(shard);
+            // every bucket is in iteration order, holds whole keys and gets a fair share of them
+            assertEquals(bucket.sortedByInt(e -> e), bucket);
+            for (Integer element : bucket) {
+                Integer previous = shardByKey.put(element % 100, shard);
+                assertTrue(previous == null || previous == shard);
+            }
+            assertThat(bucket.size()).isBetween(500, 2_000);
+            all.addAll(bucket);
+        }
+        assertEquals(source, all.sortedByInt(e -> e));
+        assertEquals(Arrays.asList(Arrays.asList("scott", "kyle", "carson", "luca")), makeNonCollection().partitionByHash(1, e -> e));
+        assertThatThrownBy(() -> source.partitionByHash(0, e -> e)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    public void testShardedForEach() {
+        List<Integer> source = makeRange(10_000);
+        Map<Integer, Set<Thread>> threadsByKey = new java.util.concurrent.ConcurrentHashMap<>();
+        Map<Integer, List<Integer>> elementsByKey = new java.util.concurrent.ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            source.shardedForEach(16, e -> e % 100, e -> {
+                // single writer per key: plain collections need no locking
+                threadsByKey.computeIfAbsent(e % 100, key -> new HashSet<>()).add(Thread.currentThread());
+                elementsByKey.computeIfAbsent(e % 100, key -> new ArrayList<>()).add(e);
+            }, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(100, elementsByKey.size());
+        for (int key = 0; key < 100; key++) {
+            assertEquals(1, threadsByKey.get(key).size());
+            int k = key;
+            assertEquals(source.filter(e -> e % 100 == k), elementsByKey.get(key));
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        makeTestIterable().shardedForEach(3, String::length, e -> count.incrementAndGet());
+        assertEquals(4, count.get());
+        assertThatThrownBy(() -> source.shardedForEach(4, e -> e, e -> {
+            if (e == 5_000) {
+                throw new IllegalStateException("boom");
+            }
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
     public void testReversed() {
         Iterable<String> iter = makeTestIterable();
         assertEquals(Arrays.asList("luca", "carson", "kyle", "scott"), (List)iter.reversed());
     }
 
+    public void testReversedView() {
+        assertEquals(Arrays.asList("luca", "carson", "kyle", "scott"), makeNonCollection().reversedView().toList());
+        assertEquals(Arrays.asList("luca", "carson", "kyle", "scott"), makeTestIterable().reversedView());
+    }
+
+    public void testSliceView() {
+        assertEquals(Arrays.asList("kyle", "carson"), makeNonCollection().sliceView(1, 3).toList());
+        assertEquals(Arrays.asList("carson", "luca"), makeNonCollection().sliceView(2, 10).toList());
+    }
+
+    public void testStepView() {
+        assertEquals(Arrays.asList("scott", "carson"), makeNonCollection().stepView(2).toList());
+        assertEquals(Arrays.asList("scott", "luca"), makeTestIterable().stepView(3).toList());
+    }
+
     public void testSingle() {
         Iterable<String> iter = Collections.singletonList("one");
         assertEquals("one", iter.single());
@@ -306,6 +772,83 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals(Arrays.asList("kyle", "carson"), iter.subList( 1, 3 ) );
     }
 
+    public void testSortedIntersect() {
+        assertEquals(Arrays.asList("kyle", "luca"), Arrays.asList("carson", "kyle", "luca").sortedIntersect(Arrays.asList("kyle", "luca", "scott"), Comparator.naturalOrder()));
+    }
+
+    public void testSortedUnion() {
+        assertEquals(Arrays.asList("carson", "kyle", "luca", "scott"), Arrays.asList("carson", "kyle").sortedUnion(Arrays.asList("kyle", "luca", "scott"), Comparator.naturalOrder()));
+    }
+
+    public void testSortedSubtract() {
+        assertEquals(Arrays.asList("carson"), Arrays.asList("carson", "kyle").sortedSubtract(Arrays.asList("kyle", "luca", "scott"), Comparator.naturalOrder()));
+    }
+
+    public void testAssumeSorted() {
+        Iterable<String> sorted = Arrays.asList("carson", "kyle", "luca", "scott").assumeSorted(Comparator.naturalOrder());
+        assertEquals(new HashSet<>(Arrays.asList("kyle", "luca")), sorted.intersect(new TreeSet<>(Arrays.asList("luca", "kyle", "fred"))));
+        assertEquals(new HashSet<>(Arrays.asList("carson", "scott")), sorted.subtract(new TreeSet<>(Arrays.asList("luca", "kyle", "fred"))));
+    }
+
+    public void testMergeSorted() {
+        Iterable<Integer> merged = Arrays.asList(1, 4, 7).mergeSorted(Comparator.naturalOrder(), Arrays.asList(2, 4, 8), new TreeSet<>(Arrays.asList(0, 9)));
+        assertEquals(Arrays.asList(0, 1, 2, 4, 4, 7, 8, 9), merged.toList());
+        assertEquals(Arrays.asList(9, 8), merged.maxN(2, Integer::compare));
+        assertEquals(new HashSet<>(Arrays.asList(4, 9)), merged.intersect(new TreeSet<>(Arrays.asList(4, 5, 9))));
+        assertEquals(Arrays.asList(3, 2, 1), Arrays.asList(3, 1).mergeSorted(Comparator.reverseOrder(), Arrays.asList(2)).toList());
+    }
+
+    public void testMergeSortedDistinct() {
+        assertEquals(Arrays.asList(0, 1, 2, 4, 7, 8, 9),
+                Arrays.asList(1, 4, 7).mergeSortedDistinct(Comparator.naturalOrder(), Arrays.asList(2, 4, 4, 8), Arrays.asList(0, 1, 9)).toList());
+    }
+
+    public void testMergeSortedBy() {
+        assertEquals(Arrays.asList("kyle", "luca", "fred", "scott", "carson", "barney"),
+                Arrays.asList("kyle", "scott", "carson").mergeSortedBy(String::length, Arrays.asList("luca", "fred", "barney")).toList());
+    }
+
+    public void testMergeSortedDistinctBy() {
+        assertEquals(Arrays.asList("kyle", "scott", "carson"),
+                Arrays.asList("kyle", "scott", "carson").mergeSortedDistinctBy(String::length, Arrays.asList("luca", "fred", "barney")).toList());
+    }
+
+    public void testInnerJoinBy() {
+        List<String> pairs = new ArrayList<>();
+        makeTestIterable().innerJoinBy(Arrays.asList(4, 5, 4, 7), String::length, e -> e, (name, length) -> pairs.add(name + length));
+        assertEquals(Arrays.asList("scott5", "kyle4", "kyle4", "luca4", "luca4"), pairs);
+    }
+
+    public void testLeftJoinBy() {
+        List<String> pairs = new ArrayList<>();
+        makeTestIterable().leftJoinBy(Arrays.asList(4, 5, 7, 8, 9), String::length, e -> e, (name, length) -> pairs.add(name + length));
+        assertEquals(Arrays.asList("kyle4", "luca4", "scott5", "carsonnull"), pairs);
+    }
+
+    public void testSemiJoinBy() {
+        assertEquals(Arrays.asList("kyle", "luca"), makeTestIterable().semiJoinBy(Arrays.asList(4, 4, 7), String::length, e -> e));
+        assertEquals(Arrays.asList("scott", "kyle", "luca"), makeNonCollection().semiJoinBy(Arrays.asList("s", "l", "k"), e -> e.substring(0, 1), e -> e));
+    }
+
+    public void testSortedInnerJoinBy() {
+        List<String> pairs = new ArrayList<>();
+        Arrays.asList("kyle", "luca", "scott", "carson").sortedInnerJoinBy(Arrays.asList(4, 4, 6, 7), String::length, e -> e,
+                Comparator.naturalOrder(), (name, length) -> pairs.add(name + length));
+        assertEquals(Arrays.asList("kyle4", "kyle4", "luca4", "luca4", "carson6"), pairs);
+    }
+
+    public void testSortedLeftJoinBy() {
+        List<String> pairs = new ArrayList<>();
+        Arrays.asList("kyle", "luca", "scott", "carson").sortedLeftJoinBy(Arrays.asList(3, 4, 6), String::length, e -> e,
+                Comparator.naturalOrder(), (name, length) -> pairs.add(name + length));
+        assertEquals(Arrays.asList("kyle4", "luca4", "scottnull", "carson6"), pairs);
+    }
+
+    public void testSortedSemiJoinBy() {
+        assertEquals(Arrays.asList("scott", "carson"),
+                Arrays.asList("kyle", "luca", "scott", "carson").sortedSemiJoinBy(Arrays.asList(5, 5, 6, 9), String::length, e -> e, Comparator.naturalOrder()));
+    }
+
     public void testSubtract() {
         Iterable<String> iter = makeTestIterable();
         assertEquals( new HashSet<>( Arrays.asList( "kyle", "luca" ) ), iter.subtract( Arrays.asList( "scott", "carson" ) ) );
@@ -328,6 +871,17 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals( new HashSet<>(makeTestIterable().toList()), iter.toSet() );
     }
 
+    public void testToReadOnlySet() {
+        Iterable<String> iter = makeTestIterable();
+        assertEquals(new ArrayList<>(iter.toSet()), new ArrayList<>(iter.toReadOnlySet()));
+        assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>(Arrays.asList(3, 1, 3, 2, 1).toReadOnlySet()));
+        try {
+            iter.toReadOnlySet().add("fred");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
     public void testUnion() {
         Iterable<String> iter = makeTestIterable();
         List<String> other = Arrays.asList("a", "scott", "b", "kyle");
@@ -338,6 +892,14 @@ public class GarshasbIterableExtTest extends ExtensionManifoldTest {
         assertEquals( result, iter.union(other) );
     }
 
+    private List<Integer> makeRange(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
     private Iterable<String> empty() {
         return Collections.emptyList();
     }
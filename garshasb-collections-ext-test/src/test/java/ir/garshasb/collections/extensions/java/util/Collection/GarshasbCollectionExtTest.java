@@ -35,6 +35,14 @@ public class GarshasbCollectionExtTest extends ExtensionManifoldTest {
         assertEquals(new HashSet<>(makeTestCollection()), c.collect(Collectors.toSet()));
     }
 
+    public void testCountBy() {
+        Map<Integer, Long> result = new HashMap<>();
+        result.put(5, 1L);
+        result.put(4, 2L);
+        result.put(6, 1L);
+        assertEquals(result, makeTestCollection().countBy(String::length));
+    }
+
     public void testDistinct() {
         assertEquals(Arrays.asList('a', 'b', 'c').toSet(), Arrays.asList('a', 'b', 'b', 'c').distinct().toSet());
     }
@@ -43,6 +51,14 @@ public class GarshasbCollectionExtTest extends ExtensionManifoldTest {
         assertEquals(Arrays.asList("scott", "carson", "luca"), makeTestCollection().filter(e -> e.contains("c")).toList());
     }
 
+    public void testFoldBy() {
+        Map<Integer, String> result = new HashMap<>();
+        result.put(5, "s");
+        result.put(4, "kl");
+        result.put(6, "c");
+        assertEquals(result, makeTestCollection().foldBy(String::length, "", (acc, e) -> acc + e.charAt(0)));
+    }
+
     public void testGroupingBy() {
         Map<Boolean, List<String>> result = new HashMap<>();
         result.put(true, Arrays.asList("scott", "carson", "luca"));
@@ -50,6 +66,12 @@ public class GarshasbCollectionExtTest extends ExtensionManifoldTest {
         assertEquals(result, makeTestCollection().groupingBy(e -> e.contains("c")));
     }
 
+    public void testGroupingByTo() {
+        TreeMap<Boolean, Long> result = makeTestCollection().groupingByTo(e -> e.contains("c"), TreeMap::new, Collectors.counting());
+        assertEquals(Arrays.asList(false, true), new ArrayList<>(result.keySet()));
+        assertEquals(Long.valueOf(3), result.get(true));
+    }
+
     public void testJoin() {
         assertEquals("scott; kyle; carson; luca", makeTestCollection().join("; "));
     }
@@ -62,6 +84,14 @@ public class GarshasbCollectionExtTest extends ExtensionManifoldTest {
         assertEquals("scott", makeTestCollection().max(String::compareTo));
     }
 
+    public void testMaxBy() {
+        Map<Integer, String> result = new HashMap<>();
+        result.put(5, "scott");
+        result.put(4, "luca");
+        result.put(6, "carson");
+        assertEquals(result, makeTestCollection().maxBy(String::length, String::compareTo));
+    }
+
     public void testMin() {
         assertEquals("carson", makeTestCollection().min(String::compareTo));
     }
@@ -81,6 +111,13 @@ public class GarshasbCollectionExtTest extends ExtensionManifoldTest {
         assertEquals(Arrays.asList("carson", "kyle", "luca", "scott"), makeTestCollection().sorted().toList());
     }
 
+    public void testSumByLong() {
+        Map<Boolean, Long> result = new HashMap<>();
+        result.put(true, 15L);
+        result.put(false, 4L);
+        assertEquals(result, makeTestCollection().sumByLong(e -> e.contains("c"), String::length));
+    }
+
     public void testToList() {
         assertEquals(makeTestCollection(), makeTestCollection().toList());
         assertEquals(makeTestCollection(), makeTestCollection().toSet().toList());
@@ -40,10 +40,78 @@ public class GarshasbListCollectionExtTest extends ExtensionManifoldTest {
         assertNull(empty().lastOrNull());
     }
 
+    public void testRetainIf() {
+        List<String> list = new ArrayList<>(makeTestList());
+        assertTrue(list.retainIf(e -> e.contains("l")));
+        assertEquals(Arrays.asList("kyle", "luca"), list);
+        assertFalse(list.retainIf(e -> e.contains("l")));
+
+        List<String> linked = new LinkedList<>(makeTestList());
+        assertTrue(linked.retainIf(e -> e.length() > 4));
+        assertEquals(Arrays.asList("scott", "carson"), linked);
+    }
+
+    public void testMapInPlace() {
+        List<String> list = makeTestList();
+        list.mapInPlace(String::toUpperCase);
+        assertEquals(Arrays.asList("SCOTT", "KYLE", "CARSON", "LUCA"), list);
+    }
+
+    public void testDistinctInPlace() {
+        List<String> list = new ArrayList<>(Arrays.asList("kyle", "scott", "kyle", "luca", "scott"));
+        assertTrue(list.distinctInPlace());
+        assertEquals(Arrays.asList("kyle", "scott", "luca"), list);
+        assertFalse(list.distinctInPlace());
+    }
+
+    public void testDistinctByInPlace() {
+        List<String> list = new ArrayList<>(makeTestList());
+        assertTrue(list.distinctByInPlace(String::length));
+        assertEquals(Arrays.asList("scott", "kyle", "carson"), list);
+    }
+
+    public void testSortByInPlace() {
+        List<String> list = makeTestList();
+        list.sortByInPlace(String::length);
+        assertEquals(Arrays.asList("kyle", "luca", "scott", "carson"), list);
+    }
+
+    public void testReversedView() {
+        List<String> list = makeTestList();
+        List<String> view = list.reversedView();
+        assertEquals(Arrays.asList("luca", "carson", "kyle", "scott"), view);
+        list.set(0, "fred");
+        assertEquals("fred", view.last());
+        assertEquals(Arrays.asList("scott", "luca"), new LinkedList<>(Arrays.asList("luca", "scott")).reversedView());
+    }
+
+    public void testSliceView() {
+        List<String> list = makeTestList();
+        assertEquals(Arrays.asList("kyle", "carson"), list.sliceView(1, 3));
+        assertTrue(list.sliceView(2, 2).isEmpty());
+    }
+
+    public void testStepView() {
+        List<String> list = makeTestList();
+        assertEquals(Arrays.asList("scott", "carson"), list.stepView(2));
+        assertEquals(Arrays.asList("scott", "luca"), list.stepView(3));
+        assertEquals(list, list.stepView(1));
+    }
+
     public void testOptimizeReadOnlyList() {
         List<String> list = makeTestList();
         assertEquals(list, list.optimizeReadOnlyList());
         assertSame(Collections.emptyList(), empty().optimizeReadOnlyList());
+        assertEquals(Collections.singletonList("scott"), list.subList(0, 1).optimizeReadOnlyList());
+
+        List<String> copy = list.optimizeReadOnlyList();
+        list.set(0, "fred");
+        assertEquals("scott", copy.get(0));
+        try {
+            copy.set(0, "fred");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
     }
 
     public void testReverse() {
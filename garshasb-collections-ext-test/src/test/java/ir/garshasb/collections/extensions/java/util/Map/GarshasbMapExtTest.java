@@ -2,9 +2,14 @@ package ir.garshasb.collections.extensions.java.util.Map;
 
 import manifold.test.api.ExtensionManifoldTest;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import static manifold.rt.api.util.Pair.and;
 public class GarshasbMapExtTest extends ExtensionManifoldTest {
@@ -41,6 +46,61 @@ public class GarshasbMapExtTest extends ExtensionManifoldTest {
         }
     }
 
+    public void testOptimizeReadOnlyMap()
+    {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        assertSame( Collections.emptyMap(), source.optimizeReadOnlyMap() );
+        source.put( "Moe", 100 );
+        assertEquals( source, source.optimizeReadOnlyMap() );
+        source.put( "Larry", 107 );
+        source.put( "Curly", 111 );
+        Map<String, Integer> map = source.optimizeReadOnlyMap();
+        source.put( "Moe", 0 );
+        assertEquals( Arrays.asList( "Moe", "Larry", "Curly" ), new ArrayList<>( map.keySet() ) );
+        assertEquals( (Integer)100, map.get( "Moe" ) );
+        try
+        {
+            map.put( "x", 0 );
+            fail();
+        }
+        catch( UnsupportedOperationException ignore )
+        {
+        }
+    }
+
+    public void testFrozenMapOf()
+    {
+        Map<String, Integer> map = Map.frozenMapOf( "Moe" and 100, "Larry" and 107, "Curly" and 111 );
+        assertEquals( Arrays.asList( "Moe", "Larry", "Curly" ), new ArrayList<>( map.keySet() ) );
+        assertEquals( (Integer)107, map.get( "Larry" ) );
+        assertNull( map.get( "Shemp" ) );
+        try
+        {
+            map.put( "x", 0 );
+            fail();
+        }
+        catch( UnsupportedOperationException ignore )
+        {
+        }
+    }
+
+    public void testFreeze()
+    {
+        Map<String, Integer> source = new LinkedHashMap<>();
+        for( int i = 0; i < 1000; i++ )
+        {
+            source.put( "key" + i, i );
+        }
+        Map<String, Integer> map = source.freeze();
+        source.put( "key0", -1 );
+        assertEquals( 1000, map.size() );
+        assertEquals( (Integer)0, map.get( "key0" ) );
+        assertEquals( (Integer)999, map.get( "key999" ) );
+        assertFalse( map.containsKey( "key1000" ) );
+        assertEquals( "key0", map.keySet().iterator().next() );
+        assertEquals( source, source.freeze( ForkJoinPool.commonPool() ) );
+    }
+
     static class Foo<T>
     {
         T _value;
@@ -0,0 +1,29 @@
+package ir.garshasb.collections.extensions.java.util.Set;
+
+import manifold.test.api.ExtensionManifoldTest;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class GarshasbSetExtTest extends ExtensionManifoldTest {
+    @Override
+    public void testCoverage() {
+        testCoverage(GarshasbSetExt.class);
+    }
+
+    public void testFreeze() {
+        Set<String> source = new LinkedHashSet<>(Arrays.asList("scott", "kyle", "carson", "luca"));
+        Set<String> set = source.freeze();
+        source.remove("kyle");
+        assertEquals(Arrays.asList("scott", "kyle", "carson", "luca"), new ArrayList<>(set));
+        assertTrue(set.contains("carson"));
+        assertFalse(set.contains("miles"));
+        assertSame(set, set.freeze());
+        assertEquals(source, source.freeze(ForkJoinPool.commonPool()));
+        try {
+            set.add("miles");
+            fail();
+        } catch (UnsupportedOperationException ignore) {
+        }
+    }
+}
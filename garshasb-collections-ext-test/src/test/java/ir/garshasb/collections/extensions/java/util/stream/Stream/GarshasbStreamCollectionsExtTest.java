@@ -1,8 +1,10 @@
 package ir.garshasb.collections.extensions.java.util.stream.Stream;
 
+import ir.garshasb.collections.sketch.Summary;
 import manifold.test.api.ExtensionManifoldTest;
 
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class GarshasbStreamCollectionsExtTest extends ExtensionManifoldTest {
@@ -11,6 +13,42 @@ public class GarshasbStreamCollectionsExtTest extends ExtensionManifoldTest {
         testCoverage(GarshasbStreamCollectionsExt.class);
     }
 
+    public void testChunked() {
+        List<String> sampleList = makeTestList();
+        assertEquals(Arrays.asList(Arrays.asList("a", "aa"), Arrays.asList("aaa")), stream(sampleList).chunked(2).toList());
+
+        List<List<String>> chunks = new ArrayList<>();
+        stream(sampleList).chunked(2, chunk -> chunks.add(new ArrayList<>(chunk)));
+        assertEquals(Arrays.asList(Arrays.asList("a", "aa"), Arrays.asList("aaa")), chunks);
+
+        Stream<String> stream = stream(sampleList);
+        try {
+            stream.chunked(0, chunk -> fail());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(sampleList, stream.toList());
+    }
+
+    public void testWindowed() {
+        List<String> sampleList = makeTestList();
+        assertEquals(Arrays.asList(Arrays.asList("a", "aa"), Arrays.asList("aa", "aaa")), stream(sampleList).windowed(2, 1, false).toList());
+        assertEquals(Arrays.asList(Arrays.asList("a", "aa"), Arrays.asList("aa", "aaa"), Arrays.asList("aaa")), stream(sampleList).windowed(2, 1, true).toList());
+
+        boolean[] closed = {false};
+        stream(sampleList).onClose(() -> closed[0] = true).windowed(2, 1, true).close();
+        assertTrue(closed[0]);
+
+        // rejected before the stream is consumed
+        Stream<String> stream = stream(sampleList);
+        try {
+            stream.windowed(2, 0, false);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(sampleList, stream.toList());
+    }
+
     public void testGroupingBy() {
         Map<Integer, List<String>> stringsByLength = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).groupingBy(String::length);
         assertEquals(2, stringsByLength.get(1).size());
@@ -19,9 +57,56 @@ public class GarshasbStreamCollectionsExtTest extends ExtensionManifoldTest {
         assertEquals(null, stringsByLength.get(4));
     }
 
+    public void testCountBy() {
+        Map<Integer, Long> countByLength = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).countBy(String::length);
+        assertEquals(Long.valueOf(2), countByLength.get(1));
+        assertEquals(Long.valueOf(1), countByLength.get(3));
+        assertEquals(null, countByLength.get(4));
+    }
+
+    public void testSumByLong() {
+        Map<Character, Long> lengthByInitial = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).sumByLong(s -> s.charAt(0), String::length);
+        assertEquals(Long.valueOf(8), lengthByInitial.get('a'));
+        assertEquals(Long.valueOf(1), lengthByInitial.get('b'));
+    }
+
+    public void testFoldBy() {
+        Map<Integer, String> joinedByLength = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).foldBy(String::length, "", (acc, s) -> acc + s);
+        assertEquals("ab", joinedByLength.get(1));
+        assertEquals("aaab", joinedByLength.get(2));
+        assertEquals("abc", joinedByLength.get(3));
+
+        List<Integer> range = makeRange(100_000);
+        Map<Integer, Long> sums = range.parallelStream().foldBy(i -> i % 2, 0L, (acc, i) -> acc + i, Long::sum);
+        assertEquals(Long.valueOf(2_500_000_000L), sums.get(1));
+        assertEquals(range.stream().foldBy(i -> i % 3, "", (acc, i) -> acc + i), range.parallelStream().foldBy(i -> i % 3, "", (acc, i) -> acc + i));
+    }
+
+    public void testMaxBy() {
+        Map<Character, String> longestByInitial = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).maxBy(s -> s.charAt(0), Comparator.comparingInt(String::length));
+        assertEquals("abc", longestByInitial.get('a'));
+        assertEquals("b", longestByInitial.get('b'));
+    }
+
+    public void testGroupingByTo() {
+        TreeMap<Integer, Long> countByLength = stream(Arrays.asList("abc", "a", "b", "aa")).groupingByTo(String::length, TreeMap::new, Collectors.counting());
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(countByLength.keySet()));
+        assertEquals(Long.valueOf(2), countByLength.get(1));
+    }
+
     public void testToList() {
         List<String> sampleList = makeTestList();
         assertEquals(sampleList, stream(sampleList).toList());
+        assertEquals(sampleList, stream(sampleList).toList(3));
+        assertEquals(sampleList, stream(sampleList).toList(0));
+
+        List<Integer> range = makeRange(10_000);
+        assertEquals(range, range.parallelStream().toList(10_000));
+        try {
+            stream(sampleList).toList(-1);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
     }
 
     public void testToSet() {
@@ -40,6 +125,83 @@ public class GarshasbStreamCollectionsExtTest extends ExtensionManifoldTest {
         assertEquals((Integer) "aaa".hashCode(), hashCodeByLen.get(3));
     }
 
+    public void testToConcurrentSet() {
+        assertEquals(new HashSet<>(makeTestList()), stream(makeTestList()).toConcurrentSet());
+
+        List<Integer> range = makeRange(10_000);
+        Set<Integer> set = range.parallelStream().map(e -> e % 1_000).toConcurrentSet();
+        assertEquals(new HashSet<>(makeRange(1_000)), set);
+        assertTrue(set.add(-1));
+    }
+
+    public void testToConcurrentMap() {
+        List<String> sampleList = makeTestList();
+        assertEquals("aa", stream(sampleList).toConcurrentMap(String::length).get(2));
+        assertEquals(Integer.valueOf("aaa".hashCode()), stream(sampleList).toConcurrentMap(String::length, String::hashCode).get(3));
+
+        List<Integer> range = makeRange(10_000);
+        Map<Integer, Integer> doubled = range.parallelStream().toConcurrentMap(e -> e, e -> 2 * e);
+        assertEquals(10_000, doubled.size());
+        assertEquals(Integer.valueOf(19_998), doubled.get(9_999));
+        try {
+            stream(Arrays.asList("a", "b")).toConcurrentMap(String::length);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    public void testGroupingByConcurrent() {
+        Map<Integer, List<String>> stringsByLength = stream(Arrays.asList("a", "b", "aa", "ab", "abc")).groupingByConcurrent(String::length);
+        assertEquals(Arrays.asList("a", "b"), stringsByLength.get(1));
+        assertEquals(null, stringsByLength.get(4));
+
+        Map<Integer, List<Integer>> byRemainder = makeRange(10_000).parallelStream().groupingByConcurrent(e -> e % 7);
+        assertEquals(7, byRemainder.size());
+        List<Integer> threes = new ArrayList<>(byRemainder.get(3));
+        Collections.sort(threes);
+        assertEquals(makeRange(10_000).stream().filter(e -> e % 7 == 3).collect(Collectors.toList()), threes);
+    }
+
+    public void testApproxDistinctCount() {
+        assertEquals(3, stream(makeTestList()).approxDistinctCount());
+        List<Integer> range = makeRange(100_000);
+        assertEquals(100_000, range.parallelStream().approxDistinctCount(), 100_000 * 0.04);
+        assertEquals(100_000, range.stream().approxDistinctCount(10), 100_000 * 0.15);
+    }
+
+    public void testApproxDistinctCountBy() {
+        assertEquals(1, stream(makeTestList()).approxDistinctCountBy(s -> s.charAt(0)));
+        List<Integer> range = makeRange(100_000);
+        assertEquals(range.stream().approxDistinctCountBy(e -> e % 1_000), range.parallelStream().approxDistinctCountBy(e -> e % 1_000));
+        assertEquals(1_000, range.parallelStream().approxDistinctCountBy(e -> e % 1_000, 12), 1_000 * 0.1);
+    }
+
+    public void testSummaryOfDouble() {
+        Summary summary = stream(makeTestList()).summaryOfDouble(String::length);
+        assertEquals(3, summary.count());
+        assertEquals(2.0, summary.mean(), 1e-12);
+        assertEquals(2.0 / 3, summary.variance(), 1e-12);
+        assertEquals(3.0, summary.max());
+    }
+
+    public void testSummaryOfLong() {
+        List<Integer> range = makeRange(100_000);
+        Summary sequential = range.stream().summaryOfLong(e -> e);
+        Summary parallel = range.parallelStream().summaryOfLong(e -> e);
+        assertEquals(sequential.count(), parallel.count());
+        assertEquals(sequential.variance(), parallel.variance(), 1e-3);
+        assertEquals(sequential.p99(), parallel.p99());
+        assertEquals(99_000, parallel.p99(), 99_000 * 0.01);
+    }
+
+    private List<Integer> makeRange(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
     private List<String> makeTestList() {
         return Arrays.asList("a", "aa", "aaa");
     }
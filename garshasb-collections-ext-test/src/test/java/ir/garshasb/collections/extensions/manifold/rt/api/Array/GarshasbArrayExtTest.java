@@ -0,0 +1,37 @@
+package ir.garshasb.collections.extensions.manifold.rt.api.Array;
+
+import manifold.test.api.ExtensionManifoldTest;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class GarshasbArrayExtTest extends ExtensionManifoldTest {
+    @Override
+    public void testCoverage() {
+        testCoverage(GarshasbArrayExt.class);
+    }
+
+    public void testReversedView() {
+        String[] array = {"scott", "kyle", "carson"};
+        List<String> view = array.reversedView();
+        assertEquals(Arrays.asList("carson", "kyle", "scott"), view);
+        array[0] = "luca";
+        assertEquals("luca", view.get(2));
+        assertEquals(Arrays.asList(3, 2, 1), new int[]{1, 2, 3}.reversedView());
+    }
+
+    public void testSliceView() {
+        String[] array = {"scott", "kyle", "carson", "luca"};
+        assertEquals(Arrays.asList("kyle", "carson"), array.sliceView(1, 3));
+        try {
+            array.sliceView(3, 5);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    public void testStepView() {
+        long[] array = {0, 1, 2, 3, 4};
+        assertEquals(Arrays.asList(0L, 2L, 4L), array.stepView(2));
+    }
+}
@@ -0,0 +1,73 @@
+package ir.garshasb.collections.grouping;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class GroupingCollectorsTest extends TestCase {
+
+    public void testCountByMatchesGroupingByCounting() {
+        assertEquals(IntStream.range(0, 10_000).boxed().collect(Collectors.groupingBy(i -> i % 7, Collectors.counting())),
+                IntStream.range(0, 10_000).boxed().collect(GroupingCollectors.countBy(i -> i % 7)));
+    }
+
+    public void testCountAndSumCombineParallelResults() {
+        Map<Integer, Long> counts = IntStream.range(0, 100_000).boxed().parallel().collect(GroupingCollectors.countBy(i -> i % 3));
+        assertEquals(Long.valueOf(33_334), counts.get(0));
+        assertEquals(Long.valueOf(33_333), counts.get(2));
+
+        Map<Boolean, Long> sums = IntStream.range(0, 100_000).boxed().parallel().collect(GroupingCollectors.sumByLong(i -> i % 2 == 0, i -> i));
+        assertEquals(Long.valueOf(2_499_950_000L), sums.get(true));
+        assertEquals(Long.valueOf(2_500_000_000L), sums.get(false));
+    }
+
+    public void testNullKeysAreGrouped() {
+        Map<String, Long> counts = Arrays.asList("a", null, "b", null).stream().collect(GroupingCollectors.countBy(s -> s));
+        assertEquals(Long.valueOf(2), counts.get(null));
+        assertEquals(Long.valueOf(1), counts.get("a"));
+    }
+
+    public void testFoldByKeepsEncounterOrder() {
+        Map<Integer, String> folded = Arrays.asList("a", "bb", "c", "dd", "e").stream()
+                .collect(GroupingCollectors.foldBy(String::length, "", (acc, s) -> acc + s, String::concat));
+        assertEquals("ace", folded.get(1));
+        assertEquals("bbdd", folded.get(2));
+        assertEquals(folded, GroupingCollectors.foldSequentially(Arrays.asList("a", "bb", "c", "dd", "e"), String::length, "", (acc, s) -> acc + s));
+    }
+
+    public void testFoldByCombinesParallelResults() {
+        Map<Integer, Long> sums = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(GroupingCollectors.foldBy(i -> i % 2, 0L, (acc, i) -> acc + i, Long::sum));
+        assertEquals(Long.valueOf(2_499_950_000L), sums.get(0));
+        assertEquals(Long.valueOf(2_500_000_000L), sums.get(1));
+
+        Map<Integer, String> joined = IntStream.range(0, 10_000).boxed().parallel()
+                .collect(GroupingCollectors.foldBy(i -> i % 3, "", (acc, i) -> acc + i + ",", String::concat));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10_000; i += 3) {
+            expected.append(i).append(',');
+        }
+        assertEquals(expected.toString(), joined.get(0));
+    }
+
+    public void testMaxByKeepsFirstOnTies() {
+        Map<Character, String> max = Arrays.asList("ab", "ax", "bc", "ay", "bd").stream()
+                .collect(GroupingCollectors.maxBy(s -> s.charAt(0), Comparator.comparingInt(String::length)));
+        assertEquals("ab", max.get('a'));
+        assertEquals("bc", max.get('b'));
+
+        Map<Integer, Integer> parallelMax = IntStream.range(0, 100_000).boxed().parallel()
+                .collect(GroupingCollectors.maxBy(i -> i % 10, Comparator.naturalOrder()));
+        assertEquals(Integer.valueOf(99_999), parallelMax.get(9));
+        assertEquals(Integer.valueOf(99_990), parallelMax.get(0));
+    }
+
+    public void testGroupingByToUsesTheSuppliedMap() {
+        TreeMap<Integer, Set<String>> byLength = Arrays.asList("bb", "a", "cc", "bb").stream()
+                .collect(GroupingCollectors.groupingByTo(String::length, TreeMap::new, Collectors.toSet()));
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(byLength.keySet()));
+        assertEquals(new HashSet<>(Arrays.asList("bb", "cc")), byLength.get(2));
+    }
+}
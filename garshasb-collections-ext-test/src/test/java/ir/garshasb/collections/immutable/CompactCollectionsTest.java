@@ -0,0 +1,104 @@
+package ir.garshasb.collections.immutable;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class CompactCollectionsTest extends TestCase {
+
+    public void testSetMatchesLinkedHashSet() {
+        Random random = new Random(5);
+        for (int round = 0; round < 300; round++) {
+            List<Integer> source = new ArrayList<>();
+            int size = random.nextInt(round < 100 ? 12 : 2_000);
+            for (int i = 0; i < size; i++) {
+                source.add(random.nextInt(10) == 0 ? null : random.nextInt(size + 1));
+            }
+            LinkedHashSet<Integer> expected = new LinkedHashSet<>(source);
+            Iterable<Integer> nonCollection = source::iterator;
+            for (Set<Integer> set : Arrays.asList(CompactSet.copyOf(source), CompactSet.<Integer>copyOf(nonCollection))) {
+                assertEquals(new ArrayList<>(expected), new ArrayList<>(set));
+                assertEquals(expected, set);
+                assertEquals(expected.hashCode(), set.hashCode());
+                for (int probe = -1; probe <= size + 1; probe++) {
+                    assertEquals(expected.contains(probe), set.contains(probe));
+                }
+                assertEquals(expected.contains(null), set.contains(null));
+            }
+        }
+    }
+
+    public void testMapMatchesLinkedHashMap() {
+        Random random = new Random(6);
+        for (int round = 0; round < 300; round++) {
+            int size = random.nextInt(round < 100 ? 12 : 2_000);
+            LinkedHashMap<String, Integer> expected = new LinkedHashMap<>();
+            CompactMap.Builder<String, Integer> builder = new CompactMap.Builder<>(random.nextInt(size + 1));
+            for (int i = 0; i < size; i++) {
+                String key = random.nextInt(20) == 0 ? null : Integer.toString(random.nextInt(size + 1));
+                expected.put(key, i);
+                builder.put(key, i);
+            }
+            CompactMap<String, Integer> map = builder.build();
+            assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+            assertEquals(expected, map);
+            assertEquals(map, expected);
+            assertEquals(expected.hashCode(), map.hashCode());
+            for (int probe = -1; probe <= size + 1; probe++) {
+                assertEquals(expected.get(Integer.toString(probe)), map.get(Integer.toString(probe)));
+            }
+            assertEquals(expected.containsKey(null), map.containsKey(null));
+            assertSame(map, CompactMap.copyOf(map));
+            assertEquals(map, CompactMap.copyOf(expected));
+        }
+    }
+
+    public void testAssociateKeepsFirstPositionAndLastValue() {
+        CompactMap<Integer, String> map = CompactMap.associate(Arrays.asList("a", "bb", "c", "dd", "eee"), String::length, s -> s);
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(map.keySet()));
+        assertEquals(Arrays.asList("c", "dd", "eee"), new ArrayList<>(map.values()));
+    }
+
+    public void testListIsAnExactCopy() {
+        List<String> source = new ArrayList<>(Arrays.asList("a", null, "b", "a"));
+        CompactList<String> list = CompactList.copyOf(source);
+        source.set(0, "z");
+        assertEquals(Arrays.asList("a", null, "b", "a"), list);
+        assertEquals(Arrays.asList("a", null, "b", "a").hashCode(), list.hashCode());
+        assertEquals(3, list.lastIndexOf("a"));
+        assertEquals(1, list.indexOf(null));
+        assertSame(list, CompactList.copyOf(list));
+    }
+
+    public void testMutatorsThrow() {
+        Collection<?>[] collections = {CompactList.of(1, 2), CompactSet.of(1, 2)};
+        for (Collection<?> collection : collections) {
+            try {
+                collection.add(null);
+                fail();
+            } catch (UnsupportedOperationException expected) {
+            }
+            try {
+                collection.clear();
+                fail();
+            } catch (UnsupportedOperationException expected) {
+            }
+        }
+        Map<Integer, Integer> map = new CompactMap.Builder<Integer, Integer>(2).put(1, 1).put(2, 2).build();
+        try {
+            map.put(3, 3);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            map.remove(1);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            map.entrySet().iterator().next().setValue(0);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+}
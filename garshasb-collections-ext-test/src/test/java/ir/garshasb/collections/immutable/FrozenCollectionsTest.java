@@ -0,0 +1,165 @@
+package ir.garshasb.collections.immutable;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class FrozenCollectionsTest extends TestCase {
+
+    public void testMapMatchesSourceAcrossPartitions() {
+        Random random = new Random(8);
+        for (int size : new int[]{0, 1, 2, 7, 100, PerfectHashIndex.PARTITION_SIZE, 100_000}) {
+            LinkedHashMap<Long, Integer> source = new LinkedHashMap<>();
+            while (source.size() < size) {
+                source.put(random.nextLong(), source.size());
+            }
+            for (FrozenMap<Long, Integer> map : Arrays.asList(FrozenMap.copyOf(source, null), FrozenMap.copyOf(source, ForkJoinPool.commonPool()))) {
+                assertEquals(size, map.size());
+                assertEquals(new ArrayList<>(source.entrySet()), new ArrayList<>(map.entrySet()));
+                for (Map.Entry<Long, Integer> entry : source.entrySet()) {
+                    assertEquals(entry.getValue(), map.get(entry.getKey()));
+                }
+                for (int probe = 0; probe < 1_000; probe++) {
+                    long absent = random.nextLong();
+                    assertEquals(source.containsKey(absent), map.containsKey(absent));
+                }
+                assertEquals(source, map);
+                assertEquals(source.hashCode(), map.hashCode());
+            }
+        }
+    }
+
+    public void testCollidingHashCodesAndNulls() {
+        // "Aa" and "BB" share their hash code, as do all their concatenations
+        LinkedHashMap<String, Integer> source = new LinkedHashMap<>();
+        String[] halves = {"Aa", "BB"};
+        for (int i = 0; i < 64; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < 6; bit++) {
+                key.append(halves[(i >> bit) & 1]);
+            }
+            source.put(key.toString(), i);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            source.put("key" + i, -i);
+        }
+        source.put(null, null);
+        FrozenMap<String, Integer> map = FrozenMap.copyOf(source);
+        assertEquals(new ArrayList<>(source.keySet()), new ArrayList<>(map.keySet()));
+        for (Map.Entry<String, Integer> entry : source.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+            assertTrue(map.containsKey(entry.getKey()));
+        }
+        assertFalse(map.containsKey("AaAaAaAaAaBBBB"));
+        assertEquals(Integer.valueOf(7), map.getOrDefault("missing", 7));
+    }
+
+    public void testLongKeysWithCollidingHashCodes() {
+        // Long.hashCode folds the halves, every one of these hashes to 0
+        LinkedHashMap<Long, Integer> source = new LinkedHashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            source.put((long) i << 32 | i, i);
+        }
+        FrozenMap<Long, Integer> map = FrozenMap.copyOf(source);
+        for (Map.Entry<Long, Integer> entry : source.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            assertFalse(map.containsKey((long) (i + 20_000) << 32 | (i + 20_000)));
+        }
+        assertEquals(new ArrayList<>(source.keySet()), new ArrayList<>(map.keySet()));
+    }
+
+    public void testManyStringsSharingAHashCode() {
+        // 2^15 strings sharing one hash code, which would all be compared one after another if hashed by it
+        Set<String> source = new LinkedHashSet<>();
+        for (int i = 0; i < 1 << 15; i++) {
+            source.add(blocks(i, 15));
+        }
+        FrozenSet<String> set = FrozenSet.copyOf(source);
+        assertEquals(new ArrayList<>(source), new ArrayList<>(set));
+        for (String element : source) {
+            assertTrue(set.contains(element));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertFalse(set.contains(blocks(i, 16)));
+            assertFalse(set.contains(blocks(i, 15) + "x"));
+        }
+    }
+
+    public void testOtherKeysSharingAHashCode() {
+        LinkedHashMap<Id, Integer> source = new LinkedHashMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            source.put(new Id(i, i % 3), i);
+        }
+        FrozenMap<Id, Integer> map = FrozenMap.copyOf(source);
+        assertEquals(new ArrayList<>(source.keySet()), new ArrayList<>(map.keySet()));
+        for (Map.Entry<Id, Integer> entry : source.entrySet()) {
+            assertEquals(entry.getValue(), map.get(new Id(entry.getKey().value, entry.getKey().hashCode())));
+        }
+        assertFalse(map.containsKey(new Id(1_000, 1)));
+        assertFalse(map.containsKey(new Id(1_000, 3)));
+    }
+
+    public void testSetKeepsFirstOccurrenceOrder() {
+        FrozenSet<Integer> set = FrozenSet.copyOf(Arrays.asList(5, 3, 5, 9, 3));
+        assertEquals(Arrays.asList(5, 3, 9), new ArrayList<>(set));
+        assertTrue(set.contains(9));
+        assertFalse(set.contains(4));
+        assertSame(set, FrozenSet.copyOf(set));
+
+        Set<String> words = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            words.add("w" + i);
+        }
+        FrozenSet<String> frozen = FrozenSet.copyOf(words, ForkJoinPool.commonPool());
+        assertEquals(words, frozen);
+        assertFalse(frozen.contains("w20000"));
+    }
+
+    public void testMutatorsThrow() {
+        Map<String, Integer> map = FrozenMap.copyOf(Collections.singletonMap("a", 1));
+        try {
+            map.put("b", 2);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            FrozenSet.copyOf(Arrays.asList(1, 2)).remove(1);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    /**
+     * Concatenates "Aa" and "BB", which share their hash code, after the bits of {@code i}.
+     */
+    private static String blocks(int i, int count) {
+        StringBuilder blocks = new StringBuilder();
+        for (int bit = 0; bit < count; bit++) {
+            blocks.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+        }
+        return blocks.toString();
+    }
+
+    private static final class Id {
+        final int value;
+        final int hash;
+
+        Id(int value, int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Id && ((Id) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ir.garshasb.collections.immutable;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class PersistentVectorTest extends TestCase {
+
+    public void testPlus() {
+        // crosses the tail, root overflow and a third trie level
+        for (int size : new int[]{0, 1, 32, 33, 1056, 32 * 32 * 32 + 33}) {
+            PersistentVector<Integer> vector = PersistentVector.empty();
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                vector = vector.plus(i);
+                expected.add(i);
+            }
+            assertEquals(expected, vector);
+            assertEquals(expected.hashCode(), vector.hashCode());
+        }
+    }
+
+    public void testPlusAll() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, PersistentVector.of(expected.subList(0, 17)).plusAll(expected.subList(17, 5000)));
+        assertEquals(expected, PersistentVector.of(expected));
+        PersistentVector<Integer> vector = PersistentVector.of(1, 2);
+        assertSame(vector, vector.plusAll(Collections.emptyList()));
+    }
+
+    public void testIsPersistent() {
+        PersistentVector<String> base = PersistentVector.empty();
+        for (int i = 0; i < 100; i++) {
+            base = base.plus("e" + i);
+        }
+        PersistentVector<String> left = base.plus("left");
+        PersistentVector<String> right = base.plus("right");
+        assertEquals(100, base.size());
+        assertEquals("left", left.get(100));
+        assertEquals("right", right.get(100));
+        assertEquals(base, left.subList(0, 100));
+    }
+
+    public void testMinusIf() {
+        PersistentVector<Integer> vector = PersistentVector.of(1, 2, 3, 4, 5);
+        assertEquals(Arrays.asList(1, 3, 5), vector.minusIf(e -> e % 2 == 0));
+        assertSame(vector, vector.minusIf(e -> e > 10));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), vector);
+        try {
+            vector.removeAll(Arrays.asList(1, 2));
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public void testMinusIfKeepsThePrefix() {
+        for (int size : new int[]{1, 31, 32, 33, 64, 1_024, 1_056, 1_057, 33_000}) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(i);
+            }
+            PersistentVector<Integer> vector = PersistentVector.of(expected);
+            for (int first : new int[]{0, 1, 31, 32, 33, 1_023, 1_024, 1_025, 1_056, 32_767, 32_768, size - 1}) {
+                if (first >= size) {
+                    continue;
+                }
+                // every 97th element from the first match on, each tested exactly once
+                int[] tests = {0};
+                PersistentVector<Integer> removed = vector.minusIf(e -> {
+                    tests[0]++;
+                    return e >= first && (e - first) % 97 == 0;
+                });
+                assertEquals(size, tests[0]);
+                List<Integer> kept = new ArrayList<>();
+                for (int e : expected) {
+                    if (e < first || (e - first) % 97 != 0) {
+                        kept.add(e);
+                    }
+                }
+                assertEquals(kept, removed);
+                kept.addAll(expected);
+                assertEquals(kept, removed.plusAll(expected));
+            }
+        }
+    }
+
+    public void testIsImmutable() {
+        PersistentVector<Integer> vector = PersistentVector.of(1, 2, 3);
+        try {
+            vector.add(4);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            vector.get(3);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ir.garshasb.collections.joins;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.function.Function;
+
+public class JoinsTest extends TestCase {
+
+    private static final Function<int[], Integer> KEY = e -> e[0] < 0 ? null : e[0];
+    private static final Comparator<Integer> KEY_ORDER = Comparator.nullsFirst(Comparator.<Integer>naturalOrder());
+
+    public void testHashJoinsMatchANestedLoop() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            List<int[]> left = randomSide(random, 0);
+            List<int[]> right = randomSide(random, 1);
+            Iterable<int[]> nonCollection = right::iterator;
+            for (Iterable<int[]> rightInput : Arrays.asList(right, nonCollection)) {
+                List<String> pairs = new ArrayList<>();
+                Joins.innerJoin(left, rightInput, KEY, KEY, (l, r) -> pairs.add(describe(l, r)));
+                assertEquals(sorted(nestedLoop(left, right, false)), sorted(pairs));
+
+                pairs.clear();
+                Joins.leftJoin(left, rightInput, KEY, KEY, (l, r) -> pairs.add(describe(l, r)));
+                assertEquals(sorted(nestedLoop(left, right, true)), sorted(pairs));
+
+                assertEquals(semiJoin(left, right), Joins.semiJoin(left, rightInput, KEY, KEY));
+            }
+        }
+    }
+
+    public void testHashJoinOrder() {
+        List<int[]> small = Arrays.asList(new int[]{2, 0}, new int[]{1, 1});
+        List<int[]> large = Arrays.asList(new int[]{1, 0}, new int[]{3, 1}, new int[]{2, 2});
+        List<String> pairs = new ArrayList<>();
+        Joins.innerJoin(large, small, KEY, KEY, (l, r) -> pairs.add(describe(l, r)));
+        assertEquals(Arrays.asList("1/0-1/1", "2/2-2/0"), pairs);
+        pairs.clear();
+        // the smaller left side is indexed: matches in the order of the right side, then the unmatched
+        Joins.leftJoin(Arrays.asList(new int[]{3, 0}, new int[]{2, 1}), large, KEY, KEY, (l, r) -> pairs.add(describe(l, r)));
+        assertEquals(Arrays.asList("3/0-3/1", "2/1-2/2"), pairs);
+        pairs.clear();
+        Joins.leftJoin(Arrays.asList(new int[]{5, 0}, new int[]{2, 1}), large, KEY, KEY, (l, r) -> pairs.add(describe(l, r)));
+        assertEquals(Arrays.asList("2/1-2/2", "5/0-null"), pairs);
+    }
+
+    public void testSortedJoinsMatchTheHashJoins() {
+        Random random = new Random(7);
+        Comparator<int[]> byKey = Comparator.comparing(KEY, KEY_ORDER);
+        for (int round = 0; round < 300; round++) {
+            List<int[]> left = randomSide(random, 0);
+            List<int[]> right = randomSide(random, 1);
+            left.sort(byKey);
+            right.sort(byKey);
+            List<String> expected = new ArrayList<>();
+            List<String> pairs = new ArrayList<>();
+            Joins.innerJoin(left, (Iterable<int[]>) right::iterator, KEY, KEY, (l, r) -> expected.add(describe(l, r)));
+            Joins.sortedInnerJoin(left, right, KEY, KEY, KEY_ORDER, (l, r) -> pairs.add(describe(l, r)));
+            assertEquals(expected, pairs);
+
+            expected.clear();
+            pairs.clear();
+            Joins.leftJoin(left, (Iterable<int[]>) right::iterator, KEY, KEY, (l, r) -> expected.add(describe(l, r)));
+            Joins.sortedLeftJoin(left, right, KEY, KEY, KEY_ORDER, (l, r) -> pairs.add(describe(l, r)));
+            assertEquals(expected, pairs);
+
+            assertEquals(semiJoin(left, right), Joins.sortedSemiJoin(left, right, KEY, KEY, KEY_ORDER));
+        }
+    }
+
+    public void testNullElements() {
+        List<String> left = Arrays.asList("a", null, "bb");
+        List<String> right = Arrays.asList(null, "cc", "d", "e");
+        Function<String, Integer> length = e -> e == null ? 0 : e.length();
+        List<String> pairs = new ArrayList<>();
+        Joins.innerJoin(left, right, length, length, (l, r) -> pairs.add(l + "-" + r));
+        assertEquals(Arrays.asList("null-null", "bb-cc", "a-d", "a-e"), pairs);
+    }
+
+    private static List<int[]> randomSide(Random random, int side) {
+        List<int[]> elements = new ArrayList<>();
+        int size = random.nextInt(25);
+        for (int i = 0; i < size; i++) {
+            // keys -1 stand for null
+            elements.add(new int[]{random.nextInt(12) - 1, i, side});
+        }
+        return elements;
+    }
+
+    private static List<String> nestedLoop(List<int[]> left, List<int[]> right, boolean keepUnmatched) {
+        List<String> pairs = new ArrayList<>();
+        for (int[] l : left) {
+            boolean matched = false;
+            for (int[] r : right) {
+                if (Objects.equals(KEY.apply(l), KEY.apply(r))) {
+                    pairs.add(describe(l, r));
+                    matched = true;
+                }
+            }
+            if (!matched && keepUnmatched) {
+                pairs.add(describe(l, null));
+            }
+        }
+        return pairs;
+    }
+
+    private static List<int[]> semiJoin(List<int[]> left, List<int[]> right) {
+        List<int[]> result = new ArrayList<>();
+        for (int[] l : left) {
+            for (int[] r : right) {
+                if (Objects.equals(KEY.apply(l), KEY.apply(r))) {
+                    result.add(l);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String describe(int[] left, int[] right) {
+        return left[0] + "/" + left[1] + "-" + (right == null ? "null" : right[0] + "/" + right[1]);
+    }
+
+    private static List<String> sorted(List<String> pairs) {
+        List<String> sorted = new ArrayList<>(pairs);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,53 @@
+package ir.garshasb.collections.primitive;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+public class IntListTest extends TestCase {
+
+    public void testAddAndGet() {
+        IntList list = new IntList();
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 2);
+        }
+        assertEquals(100, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(198, list.get(99));
+        assertEquals(198, list.set(99, 7));
+        assertEquals(7, list.get(99));
+    }
+
+    public void testOutOfBounds() {
+        IntList list = new IntList(4);
+        list.add(1);
+        try {
+            list.get(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    public void testToArrayIsExactSize() {
+        IntList list = new IntList(16);
+        list.add(3);
+        list.add(1);
+        assertTrue(Arrays.equals(new int[]{3, 1}, list.toArray()));
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+    }
+
+    public void testEqualsAndToString() {
+        IntList a = new IntList();
+        IntList b = new IntList(1);
+        a.add(1);
+        a.add(2);
+        b.add(1);
+        b.add(2);
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals("[1, 2]", a.toString());
+    }
+}
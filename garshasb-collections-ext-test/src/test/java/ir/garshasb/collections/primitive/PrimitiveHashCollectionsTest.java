@@ -0,0 +1,99 @@
+package ir.garshasb.collections.primitive;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class PrimitiveHashCollectionsTest extends TestCase {
+
+    public void testLongObjectMapMatchesLinkedHashMap() {
+        Random random = new Random(7);
+        for (int expectedSize : new int[]{0, 1, 100, 10_000}) {
+            LongObjectMap<String> map = new LongObjectMap<>(expectedSize);
+            Map<Long, String> reference = new LinkedHashMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                // shifted keys collide in the low bits, the hash has to spread them
+                long key = (long) random.nextInt(5_000) << 32;
+                String value = i % 10 == 0 ? null : "v" + i;
+                assertEquals(reference.put(key, value), map.put(key, value));
+            }
+            assertEquals(reference.size(), map.size());
+            List<Long> keys = new ArrayList<>();
+            for (long key : map.keys()) {
+                keys.add(key);
+            }
+            assertEquals(new ArrayList<>(reference.keySet()), keys);
+            assertEquals(new ArrayList<>(reference.values()), map.values());
+            assertEquals(reference.hashCode(), map.hashCode());
+            for (long key = -10; key < 5_010; key++) {
+                assertEquals(reference.containsKey(key << 32), map.containsKey(key << 32));
+                assertEquals(reference.getOrDefault(key << 32, "none"), map.getOrDefault(key << 32, "none"));
+            }
+        }
+    }
+
+    public void testIntObjectMapMatchesLinkedHashMap() {
+        Random random = new Random(11);
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        Map<Integer, Integer> reference = new LinkedHashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(20_000) - 10_000;
+            assertEquals(reference.put(key, i), map.put(key, i));
+        }
+        StringBuilder order = new StringBuilder();
+        map.forEach((key, value) -> order.append(key).append('=').append(value).append(' '));
+        StringBuilder expected = new StringBuilder();
+        reference.forEach((key, value) -> expected.append(key).append('=').append(value).append(' '));
+        assertEquals(expected.toString(), order.toString());
+        assertEquals(reference.hashCode(), map.hashCode());
+        assertEquals(reference.toString(), map.toString());
+    }
+
+    public void testLongSetMatchesLinkedHashSet() {
+        Random random = new Random(13);
+        LongSet set = new LongSet();
+        Set<Long> reference = new LinkedHashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            long value = random.nextInt(30_000) * 0x1_0000_0001L;
+            assertEquals(reference.add(value), set.add(value));
+        }
+        assertEquals(reference.size(), set.size());
+        long[] values = set.toArray();
+        int i = 0;
+        for (long value : reference) {
+            assertEquals(value, values[i++]);
+        }
+        assertEquals(reference.hashCode(), set.hashCode());
+        assertFalse(set.contains(-1));
+    }
+
+    public void testEquality() {
+        LongObjectMap<String> a = new LongObjectMap<>();
+        LongObjectMap<String> b = new LongObjectMap<>(2);
+        a.put(1, "one");
+        a.put(2, "two");
+        b.put(2, "two");
+        b.put(1, "one");
+        assertEquals(a, b);
+        b.put(1, "uno");
+        assertFalse(a.equals(b));
+
+        LongSet c = new LongSet();
+        LongSet d = new LongSet();
+        c.add(1);
+        c.add(2);
+        d.add(2);
+        d.add(1);
+        assertEquals(c, d);
+        assertEquals("[1, 2]", c.toString());
+    }
+
+    public void testNegativeExpectedSize() {
+        try {
+            new LongSet(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
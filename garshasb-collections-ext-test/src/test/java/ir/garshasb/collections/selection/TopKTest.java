@@ -0,0 +1,56 @@
+package ir.garshasb.collections.selection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TopKTest extends TestCase {
+
+    public void testEveryStrategyMatchesAStableSort() {
+        Random random = new Random(42);
+        Comparator<int[]> byValue = Comparator.comparingInt(e -> e[0]);
+        for (int round = 0; round < 500; round++) {
+            int size = random.nextInt(200);
+            int k = random.nextInt(size + 3);
+            List<int[]> source = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                source.add(new int[]{random.nextInt(10), i});
+            }
+            List<int[]> ascending = new ArrayList<>(source);
+            ascending.sort(byValue);
+            List<int[]> descending = new ArrayList<>(source);
+            descending.sort(byValue.reversed());
+            Iterable<int[]> nonCollection = source::iterator;
+            for (Iterable<int[]> input : Arrays.asList(source, new LinkedList<>(source), nonCollection)) {
+                assertSameElements(ascending.subList(0, Math.min(k, size)), TopK.smallest(input, k, byValue));
+                assertSameElements(descending.subList(0, Math.min(k, size)), TopK.largest(input, k, byValue));
+            }
+        }
+    }
+
+    public void testQuickselectHandlesSortedAndEqualInputs() {
+        List<Integer> ascending = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ascending.add(i);
+        }
+        assertEquals(ascending.subList(0, 5_000), TopK.smallest(ascending, 5_000, Comparator.naturalOrder()));
+        List<Integer> equal = Collections.nCopies(10_000, 1);
+        assertEquals(equal.subList(0, 1_000), TopK.largest(new ArrayList<>(equal), 1_000, Comparator.naturalOrder()));
+    }
+
+    public void testZeroAndNegativeCounts() {
+        assertTrue(TopK.smallest(Arrays.asList(3, 1, 2), 0, Comparator.<Integer>naturalOrder()).isEmpty());
+        try {
+            TopK.largest(Arrays.asList(3, 1, 2), -1, Comparator.<Integer>naturalOrder());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private static void assertSameElements(List<int[]> expected, List<int[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ir.garshasb.collections.sequence;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SequenceTest extends TestCase {
+
+    public void testMap() {
+        assertEquals(Arrays.asList('s', 'k', 'c', 'l'), makeTestSequence().map(e -> e.charAt(0)).toList());
+    }
+
+    public void testMapNotNull() {
+        Sequence<String> seq = Sequence.of(Arrays.asList("scott", null, "kyle"));
+        assertEquals(Arrays.asList(5, 4), seq.mapNotNull(e -> e == null ? null : e.length()).toList());
+    }
+
+    public void testFilter() {
+        assertEquals(Arrays.asList("kyle", "luca"), makeTestSequence().filter(e -> e.contains("l")).toList());
+        assertEquals(Arrays.asList("scott", "carson"), makeTestSequence().filterNot(e -> e.contains("l")).toList());
+    }
+
+    public void testFlatMap() {
+        assertEquals(Arrays.asList('s', 'c', 'k', 'y'),
+                makeTestSequence().take(2).flatMap(e -> Arrays.asList(e.charAt(0), e.charAt(1))).toList());
+        assertEquals(Collections.emptyList(), makeTestSequence().flatMap(e -> Collections.emptyList()).toList());
+    }
+
+    public void testTakeAndDrop() {
+        assertEquals(Arrays.asList("scott", "kyle"), makeTestSequence().take(2).toList());
+        assertEquals(Arrays.asList("carson", "luca"), makeTestSequence().drop(2).toList());
+        assertEquals(Arrays.asList("kyle"), makeTestSequence().drop(1).take(1).toList());
+        assertEquals(Collections.emptyList(), makeTestSequence().drop(10).toList());
+        assertEquals(Collections.emptyList(), makeTestSequence().take(0).toList());
+        try {
+            makeTestSequence().take(-1);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testDistinctBy() {
+        assertEquals(Arrays.asList("scott", "kyle", "carson"), makeTestSequence().distinctBy(String::length).toList());
+        assertEquals(Arrays.asList(1, 2, 3), Sequence.of(Arrays.asList(1, 2, 1, 3, 2)).distinct().toList());
+    }
+
+    public void testChunkedAndWindowed() {
+        assertEquals(Arrays.asList(Arrays.asList("scott", "kyle", "carson"), Arrays.asList("luca")), makeTestSequence().chunked(3).toList());
+        assertEquals(Arrays.asList(Arrays.asList("scott", "kyle"), Arrays.asList("kyle", "carson"), Arrays.asList("carson", "luca")),
+                makeTestSequence().windowed(2, 1, false).toList());
+        assertEquals(Arrays.asList("scott", "kyle"), makeTestSequence().windowed(2, 1, true).first());
+    }
+
+    public void testFirst() {
+        assertEquals("scott", makeTestSequence().first());
+        assertEquals("kyle", makeTestSequence().first(e -> e.contains("l")));
+        assertNull(Sequence.empty().firstOrNull());
+        try {
+            Sequence.empty().first();
+            fail();
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    public void testFoldAndJoinToString() {
+        assertEquals("skcl", makeTestSequence().fold("", (a, s) -> a + s.charAt(0)));
+        assertEquals("scott; kyle; carson; luca", makeTestSequence().joinToString("; "));
+    }
+
+    public void testShortCircuits() {
+        AtomicInteger visited = new AtomicInteger();
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            source.add(i);
+        }
+        int first = Sequence.of(source)
+                .map(e -> {
+                    visited.incrementAndGet();
+                    return e * 2;
+                })
+                .filter(e -> e > 10)
+                .first();
+        assertEquals(12, first);
+        assertEquals(7, visited.get());
+    }
+
+    public void testIsLazyAndReiterable() {
+        AtomicInteger visited = new AtomicInteger();
+        Sequence<Integer> seq = makeTestSequence().map(e -> visited.incrementAndGet());
+        assertEquals(0, visited.get());
+        assertEquals(4, seq.toList().size());
+        assertEquals(4, seq.toList().size());
+        assertEquals(8, visited.get());
+    }
+
+    private Sequence<String> makeTestSequence() {
+        return Sequence.of(Arrays.asList("scott", "kyle", "carson", "luca"));
+    }
+}
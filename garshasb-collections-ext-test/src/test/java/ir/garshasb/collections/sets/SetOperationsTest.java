@@ -0,0 +1,104 @@
+package ir.garshasb.collections.sets;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+public class SetOperationsTest extends TestCase {
+
+    public void testIntersectKeepsLeftOrderForEveryStrategy() {
+        List<Integer> left = Arrays.asList(9, 3, 7, 1, 5, 3);
+        List<Integer> expected = Arrays.asList(3, 7, 5);
+        // linear scan of a tiny right side
+        assertEquals(expected, new ArrayList<>(SetOperations.intersect(left, Arrays.asList(5, 7, 3))));
+        // probing a hash set left side with a smaller right side
+        assertEquals(expected, new ArrayList<>(SetOperations.intersect(new LinkedHashSet<>(left), Arrays.asList(5, 7, 3))));
+        // hashing the smaller left side
+        assertEquals(expected, new ArrayList<>(SetOperations.intersect(left, range(3, 8))));
+        // hashing the right side
+        List<Integer> longLeft = new ArrayList<>(left);
+        longLeft.addAll(range(50, 80));
+        assertEquals(Arrays.asList(9, 3, 7, 5), new ArrayList<>(SetOperations.intersect(longLeft, range(2, 20))));
+    }
+
+    public void testIntersectSortedInputsAreMerged() {
+        TreeSet<Integer> left = new TreeSet<>(range(0, 100));
+        SortedIterable<Integer> right = SetOperations.assumeSorted(Arrays.asList(-5, 10, 10, 50, 200), Comparator.naturalOrder());
+        assertEquals(Comparator.naturalOrder(), SetOperations.commonSortOrder(left, right));
+        assertEquals(Arrays.asList(10, 50), new ArrayList<>(SetOperations.intersect(left, right)));
+        assertEquals(Arrays.asList(-5, 200), new ArrayList<>(SetOperations.subtract(right, left)));
+    }
+
+    public void testSortedSetsInconsistentWithEqualsAreHashed() {
+        TreeSet<String> left = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        left.addAll(Arrays.asList("a", "B", "c"));
+        TreeSet<String> right = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        right.addAll(Arrays.asList("A", "b"));
+        assertNull(SetOperations.commonSortOrder(left, right));
+        // equals, like before sorted inputs were merged: "a" is not "A", and only "B" matches the "B" of the hash set
+        assertEquals(Collections.emptyList(), new ArrayList<>(SetOperations.intersect(left, right)));
+        assertEquals(Arrays.asList("a", "B", "c"), new ArrayList<>(SetOperations.subtract(left, right)));
+        assertEquals(Arrays.asList("B"), new ArrayList<>(SetOperations.intersect(left, new HashSet<>(Arrays.asList("A", "B")))));
+        // flagged by the caller, the comparator is trusted
+        SortedIterable<String> flagged = SetOperations.assumeSorted(right, String.CASE_INSENSITIVE_ORDER);
+        assertEquals(String.CASE_INSENSITIVE_ORDER, SetOperations.commonSortOrder(left, flagged));
+        assertEquals(Arrays.asList("a", "B"), new ArrayList<>(SetOperations.intersect(left, flagged)));
+        assertEquals(Comparator.naturalOrder(), SetOperations.commonSortOrder(new TreeSet<>(Arrays.asList("a", "B")), new TreeSet<>(Arrays.asList("A"))));
+    }
+
+    public void testSetsOtherThanHashSetsAreCopied() {
+        for (int size : new int[]{3, 100}) {
+            List<String> left = new ArrayList<>();
+            Set<String> identities = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < size; i++) {
+                left.add("e" + i);
+                identities.add(new String("e" + i));
+            }
+            // equals, not the == of the identity set's own contains
+            assertEquals(left, new ArrayList<>(SetOperations.intersect(left, identities)));
+            assertEquals(Collections.emptyList(), new ArrayList<>(SetOperations.subtract(left, identities)));
+            assertNotSame(identities, SetOperations.lookup(identities));
+        }
+        Set<Integer> copyOnWrite = new CopyOnWriteArraySet<>(range(0, 100));
+        assertTrue(SetOperations.lookup(copyOnWrite) instanceof HashSet);
+        assertEquals(range(50, 100), new ArrayList<>(SetOperations.intersect(range(50, 150), copyOnWrite)));
+    }
+
+    public void testSubtract() {
+        List<Integer> left = Arrays.asList(9, 3, 7, 1, 5, 3);
+        assertEquals(Arrays.asList(9, 1), new ArrayList<>(SetOperations.subtract(left, Arrays.asList(5, 7, 3))));
+        assertEquals(Arrays.asList(9), new ArrayList<>(SetOperations.subtract(left, range(0, 8))));
+        assertEquals(Collections.emptyList(), new ArrayList<>(SetOperations.subtract(left, range(0, 10))));
+    }
+
+    public void testUnion() {
+        assertEquals(Arrays.asList(3, 1, 2, 4), new ArrayList<>(SetOperations.union(Arrays.asList(3, 1, 3), new TreeSet<>(Arrays.asList(4, 2, 1)))));
+    }
+
+    public void testSortedMerges() {
+        List<Integer> left = Arrays.asList(1, 2, 2, 4, 6);
+        List<Integer> right = Arrays.asList(2, 3, 4, 4, 7);
+        assertEquals(Arrays.asList(2, 4), SetOperations.sortedIntersect(left, right, Comparator.naturalOrder()));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 6, 7), SetOperations.sortedUnion(left, right, Comparator.naturalOrder()));
+        assertEquals(Arrays.asList(1, 6), SetOperations.sortedSubtract(left, right, Comparator.naturalOrder()));
+        assertEquals(Arrays.asList(6, 4, 2, 1), SetOperations.sortedUnion(Arrays.asList(6, 4, 2), Arrays.asList(2, 1), Comparator.reverseOrder()));
+        assertEquals(Collections.emptyList(), SetOperations.sortedIntersect(left, Collections.emptyList(), Comparator.naturalOrder()));
+    }
+
+    public void testLookup() {
+        Set<String> set = new HashSet<>(Arrays.asList("a", "b"));
+        assertSame(set, SetOperations.lookup(set));
+        List<String> tiny = Arrays.asList("a", "b");
+        assertSame(tiny, SetOperations.lookup(tiny));
+        assertTrue(SetOperations.lookup(range(0, 100)) instanceof HashSet);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,125 @@
+package ir.garshasb.collections.sketch;
+
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+public class HyperLogLogTest extends TestCase {
+
+    public void testEstimateIsWithinFourStandardErrors() {
+        for (int precision : new int[]{HyperLogLog.MIN_PRECISION, 10, HyperLogLog.DEFAULT_PRECISION}) {
+            for (int count : new int[]{1, 10, 100, 1_000, 10_000, 100_000, 1_000_000}) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                for (int i = 0; i < count; i++) {
+                    sketch.addLong(i * 31L + 7);
+                }
+                double error = Math.abs(sketch.estimate() - count) / (double) count;
+                assertTrue(precision + "/" + count + ": " + sketch.estimate(), error <= 4 * sketch.relativeStandardError());
+            }
+        }
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    public void testDuplicatesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                sketch.add("user-" + i);
+                sketch.add((long) i);
+            }
+        }
+        assertEquals(2_000, sketch.estimate(), 2_000 * 4 * sketch.relativeStandardError());
+        HyperLogLog small = new HyperLogLog();
+        small.add(null);
+        small.add(null);
+        small.add(42);
+        small.add(42L);
+        small.add(UUID.nameUUIDFromBytes(new byte[0]));
+        assertEquals(3, small.estimate());
+    }
+
+    public void testMergeEqualsTheSketchOfTheUnion() {
+        HyperLogLog whole = new HyperLogLog(12);
+        HyperLogLog even = new HyperLogLog(12);
+        HyperLogLog odd = new HyperLogLog(12);
+        for (int i = 0; i < 50_000; i++) {
+            whole.add("user-" + i);
+            (i % 2 == 0 ? even : odd).add("user-" + i);
+        }
+        assertEquals(whole, even.merge(odd));
+        assertEquals(whole.estimate(), even.estimate());
+        try {
+            whole.merge(new HyperLogLog(13));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testParallelCollectorMatchesASequentialSketch() {
+        HyperLogLog sequential = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            sequential.addLong(i % 30_000);
+        }
+        assertEquals(sequential, IntStream.range(0, 100_000).parallel().boxed().collect(HyperLogLog.collector(12, i -> i % 30_000)));
+    }
+
+    public void testSerialization() throws Exception {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.add(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sketch);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(sketch, in.readObject());
+        }
+        assertEquals(sketch, HyperLogLog.fromByteArray(sketch.toByteArray()));
+        assertEquals(1 + 1024, sketch.toByteArray().length);
+        try {
+            HyperLogLog.fromByteArray(new byte[]{10, 1, 2});
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testDeserializationRejectsAMismatchedPrecision() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new HyperLogLog(10));
+        }
+        byte[] stream = bytes.toByteArray();
+        // the int precision field is written right before the registers array, claim 2^11 registers for 2^10 of them
+        int precision = indexOf(stream, new byte[]{0, 0, 0, 10, ObjectStreamConstants.TC_ARRAY}) + 3;
+        assertTrue(precision > 3);
+        stream[precision] = 11;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream))) {
+            in.readObject();
+            fail();
+        } catch (InvalidObjectException expected) {
+        }
+    }
+
+    public void testPrecisionBounds() {
+        for (int precision : new int[]{HyperLogLog.MIN_PRECISION - 1, HyperLogLog.MAX_PRECISION + 1}) {
+            try {
+                new HyperLogLog(precision);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals(HyperLogLog.MAX_PRECISION, new HyperLogLog(HyperLogLog.MAX_PRECISION).precision());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
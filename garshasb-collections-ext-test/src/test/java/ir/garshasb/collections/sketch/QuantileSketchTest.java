@@ -0,0 +1,114 @@
+package ir.garshasb.collections.sketch;
+
+import junit.framework.TestCase;
+
+import java.io.*;
+import java.util.*;
+
+public class QuantileSketchTest extends TestCase {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1};
+
+    public void testQuantilesAreWithinTheRelativeAccuracy() {
+        Random random = new Random(42);
+        for (double accuracy : new double[]{0.05, QuantileSketch.DEFAULT_RELATIVE_ACCURACY, 0.001}) {
+            double[] values = new double[100_000];
+            QuantileSketch sketch = new QuantileSketch(accuracy);
+            for (int i = 0; i < values.length; i++) {
+                // latency-like: mostly small with a long tail, over six orders of magnitude
+                values[i] = Math.exp(random.nextGaussian() * 3);
+                sketch.add(values[i]);
+            }
+            assertQuantiles(values, sketch);
+        }
+    }
+
+    public void testNegativesAndZeros() {
+        Random random = new Random(7);
+        double[] values = new double[10_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 10 == 0 ? 0 : random.nextGaussian() * 1_000;
+            sketch.add(values[i]);
+        }
+        assertQuantiles(values, sketch);
+        assertEquals(10_000, sketch.count());
+        QuantileSketch tiny = new QuantileSketch();
+        tiny.add(Double.MIN_VALUE);
+        assertEquals(0.0, tiny.quantile(0.5));
+    }
+
+    public void testMergeEqualsTheSketchOfTheUnion() {
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch low = new QuantileSketch();
+        QuantileSketch high = new QuantileSketch();
+        for (int i = -5_000; i < 50_000; i++) {
+            whole.add(i * 1.5);
+            (i < 1_000 ? low : high).add(i * 1.5);
+        }
+        assertEquals(whole, high.merge(low));
+        assertEquals(whole.hashCode(), high.hashCode());
+        assertEquals(whole.quantile(0.99), high.quantile(0.99));
+        assertEquals(whole, whole.merge(new QuantileSketch()));
+        try {
+            whole.merge(new QuantileSketch(0.02));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    public void testSerialization() throws Exception {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sketch);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(sketch, in.readObject());
+        }
+    }
+
+    public void testInvalidArguments() {
+        for (double accuracy : new double[]{0, 1, QuantileSketch.MIN_RELATIVE_ACCURACY / 2, Double.NaN}) {
+            try {
+                new QuantileSketch(accuracy);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        QuantileSketch sketch = new QuantileSketch();
+        try {
+            sketch.quantile(0.5);
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+        for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            try {
+                sketch.add(value);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        sketch.add(1);
+        try {
+            sketch.quantile(1.5);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        sketch.add(Double.MAX_VALUE);
+        assertEquals(Double.MAX_VALUE, sketch.quantile(1), Double.MAX_VALUE * sketch.relativeAccuracy());
+    }
+
+    private static void assertQuantiles(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            double exact = sorted[(int) (quantile * (sorted.length - 1))];
+            double estimate = sketch.quantile(quantile);
+            assertEquals(quantile + ": " + exact + " ~ " + estimate, exact, estimate, Math.abs(exact) * sketch.relativeAccuracy() * 1.0001);
+        }
+    }
+}
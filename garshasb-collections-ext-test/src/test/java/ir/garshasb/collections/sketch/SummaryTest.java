@@ -0,0 +1,132 @@
+package ir.garshasb.collections.sketch;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class SummaryTest extends TestCase {
+
+    public void testMomentsAreExact() {
+        Summary summary = new Summary();
+        for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            summary.add(value);
+        }
+        assertEquals(8, summary.count());
+        assertEquals(2.0, summary.min());
+        assertEquals(9.0, summary.max());
+        assertEquals(40.0, summary.sum(), 1e-12);
+        assertEquals(5.0, summary.mean(), 1e-12);
+        assertEquals(4.0, summary.variance(), 1e-12);
+        assertEquals(2.0, summary.standardDeviation(), 1e-12);
+        assertEquals(32.0 / 7, summary.sampleVariance(), 1e-12);
+    }
+
+    public void testVarianceOfLargeCloseValues() {
+        Summary summary = new Summary();
+        for (int i = 0; i < 1_000; i++) {
+            // summing squares would lose every digit of the variance at this magnitude
+            summary.add(1e9 + i % 2);
+        }
+        assertEquals(1e9 + 0.5, summary.mean(), 1e-6);
+        assertEquals(0.25, summary.variance(), 1e-6);
+    }
+
+    public void testSumIsCompensated() {
+        Summary whole = new Summary();
+        Summary left = new Summary();
+        Summary right = new Summary();
+        long exact = 0;
+        for (int i = 0; i < 10_000; i++) {
+            // one large id among many small ones, the mean times the count loses the small ones
+            long value = i == 0 ? (1L << 52) + 1 : 3;
+            exact += value;
+            whole.add(value);
+            (i < 5_000 ? left : right).add(value);
+        }
+        assertEquals((double) exact, whole.sum());
+        assertEquals((double) exact, left.merge(right).sum());
+        Summary tenths = new Summary();
+        for (int i = 0; i < 10; i++) {
+            tenths.add(0.1);
+        }
+        assertEquals(1.0, tenths.sum());
+        Summary huge = new Summary();
+        huge.add(Double.MAX_VALUE);
+        huge.add(Double.MAX_VALUE);
+        assertEquals(Double.POSITIVE_INFINITY, huge.sum());
+    }
+
+    public void testQuantilesStayWithinMinAndMax() {
+        Summary summary = new Summary();
+        for (long latency = 1_000; latency <= 1_000_000; latency += 1_000) {
+            summary.add(latency);
+        }
+        assertEquals(1_000.0, summary.quantile(0));
+        assertEquals(1_000_000.0, summary.quantile(1));
+        assertEquals(500_000, summary.p50(), 500_000 * summary.relativeAccuracy());
+        assertEquals(900_000, summary.p90(), 900_000 * summary.relativeAccuracy());
+        assertEquals(990_000, summary.p99(), 990_000 * summary.relativeAccuracy());
+        assertEquals(999_000, summary.p999(), 999_000 * summary.relativeAccuracy());
+        assertTrue(summary.p999() <= summary.max());
+        Summary single = new Summary();
+        single.add(3);
+        assertEquals(3.0, single.p50());
+        assertEquals(3.0, single.p999());
+    }
+
+    public void testMergeMatchesASinglePass() {
+        Summary whole = new Summary();
+        Summary left = new Summary();
+        Summary right = new Summary();
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            double value = random.nextGaussian() * 100 + (i < 3_000 ? 1_000 : -50);
+            whole.add(value);
+            (i < 3_000 ? left : right).add(value);
+        }
+        left.merge(right);
+        assertEquals(whole.count(), left.count());
+        assertEquals(whole.min(), left.min());
+        assertEquals(whole.max(), left.max());
+        assertEquals(whole.mean(), left.mean(), 1e-9);
+        assertEquals(whole.variance(), left.variance(), 1e-6);
+        assertEquals(whole.p99(), left.p99());
+        assertEquals(whole.p50(), new Summary().merge(whole).p50());
+        assertEquals(whole.variance(), whole.merge(new Summary()).variance(), 1e-6);
+    }
+
+    public void testCollectors() {
+        Summary sequential = new Summary();
+        for (long i = 0; i < 100_000; i++) {
+            sequential.add(i * i % 10_007);
+        }
+        Summary parallel = LongStream.range(0, 100_000).parallel().boxed().collect(Summary.longCollector(i -> i * i % 10_007));
+        assertEquals(sequential.count(), parallel.count());
+        assertEquals(sequential.mean(), parallel.mean(), 1e-6);
+        assertEquals(sequential.variance(), parallel.variance(), 1e-3);
+        assertEquals(sequential.p90(), parallel.p90());
+        Summary halves = IntStream.range(0, 10).boxed().collect(Summary.doubleCollector(i -> i / 2.0));
+        assertEquals(2.25, halves.mean(), 1e-12);
+    }
+
+    public void testEmpty() {
+        Summary summary = new Summary();
+        assertEquals(0, summary.count());
+        assertEquals(0.0, summary.mean());
+        assertEquals(0.0, summary.variance());
+        assertEquals(0.0, summary.sampleVariance());
+        assertEquals("Summary{count=0}", summary.toString());
+        try {
+            summary.min();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+        try {
+            summary.p50();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+}
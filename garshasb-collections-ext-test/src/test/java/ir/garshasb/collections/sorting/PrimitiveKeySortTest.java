@@ -0,0 +1,65 @@
+package ir.garshasb.collections.sorting;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+public class PrimitiveKeySortTest extends TestCase {
+
+    public void testEveryKeyRangeMatchesAStableSort() {
+        Random random = new Random(42);
+        for (int round = 0; round < 400; round++) {
+            int size = random.nextInt(round < 380 ? 200 : 20_000);
+            int shape = round % 4;
+            List<long[]> source = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                // few distinct keys, timestamps, keys wide enough for the merge sort, keys at both ends of the range
+                long key = shape == 0 ? random.nextInt(10)
+                        : shape == 1 ? 1_600_000_000_000L + random.nextInt(86_400_000)
+                        : shape == 2 ? random.nextLong()
+                        : random.nextBoolean() ? Long.MIN_VALUE + random.nextInt(3) : Long.MAX_VALUE - random.nextInt(3);
+                source.add(new long[]{key, i});
+            }
+            Iterable<long[]> nonCollection = source::iterator;
+            for (boolean parallel : new boolean[]{false, true}) {
+                List<long[]> expected = new ArrayList<>(source);
+                expected.sort(Comparator.comparingLong(e -> e[0]));
+                assertEquals(expected, PrimitiveKeySort.sortedByLong(source, e -> e[0], parallel));
+                assertEquals(expected, PrimitiveKeySort.sortedByLong(nonCollection, e -> e[0], parallel));
+
+                expected = new ArrayList<>(source);
+                expected.sort(Comparator.comparingInt(e -> (int) e[0]));
+                assertEquals(expected, PrimitiveKeySort.sortedByInt(source, e -> (int) e[0], parallel));
+
+                ToDoubleFunction<long[]> scaled = e -> e[0] / 7.0;
+                expected = new ArrayList<>(source);
+                expected.sort(Comparator.comparingDouble(scaled));
+                assertEquals(expected, PrimitiveKeySort.sortedByDouble(source, scaled, parallel));
+            }
+        }
+    }
+
+    public void testDoublesFollowDoubleCompare() {
+        List<Double> source = Arrays.asList(Double.NaN, 0.0, -0.0, Double.POSITIVE_INFINITY, -1.5, Double.MIN_VALUE,
+                Double.NEGATIVE_INFINITY, 2.5, -Double.MAX_VALUE, Double.NaN);
+        List<Double> expected = new ArrayList<>(source);
+        expected.sort(Double::compare);
+        assertEquals(expected, PrimitiveKeySort.sortedByDouble(source, Double::doubleValue, false));
+        assertEquals(expected, PrimitiveKeySort.sortedByDouble(source, Double::doubleValue, true));
+    }
+
+    public void testEmptyAndSingleton() {
+        assertTrue(PrimitiveKeySort.sortedByLong(Collections.<Long>emptyList(), Long::longValue, false).isEmpty());
+        assertEquals(Collections.singletonList(Long.MIN_VALUE),
+                PrimitiveKeySort.sortedByLong(Collections.singletonList(Long.MIN_VALUE), Long::longValue, true));
+    }
+
+    public void testOrderIsAStablePermutation() {
+        long[] keys = {5, Long.MIN_VALUE, 5, Long.MAX_VALUE, -1, 5};
+        int[] expected = {1, 4, 0, 2, 5, 3};
+        assertTrue(Arrays.equals(expected, PrimitiveKeySort.order(keys, false)));
+        assertTrue(Arrays.equals(expected, PrimitiveKeySort.order(keys, true)));
+        assertEquals(5, keys[0]);
+    }
+}
@@ -0,0 +1,91 @@
+package ir.garshasb.collections.sorting;
+
+import ir.garshasb.collections.sets.SetOperations;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class SortedMergeTest extends TestCase {
+
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(e -> e[0]);
+
+    public void testMergeMatchesAStableSortOfTheConcatenation() {
+        Random random = new Random(42);
+        for (int round = 0; round < 300; round++) {
+            List<List<int[]>> sources = new ArrayList<>();
+            List<int[]> concatenation = new ArrayList<>();
+            int count = random.nextInt(12);
+            for (int source = 0; source < count; source++) {
+                List<int[]> elements = new ArrayList<>();
+                int size = random.nextInt(30);
+                for (int i = 0; i < size; i++) {
+                    elements.add(new int[]{random.nextInt(20), source, i});
+                }
+                elements.sort(BY_KEY);
+                sources.add(elements);
+                concatenation.addAll(elements);
+            }
+            List<int[]> expected = new ArrayList<>(concatenation);
+            expected.sort(BY_KEY);
+            assertEquals(expected, toList(SortedMerge.merge(sources, BY_KEY, false)));
+            assertEquals(expected, toList(SortedMerge.mergeBy(sources, e -> e[0], false)));
+
+            List<int[]> firstOfEachKey = new ArrayList<>();
+            for (int[] element : expected) {
+                if (firstOfEachKey.isEmpty() || firstOfEachKey.get(firstOfEachKey.size() - 1)[0] != element[0]) {
+                    firstOfEachKey.add(element);
+                }
+            }
+            assertEquals(firstOfEachKey, toList(SortedMerge.merge(sources, BY_KEY, true)));
+            assertEquals(firstOfEachKey, toList(SortedMerge.mergeBy(sources, e -> e[0], true)));
+        }
+    }
+
+    public void testMergeIsLazyAndRepeatable() {
+        int[] pulled = new int[1];
+        Iterable<Integer> counting = () -> new Iterator<Integer>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                pulled[0]++;
+                return next += 2;
+            }
+        };
+        SortedMerge<Integer, Integer> merge = SortedMerge.merge(Arrays.asList(counting, Arrays.asList(1, 3, 5)), Comparator.naturalOrder(), false);
+        Iterator<Integer> iterator = merge.iterator();
+        assertEquals(Arrays.asList(1, 2, 3, 4), Arrays.asList(iterator.next(), iterator.next(), iterator.next(), iterator.next()));
+        assertEquals(3, pulled[0]);
+        assertEquals(Integer.valueOf(1), merge.iterator().next());
+    }
+
+    public void testExhaustedMerge() {
+        Iterator<Integer> iterator = SortedMerge.merge(Arrays.asList(Collections.<Integer>emptyList(), Collections.singletonList(1)),
+                Comparator.<Integer>naturalOrder(), true).iterator();
+        assertEquals(Integer.valueOf(1), iterator.next());
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+        assertFalse(SortedMerge.merge(Collections.<List<Integer>>emptyList(), Comparator.<Integer>naturalOrder(), false).iterator().hasNext());
+    }
+
+    public void testMergeIsRecognizedAsSorted() {
+        Comparator<Integer> order = Comparator.naturalOrder();
+        SortedMerge<Integer, Integer> merge = SortedMerge.merge(Arrays.asList(Arrays.asList(1, 4), Arrays.asList(2, 3)), order, false);
+        assertSame(order, SetOperations.sortOrder(merge));
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
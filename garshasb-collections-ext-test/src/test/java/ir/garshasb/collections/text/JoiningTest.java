@@ -0,0 +1,84 @@
+package ir.garshasb.collections.text;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+public class JoiningTest extends TestCase {
+
+    public void testLimitPrefixAndPostfix() {
+        List<Object> elements = Arrays.asList("a", new StringBuilder("b"), 'c', 4, null);
+        assertEquals("[a, b, c, 4, null]", Joining.joinToString(elements, ", ", "[", "]", -1, null));
+        assertEquals("[a, b, ...]", Joining.joinToString(elements, ", ", "[", "]", 2, null));
+        assertEquals("[...]", Joining.joinToString(elements, ", ", "[", "]", 0, null));
+        assertEquals("[a, b, c, 4, null]", Joining.joinToString(elements, ", ", "[", "]", 5, null));
+        assertEquals("<>", Joining.joinToString(Collections.emptyList(), ", ", "<", ">", -1, null));
+        assertEquals("1|1|1", Joining.joinToString(elements.subList(0, 3), "|", "", "", -1, e -> "1"));
+    }
+
+    public void testUtf8MatchesStringEncoding() {
+        Random random = new Random(3);
+        char[] alphabet = {'a', 'z', '\u00e9', '\u07ff', '\u0800', '\u06a9', '\uffff', '\ud83d', '\ude00', '\udbff', '\udc00'};
+        for (int round = 0; round < 300; round++) {
+            List<String> elements = new ArrayList<>();
+            int count = random.nextInt(20);
+            for (int i = 0; i < count; i++) {
+                char[] chars = new char[random.nextInt(round % 10 == 0 ? 3000 : 20)];
+                for (int c = 0; c < chars.length; c++) {
+                    chars[c] = alphabet[random.nextInt(alphabet.length)];
+                }
+                elements.add(new String(chars));
+            }
+            byte[] expected = Joining.joinToString(elements, "\u00b7", "<", ">", -1, null).getBytes(StandardCharsets.UTF_8);
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Joining.joinTo(elements, out, "\u00b7", "<", ">", -1, null);
+            assertTrue(Arrays.equals(expected, out.toByteArray()));
+
+            ByteBuffer buffer = ByteBuffer.allocate(expected.length + 3);
+            buffer.position(3);
+            Joining.joinTo(elements, buffer, "\u00b7", "<", ">", -1, null);
+            assertEquals(buffer.capacity(), buffer.position());
+            assertTrue(Arrays.equals(expected, Arrays.copyOfRange(buffer.array(), 3, buffer.capacity())));
+        }
+    }
+
+    public void testByteBufferOverflow() {
+        try {
+            Joining.joinTo(Arrays.asList("abc", "def"), ByteBuffer.allocate(5), ",", "", "", -1, null);
+            fail();
+        } catch (BufferOverflowException expected) {
+        }
+    }
+
+    public void testOutputStreamFailureIsUnchecked() {
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        try {
+            Joining.joinTo(Arrays.asList("a", "b"), failing, ",", "", "", -1, null);
+            fail();
+        } catch (UncheckedIOException expected) {
+            assertEquals("closed", expected.getCause().getMessage());
+        }
+    }
+
+    public void testCapacityIsExactForCharSequences() {
+        List<String> elements = Arrays.asList("scott", "kyle", "carson", "luca");
+        String joined = Joining.joinToString(elements, ", ", "[", "]", -1, null);
+        assertEquals(joined.length(), Joining.estimateCapacity(elements, ", ", "[", "]", -1, false));
+        String limited = Joining.joinToString(elements, ", ", "[", "]", 2, null);
+        assertEquals(limited.length(), Joining.estimateCapacity(elements, ", ", "[", "]", 2, false));
+        assertEquals(Joining.MAX_GUESSED_CAPACITY + 2, Joining.estimateCapacity(Collections.nCopies(1_000_000, 1), "", "[", "]", -1, false));
+    }
+}
@@ -0,0 +1,128 @@
+package ir.garshasb.collections.views;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class ListViewsTest extends TestCase {
+
+    public void testReversedReflectsSource() {
+        for (List<Integer> source : Arrays.<List<Integer>>asList(new ArrayList<>(Arrays.asList(1, 2, 3)), new LinkedList<>(Arrays.asList(1, 2, 3)))) {
+            List<Integer> view = ListViews.reversed(source);
+            assertEquals(Arrays.asList(3, 2, 1), view);
+            assertEquals(source instanceof RandomAccess, view instanceof RandomAccess);
+            source.add(4);
+            assertEquals(Arrays.asList(4, 3, 2, 1), new ArrayList<>(view));
+            assertEquals(Integer.valueOf(1), view.get(3));
+            try {
+                view.get(4);
+                fail();
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                view.add(5);
+                fail();
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+    }
+
+    public void testSlice() {
+        List<Integer> source = Arrays.asList(0, 1, 2, 3, 4, 5);
+        assertEquals(Arrays.asList(2, 3), ListViews.slice(source, 2, 4));
+        try {
+            ListViews.slice(source, 4, 7);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            ListViews.slice(source, 1, 3).set(0, 9);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    public void testSliceReflectsStructuralChanges() {
+        for (List<Integer> source : Arrays.<List<Integer>>asList(new ArrayList<>(Arrays.asList(0, 1, 2, 3)), new LinkedList<>(Arrays.asList(0, 1, 2, 3)))) {
+            List<Integer> view = ListViews.slice(source, 1, 3);
+            Iterable<Integer> clamped = ListViews.slice((Iterable<Integer>) source, 2, 6);
+            assertEquals(source instanceof RandomAccess, view instanceof RandomAccess);
+            source.add(0, -1);
+            assertEquals(Arrays.asList(0, 1), view);
+            source.addAll(Arrays.asList(4, 5));
+            assertEquals(Arrays.asList(1, 2, 3, 4), toList(clamped));
+            source.subList(2, source.size()).clear();
+            assertEquals(Arrays.asList(0), new ArrayList<>(view));
+            assertEquals(Collections.emptyList(), toList(clamped));
+        }
+    }
+
+    public void testStepMatchesIndexFilter() {
+        for (int size = 0; size < 12; size++) {
+            List<Integer> source = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                source.add(i);
+            }
+            for (int step = 1; step < 5; step++) {
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < size; i += step) {
+                    expected.add(i);
+                }
+                assertEquals(expected, ListViews.step(source, step));
+                assertEquals(expected, new ArrayList<>(ListViews.step(new LinkedList<>(source), step)));
+                assertEquals(expected, toList(ListViews.step(nonCollection(source), step)));
+            }
+        }
+        try {
+            ListViews.step(Collections.emptyList(), 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testIterableForms() {
+        List<Integer> source = Arrays.asList(0, 1, 2, 3, 4, 5);
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1, 0), toList(ListViews.reversed(nonCollection(source))));
+        assertEquals(Arrays.asList(5, 4, 3, 2, 1, 0), toList(ListViews.reversed(new ArrayDeque<>(source))));
+        assertEquals(Arrays.asList(2, 3, 4), toList(ListViews.slice(nonCollection(source), 2, 5)));
+        assertEquals(Arrays.asList(4, 5), toList(ListViews.slice(nonCollection(source), 4, 10)));
+        assertEquals(Arrays.asList(4, 5), toList(ListViews.slice((Iterable<Integer>) source, 4, 10)));
+        assertEquals(Collections.emptyList(), toList(ListViews.slice(nonCollection(source), 7, 10)));
+        try {
+            ListViews.slice(nonCollection(source), 3, 2);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testArrays() {
+        assertEquals(Arrays.asList(1, 2, 3), ListViews.ofArray(new int[]{1, 2, 3}));
+        assertEquals(Arrays.asList('c', 'b'), ListViews.reversed(ListViews.ofArray(new char[]{'b', 'c'})));
+        String[] strings = {"a", "b", "c"};
+        List<Object> view = ListViews.ofArray(strings);
+        strings[1] = "x";
+        assertEquals(Arrays.asList("a", "x", "c"), view);
+        try {
+            ListViews.ofArray("not an array");
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static <T> Iterable<T> nonCollection(List<T> list) {
+        return list::iterator;
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        List<T> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
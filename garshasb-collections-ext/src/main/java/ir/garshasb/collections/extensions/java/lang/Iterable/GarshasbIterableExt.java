@@ -1,16 +1,45 @@
 package ir.garshasb.collections.extensions.java.lang.Iterable;
 
 import ir.garshasb.UnitTestRequired;
+import ir.garshasb.collections.immutable.CompactMap;
+import ir.garshasb.collections.immutable.CompactSet;
+import ir.garshasb.collections.immutable.PersistentVector;
+import ir.garshasb.collections.joins.Joins;
+import ir.garshasb.collections.parallel.AsyncIterables;
+import ir.garshasb.collections.parallel.ForkJoinIterables;
+import ir.garshasb.collections.parallel.HashPartitions;
+import ir.garshasb.collections.primitive.*;
+import ir.garshasb.collections.selection.TopK;
+import ir.garshasb.collections.sequence.Sequence;
+import ir.garshasb.collections.sequence.Windows;
+import ir.garshasb.collections.sketch.HyperLogLog;
+import ir.garshasb.collections.sketch.Summary;
+import ir.garshasb.collections.sets.SetOperations;
+import ir.garshasb.collections.sets.SortedIterable;
+import ir.garshasb.collections.sorting.PrimitiveKeySort;
+import ir.garshasb.collections.sorting.SortedMerge;
+import ir.garshasb.collections.text.Joining;
+import ir.garshasb.collections.views.ListViews;
 import ir.garshasb.collections.extensions.java.util.List.GarshasbListCollectionExt;
-import ir.garshasb.collections.extensions.java.util.stream.Stream.GarshasbStreamCollectionsExt;
 import manifold.ext.rt.api.*;
 import manifold.ext.rt.extensions.manifold.rt.api.Array.ManArrayExt;
 import manifold.rt.api.util.Pair;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 import static ir.garshasb.collections.extensions.java.util.Collection.GarshasbCollectionExt.addAll;
 import static ir.garshasb.collections.extensions.java.util.List.GarshasbListCollectionExt.optimizeReadOnlyList;
@@ -21,8 +50,14 @@ public class GarshasbIterableExt {
 
     /**
      * Returns a list containing all elements of the original collection and then all elements of the given [elements] collection.
+     * <p>
+     * If the original collection is a {@link PersistentVector} the result is a new vector sharing its structure,
+     * otherwise the original collection is copied into a new list.
      */
     public static <T> List<T> plus(@This Iterable<T> thiz, Iterable<T> elements) {
+        if (thiz instanceof PersistentVector) {
+            return ((PersistentVector<T>) thiz).plusAll(elements);
+        }
         List<T> result = new ArrayList<T>();
         thiz.forEach(result::add);
         elements.forEach(result::add);
@@ -31,8 +66,14 @@ public class GarshasbIterableExt {
 
     /**
      * Returns a list containing all elements of the original collection and then the given [element].
+     * <p>
+     * If the original collection is a {@link PersistentVector} the result is a new vector sharing its structure,
+     * so that {@code list = list + element} runs in effectively constant time, otherwise the original collection is copied into a new list.
      */
     public static <T> List<T> plus(@This Iterable<T> thiz, T element) {
+        if (thiz instanceof PersistentVector) {
+            return ((PersistentVector<T>) thiz).plus(element);
+        }
         List<T> result = new ArrayList<T>();
         thiz.forEach(result::add);
         result.add(element);
@@ -41,8 +82,14 @@ public class GarshasbIterableExt {
 
     /**
      * Returns a list containing all elements of the original collection and then all elements of the given [elements] array.
+     * <p>
+     * If the original collection is a {@link PersistentVector} the result is a new vector sharing its structure,
+     * otherwise the original collection is copied into a new list.
      */
     public static <T> List<T> plus(@This Iterable<T> thiz, T[] elements) {
+        if (thiz instanceof PersistentVector) {
+            return ((PersistentVector<T>) thiz).plusAll(Arrays.asList(elements));
+        }
         List<T> result = new ArrayList<T>();
         thiz.forEach(result::add);
         result.addAll(Arrays.asList(elements));
@@ -51,23 +98,45 @@ public class GarshasbIterableExt {
 
     /**
      * Returns a list containing all elements of the original collection except the elements contained in the given [elements] array.
+     * <p>
+     * Small arrays are scanned linearly instead of being hashed, see {@link SetOperations#lookup(Object[])}.
+     * <p>
+     * If the original collection is a {@link PersistentVector} the result is a vector too, the same one if nothing was removed.
      */
     public static <T> Iterable<T> minus(@This Iterable<T> thiz, T[] elements) {
+        Collection<T> other = SetOperations.lookup(elements);
+        if (thiz instanceof PersistentVector) {
+            return ((PersistentVector<T>) thiz).minusIf(other::contains);
+        }
         if (elements.isEmpty()) return thiz.toList();
-        Set<T> other = GarshasbStreamCollectionsExt.toSet(Arrays.stream(elements));
         return thiz.filterNotToList(other::contains);
     }
 
     /**
      * Returns a list containing all elements of the original collection except the elements contained in the given [elements] collection.
+     * <p>
+     * Hash based sets are probed as they are and small collections are scanned linearly, anything else is hashed once,
+     * see {@link SetOperations#lookup(Iterable)}.
+     * <p>
+     * If the original collection is a {@link PersistentVector} the result is a vector too, the same one if nothing was removed.
      */
     public static <T> Iterable<T> minus(@This Iterable<T> thiz, Iterable<T> elements) {
-        Set<T> other = elements.toSet();
+        Collection<T> other = SetOperations.lookup(elements);
+        if (thiz instanceof PersistentVector) {
+            return ((PersistentVector<T>) thiz).minusIf(other::contains);
+        }
         if (other.isEmpty())
             return thiz.toList();
         return thiz.filterNotToList(other::contains);
     }
 
+    /**
+     * Returns a {@link PersistentVector} containing all elements, which {@code plus} and {@code minus} then extend without copying.
+     */
+    public static <T> PersistentVector<T> toPersistentVector(@This Iterable<T> thiz) {
+        return PersistentVector.of(thiz);
+    }
+
     /**
      * Returns a [Map] containing key-value pairs provided by [transform] function
      * applied to elements of the given collection.
@@ -85,6 +154,19 @@ public class GarshasbIterableExt {
         return result;
     }
 
+    /**
+     * Returns a [Map] containing the key-value pairs that [transform] puts into the map it is given, for each element
+     * of the given collection, e.g. {@code associate((t, sink) -> sink.put(t.getId(), t.getName()))}.
+     * <p>
+     * Unlike {@link #associate(Iterable, Function)} no {@link Pair} is allocated per element, and an element may
+     * put any number of entries. If any two entries would have the same key the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection.
+     */
+    public static <T, K, V> Map<K, V> associate(@This Iterable<T> thiz, BiConsumer<T, Map<K, V>> transform) {
+        return associateTo(thiz, new LinkedHashMap<K, V>(16), transform);
+    }
+
     /**
      * Returns a [Map] containing the elements from the given collection indexed by the key
      * returned from [keySelector] function applied to each element.
@@ -112,6 +194,89 @@ public class GarshasbIterableExt {
         return result;
     }
 
+    /**
+     * Returns a read-only [Map] containing the elements from the given collection indexed by the key
+     * returned from [keySelector] function applied to each element.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection. It is a {@link CompactMap},
+     * keeping keys and values in one exact size array instead of an entry object per element.
+     */
+    public static <T, K> Map<K, T> associateByReadOnly(@This Iterable<T> thiz, Function<T, K> keySelector) {
+        return CompactMap.associate(thiz, keySelector, Function.identity());
+    }
+
+    /**
+     * Returns a read-only [Map] containing the values provided by [valueTransform] and indexed by [keySelector] functions applied to elements of the given collection.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection. It is a {@link CompactMap},
+     * keeping keys and values in one exact size array instead of an entry object per element.
+     */
+    public static <T, K, V> Map<K, V> associateByReadOnly(@This Iterable<T> thiz, Function<T, K> keySelector, Function<T, V> valueTransform) {
+        return CompactMap.associate(thiz, keySelector, valueTransform);
+    }
+
+    /**
+     * Returns an [IntObjectMap] containing the elements from the given collection indexed by the {@code int} key
+     * returned from [keySelector] function applied to each element.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection. Unlike {@link #associateBy(Iterable, Function)}
+     * it boxes no key and allocates no entry per element.
+     */
+    public static <T> IntObjectMap<T> associateByInt(@This Iterable<T> thiz, ToIntFunction<T> keySelector) {
+        IntObjectMap<T> result = new IntObjectMap<>(collectionSizeOrDefault(thiz, 0));
+        thiz.forEach(t -> result.put(keySelector.applyAsInt(t), t));
+        return result;
+    }
+
+    /**
+     * Returns an [IntObjectMap] containing the values provided by [valueTransform] and indexed by the {@code int} keys
+     * of [keySelector] functions applied to elements of the given collection.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection.
+     */
+    public static <T, V> IntObjectMap<V> associateByInt(@This Iterable<T> thiz, ToIntFunction<T> keySelector, Function<T, V> valueTransform) {
+        IntObjectMap<V> result = new IntObjectMap<>(collectionSizeOrDefault(thiz, 0));
+        thiz.forEach(t -> result.put(keySelector.applyAsInt(t), valueTransform.apply(t)));
+        return result;
+    }
+
+    /**
+     * Returns a [LongObjectMap] containing the elements from the given collection indexed by the {@code long} key
+     * returned from [keySelector] function applied to each element.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection. Unlike {@link #associateBy(Iterable, Function)}
+     * it boxes no key and allocates no entry per element.
+     */
+    public static <T> LongObjectMap<T> associateByLong(@This Iterable<T> thiz, ToLongFunction<T> keySelector) {
+        LongObjectMap<T> result = new LongObjectMap<>(collectionSizeOrDefault(thiz, 0));
+        thiz.forEach(t -> result.put(keySelector.applyAsLong(t), t));
+        return result;
+    }
+
+    /**
+     * Returns a [LongObjectMap] containing the values provided by [valueTransform] and indexed by the {@code long} keys
+     * of [keySelector] functions applied to elements of the given collection.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection.
+     */
+    public static <T, V> LongObjectMap<V> associateByLong(@This Iterable<T> thiz, ToLongFunction<T> keySelector, Function<T, V> valueTransform) {
+        LongObjectMap<V> result = new LongObjectMap<>(collectionSizeOrDefault(thiz, 0));
+        thiz.forEach(t -> result.put(keySelector.applyAsLong(t), valueTransform.apply(t)));
+        return result;
+    }
+
     /**
      * Populates and returns the [destination] mutable map with key-value pairs,
      * where key is provided by the [keySelector] function applied to each element of the given collection
@@ -150,6 +315,18 @@ public class GarshasbIterableExt {
         return destination;
     }
 
+    /**
+     * Populates and returns the [destination] mutable map with the key-value pairs that [transform] puts into it,
+     * for each element of the given collection.
+     * <p>
+     * Unlike {@link #associateTo(Iterable, Map, Function)} no {@link Pair} is allocated per element, and an element may
+     * put any number of entries.
+     */
+    public static <T, K, V, M extends Map<K, V>> M associateTo(@This Iterable<T> thiz, M destination, BiConsumer<T, Map<K, V>> transform) {
+        thiz.forEach(t -> transform.accept(t, destination));
+        return destination;
+    }
+
     /**
      * Returns first element.
      *
@@ -228,6 +405,13 @@ public class GarshasbIterableExt {
      * @throws NoSuchElementException if the collection is empty.
      */
     public static <T> T last(@This Iterable<T> thiz) {
+        if (thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            if (list.isEmpty()) {
+                throw new NoSuchElementException("Collection is empty.");
+            }
+            return list.get(list.size() - 1);
+        }
         Iterator<T> iterator = thiz.iterator();
         if (!iterator.hasNext()) {
             throw new NoSuchElementException("Collection is empty.");
@@ -241,10 +425,22 @@ public class GarshasbIterableExt {
 
     /**
      * Returns the last element matching the given {@code predicate}.
+     * <p>
+     * A list is scanned backwards, stopping at the first match from its end.
      *
      * @throws NoSuchElementException if no such element is found.
      */
     public static <T> T last(@This Iterable<T> thiz, Predicate<T> predicate) {
+        if (thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            for (ListIterator<T> iterator = list.listIterator(list.size()); iterator.hasPrevious(); ) {
+                T element = iterator.previous();
+                if (predicate.test(element)) {
+                    return element;
+                }
+            }
+            throw new NoSuchElementException("Collection contains no element matching the predicate.");
+        }
         T last = null;
         boolean found = false;
         for (T element : thiz) {
@@ -261,8 +457,19 @@ public class GarshasbIterableExt {
 
     /**
      * Returns index of the last element matching the given {@code predicate}, or -1 if the collection does not contain such element.
+     * <p>
+     * A list is scanned backwards, stopping at the first match from its end.
      */
     public static <T> int indexOfLast(@This Iterable<T> thiz, Predicate<T> predicate) {
+        if (thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            for (ListIterator<T> iterator = list.listIterator(list.size()); iterator.hasPrevious(); ) {
+                if (predicate.test(iterator.previous())) {
+                    return iterator.nextIndex();
+                }
+            }
+            return -1;
+        }
         int lastIndex = -1;
         int index = 0;
         for (T item : thiz) {
@@ -295,8 +502,20 @@ public class GarshasbIterableExt {
 
     /**
      * Returns the last element matching the given {@code predicate}, or {@code null} if no such element was found.
+     * <p>
+     * A list is scanned backwards, stopping at the first match from its end.
      */
     public static <T> T lastOrNull(@This Iterable<T> thiz, Predicate<T> predicate) {
+        if (thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            for (ListIterator<T> iterator = list.listIterator(list.size()); iterator.hasPrevious(); ) {
+                T element = iterator.previous();
+                if (predicate.test(element)) {
+                    return element;
+                }
+            }
+            return null;
+        }
         T last = null;
         for (T element : thiz) {
             if (predicate.test(element)) {
@@ -393,11 +612,12 @@ public class GarshasbIterableExt {
      * Appends all elements matching the given {@code predicate} to the given {@code destination}.
      */
     public static <T, C extends Collection<? super T>> C filterTo(@This Iterable<T> thiz, C destination, Predicate<T> predicate) {
-        for (T element : thiz) {
+        // internal iteration: ArrayList, ArrayDeque, the JDK maps' views and others walk their storage directly
+        thiz.forEach(element -> {
             if (predicate.test(element)) {
                 destination.add(element);
             }
-        }
+        });
         return destination;
     }
 
@@ -449,8 +669,11 @@ public class GarshasbIterableExt {
     /**
      * Returns a collection with elements in reversed order.
      * <p/>
+     * The elements are copied, use {@link #reversedView(Iterable)} to reverse without copying.
+     * <p/>
      * Note, this method expires with JDK 21 because it interferes with new methods: {@code SequencedCollection#reversed()}
      * and {@code List#reversed()}.These new methods provide the same functionality, but only for SequencedCollection.
+     * On JDK 21 and later {@code reversed()} thus resolves to those native views.
      */
     @Expires(21)
     public static <T> Collection<T> reversed(@This Iterable<T> thiz) {
@@ -462,6 +685,36 @@ public class GarshasbIterableExt {
         return list;
     }
 
+    /**
+     * Returns a read-only view of thiz collection in reverse order, without copying it.
+     * <p>
+     * Lists are viewed in O(1) and a {@link Deque} is iterated with its descending iterator. Any other iterable can only be
+     * walked forwards, so its elements are buffered each time the view is iterated.
+     */
+    public static <T> Iterable<T> reversedView(@This Iterable<T> thiz) {
+        return ListViews.reversed(thiz);
+    }
+
+    /**
+     * Returns a lazy read-only view of the elements from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive),
+     * or to the end if thiz collection has fewer elements. Nothing is copied, elements before {@code fromIndex} are skipped
+     * on iteration unless thiz is a list.
+     *
+     * @throws IllegalArgumentException if {@code fromIndex} is negative or greater than {@code toIndex}.
+     */
+    public static <T> Iterable<T> sliceView(@This Iterable<T> thiz, int fromIndex, int toIndex) {
+        return ListViews.slice(thiz, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a lazy read-only view of every {@code step}-th element, starting with the first one, without copying.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive.
+     */
+    public static <T> Iterable<T> stepView(@This Iterable<T> thiz, int step) {
+        return ListViews.step(thiz, step);
+    }
+
     /**
      * Returns a {@code List} containing all elements.
      */
@@ -486,6 +739,27 @@ public class GarshasbIterableExt {
         return set;
     }
 
+    /**
+     * Returns a read-only {@code Set} containing all unique elements.
+     * <p>
+     * The returned set preserves the element iteration order of the original collection. It is a {@link CompactSet},
+     * keeping the elements in an exact size array indexed by an open addressing table instead of a node per element.
+     */
+    public static <T> Set<T> toReadOnlySet(@This Iterable<T> thiz) {
+        return CompactSet.copyOf(thiz);
+    }
+
+    /**
+     * Returns a lazy {@link Sequence} over the elements of thiz collection.
+     * <p>
+     * Chained operations on the sequence run in a single pass when a terminal operation is invoked, without building
+     * an intermediate list per step, and stop as soon as the result is known, e.g.
+     * {@code list.asSequence().filter(..).map(..).first()} only evaluates elements up to the first match.
+     */
+    public static <T> Sequence<T> asSequence(@This Iterable<T> thiz) {
+        return Sequence.of(thiz);
+    }
+
     /**
      * Returns a single list of all elements yielded from results of {@code transform} function being invoked on each element of original collection.
      */
@@ -504,6 +778,30 @@ public class GarshasbIterableExt {
         return destination;
     }
 
+    /**
+     * Returns a single list of all elements that {@code transform} passes to its consumer, invoked on each element of
+     * original collection, like {@code Stream.mapMulti}, e.g. {@code flatMap((order, emit) -> order.getLines().forEach(emit))}.
+     * <p>
+     * Unlike {@link #flatMap(Iterable, Function)} no {@link Iterable} is allocated per element.
+     */
+    public static <T, R> List<R> flatMap(@This Iterable<T> thiz, BiConsumer<T, Consumer<R>> transform) {
+        return flatMapTo(thiz, new ArrayList<R>(), transform);
+    }
+
+    /**
+     * Appends all elements that {@code transform} passes to its consumer, invoked on each element of original collection,
+     * to the given {@code destination}.
+     * <p>
+     * Unlike {@link #flatMapTo(Iterable, Collection, Function)} no {@link Iterable} is allocated per element.
+     */
+    public static <T, R, C extends Collection<R>> C flatMapTo(@This Iterable<T> thiz, C destination, BiConsumer<T, Consumer<R>> transform) {
+        Consumer<R> emit = destination::add;
+        for (T element : thiz) {
+            transform.accept(element, emit);
+        }
+        return destination;
+    }
+
     /**
      * Returns a list containing only distinct elements from the given collection.
      * <p>
@@ -532,143 +830,494 @@ public class GarshasbIterableExt {
     }
 
     /**
-     * Returns a set containing all elements that are contained by both thiz set and the specified collection.
+     * Returns a list containing only elements from the given collection
+     * having distinct {@code long} keys returned by the given {@code selector} function.
      * <p>
-     * The returned set preserves the element iteration order of the original collection.
+     * The elements in the resulting list are in the same order as they were in the source collection.
+     * Unlike {@link #distinctBy(Iterable, Function)} the keys are tracked in a [LongSet], without boxing them.
      */
-    public static <T> Set<T> intersect(@This Iterable<T> thiz, Iterable<T> other) {
-        Set<T> set = toSet(thiz);
-        set.retainAll(coerceToUniqueCollection(other));
-        return set;
+    public static <T> List<T> distinctByLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        LongSet set = new LongSet(collectionSizeOrDefault(thiz, 0));
+        ArrayList<T> list = new ArrayList<>();
+        for (T e : thiz) {
+            if (set.add(selector.applyAsLong(e))) {
+                list.add(e);
+            }
+        }
+        return list;
     }
 
     /**
-     * Returns a set containing all elements that are contained by thiz collection and not contained by the specified collection.
+     * Returns an estimate of the number of distinct elements in thiz collection, within about 0.8%,
+     * computed by a {@link HyperLogLog} sketch of the {@link HyperLogLog#DEFAULT_PRECISION default precision}.
      * <p>
-     * The returned set preserves the element iteration order of the original collection.
+     * Unlike counting {@link #distinctList(Iterable)} or {@link #toSet(Iterable)}, memory stays at 16 KB however many distinct elements there are.
      */
-    public static <T> Set<T> subtract(@This Iterable<T> thiz, Iterable<T> other) {
-        Set<T> set = toSet(thiz);
-        set.removeAll(coerceToUniqueCollection(other));
-        return set;
+    public static <T> long approxDistinctCount(@This Iterable<T> thiz) {
+        return approxDistinctCount(thiz, HyperLogLog.DEFAULT_PRECISION);
     }
 
     /**
-     * Returns a set containing all distinct elements from both collections.
-     * <p>
-     * The returned set preserves the element iteration order of the original collection.
-     * Those elements of the {@code other} collection that are unique are iterated in the end
-     * in the order of the {@code other} collection.
+     * Returns an estimate of the number of distinct elements in thiz collection computed by a {@link HyperLogLog} sketch
+     * of {@code 2^precision} one byte registers, with a relative standard error of {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @throws IllegalArgumentException if [precision] is not between {@link HyperLogLog#MIN_PRECISION} and {@link HyperLogLog#MAX_PRECISION}.
      */
-    public static <T> Set<T> union(@This Iterable<T> thiz, Iterable<T> other) {
-        Set<T> set = toSet(thiz);
-        addAll(set, other);
-        return set;
-    }
-
-    private static <T> Collection<T> coerceToUniqueCollection(Iterable<T> source) {
-        if (source instanceof Collection && ((Collection) source).size() <= 1) {
-            return (Collection<T>) source;
-        }
-        HashSet<T> set = new HashSet<>();
-        for (T elem : source) {
-            set.add(elem);
+    public static <T> long approxDistinctCount(@This Iterable<T> thiz, int precision) {
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (T element : thiz) {
+            sketch.add(element);
         }
-        return set;
+        return sketch.estimate();
     }
 
     /**
-     * Returns the number of elements in thiz collection.
+     * Returns an estimate of the number of distinct keys returned by the given [selector] for the elements of thiz collection,
+     * within about 0.8%, computed by a {@link HyperLogLog} sketch of the {@link HyperLogLog#DEFAULT_PRECISION default precision}.
+     * <p>
+     * Memory stays at 16 KB however many distinct keys there are.
      */
-    public static <T> int count(@This Iterable<T> thiz) {
-        if (thiz instanceof Collection) {
-            return ((Collection<T>) thiz).size();
-        }
-
-        int count = 0;
-        for (T element : thiz) {
-            count++;
-        }
-        return count;
+    public static <T, K> long approxDistinctCountBy(@This Iterable<T> thiz, Function<T, K> selector) {
+        return approxDistinctCountBy(thiz, selector, HyperLogLog.DEFAULT_PRECISION);
     }
 
     /**
-     * Returns the number of elements matching the given {@code predicate}.
+     * Returns an estimate of the number of distinct keys returned by the given [selector] for the elements of thiz collection,
+     * computed by a {@link HyperLogLog} sketch of {@code 2^precision} one byte registers,
+     * with a relative standard error of {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @throws IllegalArgumentException if [precision] is not between {@link HyperLogLog#MIN_PRECISION} and {@link HyperLogLog#MAX_PRECISION}.
      */
-    public static <T> int count(@This Iterable<T> thiz, Predicate<T> predicate) {
-        int count = 0;
+    public static <T, K> long approxDistinctCountBy(@This Iterable<T> thiz, Function<T, K> selector, int precision) {
+        HyperLogLog sketch = new HyperLogLog(precision);
         for (T element : thiz) {
-            if (predicate.test(element)) {
-                count++;
-            }
+            sketch.add(selector.apply(element));
         }
-        return count;
+        return sketch.estimate();
     }
 
     /**
-     * Returns the first element having the largest value according to the provided {@code comparator} or {@code null} if there are no elements.
+     * Returns the {@link Summary} of the values returned by the given [selector] for the elements of thiz collection, in a single pass:
+     * the count, minimum, maximum, mean and variance, and the quantiles, like {@link Summary#p99()}, within 1% of the exact ones.
+     * <p>
+     * Percentiles computed this way need neither a sorted copy of the values nor boxing,
+     * memory depends on the spread of the values and not on their count.
+     *
+     * @throws IllegalArgumentException if [selector] returns NaN or an infinite value.
      */
-    public static <T> T maxWith(@This Iterable<T> thiz, Comparator<T> comparator) {
-        Iterator<T> iterator = thiz.iterator();
-        if (!iterator.hasNext()) {
-            return null;
-        }
-        T max = iterator.next();
-        while (iterator.hasNext()) {
-            T e = iterator.next();
-            if (comparator.compare(max, e) < 0) {
-                max = e;
-            }
+    public static <T> Summary summaryOfDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        Summary summary = new Summary();
+        for (T element : thiz) {
+            summary.add(selector.applyAsDouble(element));
         }
-        return max;
+        return summary;
     }
 
     /**
-     * Returns the first element having the smallest value according to the provided {@code comparator} or {@code null} if there are no elements.
+     * Returns the {@link Summary} of the values returned by the given [selector] for the elements of thiz collection, in a single pass:
+     * the count, minimum, maximum, mean and variance, and the quantiles, like {@link Summary#p99()}, within 1% of the exact ones.
+     * <p>
+     * Percentiles of latencies computed this way need neither a sorted copy of the values nor boxing,
+     * memory depends on the spread of the values and not on their count. Values are summarized as doubles, exact up to 2^53.
      */
-    public static <T> T minWith(@This Iterable<T> thiz, Comparator<T> comparator) {
-        Iterator<T> iterator = thiz.iterator();
-        if (!iterator.hasNext()) {
-            return null;
-        }
-        T min = iterator.next();
-        while (iterator.hasNext()) {
-            T e = iterator.next();
-            if (comparator.compare(min, e) > 0) {
-                min = e;
-            }
+    public static <T> Summary summaryOfLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        Summary summary = new Summary();
+        for (T element : thiz) {
+            summary.add(selector.applyAsLong(element));
         }
-        return min;
+        return summary;
     }
 
     /**
-     * Splits the original collection into pair of lists,
-     * where <i>first</i> list contains elements for which {@code predicate} yielded {@code true},
-     * while <i>second</i> list contains elements for which {@code predicate} yielded {@code false}.
+     * Returns a set containing all elements that are contained by both thiz set and the specified collection.
+     * <p>
+     * The returned set preserves the element iteration order of the original collection.
+     * <p>
+     * The strategy depends on the inputs, see {@link SetOperations}: sorted inputs are merged, a small side is scanned
+     * or probed against the large one, otherwise the smaller side is hashed.
      */
-    public static <T> Pair<List<T>, List<T>> partition(@This Iterable<T> thiz, Predicate<T> predicate) {
-        ArrayList<T> first = new ArrayList<T>();
-        ArrayList<T> second = new ArrayList<T>();
-        for (T element : thiz) {
-            if (predicate.test(element)) {
-                first.add(element);
-            } else {
-                second.add(element);
-            }
-        }
-        return new Pair<>(first, second);
-    }
-
-    private static <T> int collectionSizeOrDefault(Iterable<T> thiz, int def) {
-        return thiz instanceof Collection ? ((Collection<T>) thiz).size() : def;
+    public static <T> Set<T> intersect(@This Iterable<T> thiz, Iterable<T> other) {
+        return SetOperations.intersect(thiz, other);
     }
 
     /**
-     * Returns a list containing the results of applying the given {@code transform} function
-     * to each element in the original collection.
+     * Returns a set containing all elements that are contained by thiz collection and not contained by the specified collection.
+     * <p>
+     * The returned set preserves the element iteration order of the original collection.
+     * <p>
+     * The strategy depends on the inputs, see {@link SetOperations}.
      */
-    public static <T, R> List<R> mapToList(@This Iterable<T> thiz, Function<T, R> transform) {
-        return mapTo(thiz, new ArrayList<R>(collectionSizeOrDefault(thiz, 10)), transform);
+    public static <T> Set<T> subtract(@This Iterable<T> thiz, Iterable<T> other) {
+        return SetOperations.subtract(thiz, other);
+    }
+
+    /**
+     * Returns a set containing all distinct elements from both collections.
+     * <p>
+     * The returned set preserves the element iteration order of the original collection.
+     * Those elements of the {@code other} collection that are unique are iterated in the end
+     * in the order of the {@code other} collection.
+     */
+    public static <T> Set<T> union(@This Iterable<T> thiz, Iterable<T> other) {
+        return SetOperations.union(thiz, other);
+    }
+
+    /**
+     * Returns a sorted list of the distinct elements contained by both thiz collection and the {@code other} collection,
+     * where both are sorted by the given {@code comparator}.
+     * <p>
+     * Runs as a single linear merge without hashing. The sort order of the inputs is trusted, not checked.
+     */
+    public static <T> List<T> sortedIntersect(@This Iterable<T> thiz, Iterable<T> other, Comparator<? super T> comparator) {
+        return SetOperations.sortedIntersect(thiz, other, comparator);
+    }
+
+    /**
+     * Returns a sorted list of the distinct elements contained by either thiz collection or the {@code other} collection,
+     * where both are sorted by the given {@code comparator}.
+     * <p>
+     * Runs as a single linear merge without hashing. The sort order of the inputs is trusted, not checked.
+     */
+    public static <T> List<T> sortedUnion(@This Iterable<T> thiz, Iterable<T> other, Comparator<? super T> comparator) {
+        return SetOperations.sortedUnion(thiz, other, comparator);
+    }
+
+    /**
+     * Returns a sorted list of the distinct elements of thiz collection not contained by the {@code other} collection,
+     * where both are sorted by the given {@code comparator}.
+     * <p>
+     * Runs as a single linear merge without hashing. The sort order of the inputs is trusted, not checked.
+     */
+    public static <T> List<T> sortedSubtract(@This Iterable<T> thiz, Iterable<T> other, Comparator<? super T> comparator) {
+        return SetOperations.sortedSubtract(thiz, other, comparator);
+    }
+
+    /**
+     * Returns a view of thiz collection flagged as sorted by the given {@code comparator}, so that {@code intersect} and
+     * {@code subtract} with another input sorted the same way run as a linear merge.
+     * <p>
+     * The order is trusted, not checked. The merge tells elements apart by the {@code comparator}, not {@code equals}.
+     */
+    public static <T> SortedIterable<T> assumeSorted(@This Iterable<T> thiz, Comparator<? super T> comparator) {
+        return SetOperations.assumeSorted(thiz, comparator);
+    }
+
+    /**
+     * Returns a lazy merge of thiz collection and the [others], each sorted by the given {@code comparator},
+     * itself sorted by that {@code comparator}. Equal elements come in the order of their sources, thiz collection first.
+     * <p>
+     * Nothing is copied or re-sorted: iterating keeps one cursor per source in a tournament tree, log2(k) comparisons per element.
+     * The order of the sources is trusted, not checked. To merge a list of sources use {@link SortedMerge#merge(List, Comparator, boolean)}.
+     */
+    @SafeVarargs
+    public static <T> SortedIterable<T> mergeSorted(@This Iterable<T> thiz, Comparator<? super T> comparator, Iterable<T>... others) {
+        return SortedMerge.merge(withOthers(thiz, others), comparator, false);
+    }
+
+    /**
+     * Same as {@link #mergeSorted(Iterable, Comparator, Iterable[])}, keeping only the first of the elements comparing equal.
+     */
+    @SafeVarargs
+    public static <T> SortedIterable<T> mergeSortedDistinct(@This Iterable<T> thiz, Comparator<? super T> comparator, Iterable<T>... others) {
+        return SortedMerge.merge(withOthers(thiz, others), comparator, true);
+    }
+
+    /**
+     * Returns a lazy merge of thiz collection and the [others], each sorted by the natural order of the key
+     * the given [keySelector] returns for the elements, itself sorted by that key.
+     * Equal keys come in the order of their sources, thiz collection first.
+     * <p>
+     * Each key is computed once, iterating keeps one cursor per source in a tournament tree, log2(k) comparisons per element.
+     * The order of the sources is trusted, not checked. To merge a list of sources use {@link SortedMerge#mergeBy(List, Function, boolean)}.
+     */
+    @SafeVarargs
+    public static <T, K extends Comparable<? super K>> SortedIterable<T> mergeSortedBy(@This Iterable<T> thiz, Function<T, K> keySelector, Iterable<T>... others) {
+        return SortedMerge.mergeBy(withOthers(thiz, others), keySelector, false);
+    }
+
+    /**
+     * Same as {@link #mergeSortedBy(Iterable, Function, Iterable[])}, keeping only the first of the elements with equal keys.
+     */
+    @SafeVarargs
+    public static <T, K extends Comparable<? super K>> SortedIterable<T> mergeSortedDistinctBy(@This Iterable<T> thiz, Function<T, K> keySelector, Iterable<T>... others) {
+        return SortedMerge.mergeBy(withOthers(thiz, others), keySelector, true);
+    }
+
+    private static <T> List<Iterable<T>> withOthers(Iterable<T> first, Iterable<T>[] others) {
+        List<Iterable<T>> sources = new ArrayList<>(others.length + 1);
+        sources.add(first);
+        Collections.addAll(sources, others);
+        return sources;
+    }
+
+    /**
+     * Calls [onMatch] with every pair of an element of thiz collection and an element of the [other] collection
+     * whose keys, as returned by [keySelector] and [otherKeySelector], are equal.
+     * <p>
+     * A hash join: the smaller side, when both are collections, is indexed by key and the other one streamed past it,
+     * pairs come in the iteration order of the streamed side. Nothing is allocated per match.
+     * When both sides are already sorted by key, {@link #sortedInnerJoinBy} hashes nothing.
+     */
+    public static <T, U, K> void innerJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector, BiConsumer<T, U> onMatch) {
+        Joins.innerJoin(thiz, other, keySelector, otherKeySelector, onMatch);
+    }
+
+    /**
+     * Calls [onMatch] with every pair of an element of thiz collection and an element of the [other] collection
+     * whose keys, as returned by [keySelector] and [otherKeySelector], are equal,
+     * and with every element of thiz collection matching none paired with {@code null}.
+     * <p>
+     * A hash join: the smaller side, when both are collections, is indexed by key and the other one streamed past it.
+     * Indexing thiz collection, pairs come in the iteration order of [other] followed by the unmatched elements,
+     * otherwise everything comes in the iteration order of thiz collection. Nothing is allocated per match.
+     * When both sides are already sorted by key, {@link #sortedLeftJoinBy} hashes nothing.
+     */
+    public static <T, U, K> void leftJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector, BiConsumer<T, U> onMatch) {
+        Joins.leftJoin(thiz, other, keySelector, otherKeySelector, onMatch);
+    }
+
+    /**
+     * Returns a list of the elements of thiz collection whose key, as returned by [keySelector], is the key of an element
+     * of the [other] collection, as returned by [otherKeySelector], in the iteration order of thiz collection.
+     * <p>
+     * Only the keys of the smaller side, when both are collections, are hashed.
+     */
+    public static <T, U, K> List<T> semiJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector) {
+        return Joins.semiJoin(thiz, other, keySelector, otherKeySelector);
+    }
+
+    /**
+     * Same as {@link #innerJoinBy}, where both thiz collection and the [other] collection are sorted by key in [keyComparator] order.
+     * <p>
+     * Runs as a single linear merge without hashing, pairs come in the iteration order of thiz collection.
+     * The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> void sortedInnerJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector,
+                                                   Comparator<? super K> keyComparator, BiConsumer<T, U> onMatch) {
+        Joins.sortedInnerJoin(thiz, other, keySelector, otherKeySelector, keyComparator, onMatch);
+    }
+
+    /**
+     * Same as {@link #leftJoinBy}, where both thiz collection and the [other] collection are sorted by key in [keyComparator] order.
+     * <p>
+     * Runs as a single linear merge without hashing, everything comes in the iteration order of thiz collection.
+     * The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> void sortedLeftJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector,
+                                                  Comparator<? super K> keyComparator, BiConsumer<T, U> onMatch) {
+        Joins.sortedLeftJoin(thiz, other, keySelector, otherKeySelector, keyComparator, onMatch);
+    }
+
+    /**
+     * Same as {@link #semiJoinBy}, where both thiz collection and the [other] collection are sorted by key in [keyComparator] order.
+     * <p>
+     * Runs as a single linear merge without hashing. The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> List<T> sortedSemiJoinBy(@This Iterable<T> thiz, Iterable<U> other, Function<T, K> keySelector, Function<U, K> otherKeySelector,
+                                                     Comparator<? super K> keyComparator) {
+        return Joins.sortedSemiJoin(thiz, other, keySelector, otherKeySelector, keyComparator);
+    }
+
+    /**
+     * Returns the number of elements in thiz collection.
+     */
+    public static <T> int count(@This Iterable<T> thiz) {
+        if (thiz instanceof Collection) {
+            return ((Collection<T>) thiz).size();
+        }
+
+        int count = 0;
+        for (T element : thiz) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of elements matching the given {@code predicate}.
+     */
+    public static <T> int count(@This Iterable<T> thiz, Predicate<T> predicate) {
+        int count = 0;
+        if (thiz instanceof RandomAccess && thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            for (int i = 0, size = list.size(); i < size; i++) {
+                if (predicate.test(list.get(i))) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        for (T element : thiz) {
+            if (predicate.test(element)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first element having the largest value according to the provided {@code comparator} or {@code null} if there are no elements.
+     */
+    public static <T> T maxWith(@This Iterable<T> thiz, Comparator<T> comparator) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        T max = iterator.next();
+        while (iterator.hasNext()) {
+            T e = iterator.next();
+            if (comparator.compare(max, e) < 0) {
+                max = e;
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the first element having the smallest value according to the provided {@code comparator} or {@code null} if there are no elements.
+     */
+    public static <T> T minWith(@This Iterable<T> thiz, Comparator<T> comparator) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        T min = iterator.next();
+        while (iterator.hasNext()) {
+            T e = iterator.next();
+            if (comparator.compare(min, e) > 0) {
+                min = e;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Returns the [k] largest elements according to the provided {@code comparator}, largest first, equal elements in iteration order.
+     * <p>
+     * Does not sort the whole collection: a bounded heap keeps O(k) elements, a large enough share of a {@code RandomAccess} list is quickselected.
+     *
+     * @throws IllegalArgumentException if [k] is negative.
+     */
+    public static <T> List<T> maxN(@This Iterable<T> thiz, int k, Comparator<T> comparator) {
+        return TopK.largest(thiz, k, comparator);
+    }
+
+    /**
+     * Returns the [k] smallest elements according to the provided {@code comparator}, smallest first, equal elements in iteration order.
+     * <p>
+     * Does not sort the whole collection: a bounded heap keeps O(k) elements, a large enough share of a {@code RandomAccess} list is quickselected.
+     *
+     * @throws IllegalArgumentException if [k] is negative.
+     */
+    public static <T> List<T> minN(@This Iterable<T> thiz, int k, Comparator<T> comparator) {
+        return TopK.smallest(thiz, k, comparator);
+    }
+
+    /**
+     * Returns the first [k] elements of this collection sorted stably according to the provided {@code comparator},
+     * without sorting the rest of it.
+     *
+     * @throws IllegalArgumentException if [k] is negative.
+     */
+    public static <T> List<T> sortedTake(@This Iterable<T> thiz, int k, Comparator<T> comparator) {
+        return TopK.smallest(thiz, k, comparator);
+    }
+
+    /**
+     * Returns a list of all elements sorted by the {@code int} key the given [selector] returns for them,
+     * equal keys in iteration order.
+     * <p>
+     * Each key is computed once and sorted as a primitive, with no comparator and no boxing.
+     */
+    public static <T> List<T> sortedByInt(@This Iterable<T> thiz, ToIntFunction<T> selector) {
+        return PrimitiveKeySort.sortedByInt(thiz, selector, false);
+    }
+
+    /**
+     * Returns a list of all elements sorted by the {@code long} key the given [selector] returns for them,
+     * equal keys in iteration order.
+     * <p>
+     * Each key is computed once and sorted as a primitive, with no comparator and no boxing.
+     */
+    public static <T> List<T> sortedByLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        return PrimitiveKeySort.sortedByLong(thiz, selector, false);
+    }
+
+    /**
+     * Returns a list of all elements sorted by the {@code double} key the given [selector] returns for them,
+     * in the order of {@link Double#compare(double, double)}, equal keys in iteration order.
+     * <p>
+     * Each key is computed once and sorted as a primitive, with no comparator and no boxing.
+     */
+    public static <T> List<T> sortedByDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        return PrimitiveKeySort.sortedByDouble(thiz, selector, false);
+    }
+
+    /**
+     * Same as {@link #sortedByInt(Iterable, ToIntFunction)}, with the keys sorted in parallel on the common {@link ForkJoinPool}.
+     * The keys are still computed sequentially.
+     */
+    public static <T> List<T> parallelSortedByInt(@This Iterable<T> thiz, ToIntFunction<T> selector) {
+        return PrimitiveKeySort.sortedByInt(thiz, selector, true);
+    }
+
+    /**
+     * Same as {@link #sortedByLong(Iterable, ToLongFunction)}, with the keys sorted in parallel on the common {@link ForkJoinPool}.
+     * The keys are still computed sequentially.
+     */
+    public static <T> List<T> parallelSortedByLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        return PrimitiveKeySort.sortedByLong(thiz, selector, true);
+    }
+
+    /**
+     * Same as {@link #sortedByDouble(Iterable, ToDoubleFunction)}, with the keys sorted in parallel on the common {@link ForkJoinPool}.
+     * The keys are still computed sequentially.
+     */
+    public static <T> List<T> parallelSortedByDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        return PrimitiveKeySort.sortedByDouble(thiz, selector, true);
+    }
+
+    /**
+     * Splits the original collection into [n] lists by the hash of the key the given [keySelector] returns for each element:
+     * all elements with equal keys are in the same list, the one at {@link HashPartitions#shardOf(Object, int)} of the key,
+     * in iteration order.
+     * <p>
+     * Keys are computed once, and every list is allocated with its final size.
+     *
+     * @throws IllegalArgumentException if [n] is not positive.
+     */
+    public static <T, K> List<List<T>> partitionByHash(@This Iterable<T> thiz, int n, Function<T, K> keySelector) {
+        return HashPartitions.partition(thiz, n, keySelector);
+    }
+
+    /**
+     * Splits the original collection into pair of lists,
+     * where <i>first</i> list contains elements for which {@code predicate} yielded {@code true},
+     * while <i>second</i> list contains elements for which {@code predicate} yielded {@code false}.
+     */
+    public static <T> Pair<List<T>, List<T>> partition(@This Iterable<T> thiz, Predicate<T> predicate) {
+        ArrayList<T> first = new ArrayList<T>();
+        ArrayList<T> second = new ArrayList<T>();
+        for (T element : thiz) {
+            if (predicate.test(element)) {
+                first.add(element);
+            } else {
+                second.add(element);
+            }
+        }
+        return new Pair<>(first, second);
+    }
+
+    private static <T> int collectionSizeOrDefault(Iterable<T> thiz, int def) {
+        return thiz instanceof Collection ? ((Collection<T>) thiz).size() : def;
+    }
+
+    /**
+     * Returns a list containing the results of applying the given {@code transform} function
+     * to each element in the original collection.
+     */
+    public static <T, R> List<R> mapToList(@This Iterable<T> thiz, Function<T, R> transform) {
+        return mapTo(thiz, new ArrayList<R>(collectionSizeOrDefault(thiz, 10)), transform);
     }
 
     /**
@@ -791,9 +1440,10 @@ public class GarshasbIterableExt {
      * and appends the results to the given {@code destination}.
      */
     public static <T, R, C extends Collection<? super R>> C mapTo(@This Iterable<T> thiz, C destination, Function<T, R> transform) {
-        for (T item : thiz) {
-            destination.add(transform.apply(item));
+        if (destination instanceof ArrayList && thiz instanceof Collection) {
+            ((ArrayList<?>) destination).ensureCapacity(destination.size() + ((Collection<T>) thiz).size());
         }
+        thiz.forEach(item -> destination.add(transform.apply(item)));
         return destination;
     }
 
@@ -828,50 +1478,592 @@ public class GarshasbIterableExt {
     }
 
     /**
-     * Performs the given {@code action} on each element, providing sequential index with the element.
+     * Splits thiz collection into a list of lists each not exceeding the given {@code size}.
+     * <p>
+     * The last list may have fewer elements than the given size.
      *
-     * @param action function that takes the index of an element and the element itself
-     *               and performs the desired action on the element.
+     * @throws IllegalArgumentException if {@code size} is not positive.
      */
-    public static <T> void forEachIndexed(@This Iterable<T> thiz, IndexedConsumer<T> action) {
-        int index = 0;
-        for (T item : thiz) {
-            action.accept(index++, item);
-        }
+    public static <T> List<List<T>> chunked(@This Iterable<T> thiz, int size) {
+        return windowed(thiz, size, size, true);
     }
 
     /**
-     * Join the elements together in a String separated by {@code separator}.
+     * Splits thiz collection into chunks each not exceeding the given {@code size} and performs the given {@code consumer} on each chunk.
+     * <p>
+     * The chunk list is recycled: the same read-only list instance is passed on every call and refilled in place,
+     * so only the elements of one chunk are held at a time and no list is allocated per chunk.
+     * It is only valid for the duration of the call, copy it to keep its contents.
+     *
+     * @throws IllegalArgumentException if {@code size} is not positive.
      */
-    public static <T> String joinToString(@This Iterable<T> thiz, CharSequence separator) {
-        return joinTo(thiz, new StringBuilder(), separator).toString();
+    public static <T> void chunked(@This Iterable<T> thiz, int size, Consumer<List<T>> consumer) {
+        Windows.forEachWindow(thiz.iterator(), size, size, true, consumer);
     }
 
     /**
-     * Append the elements to {@code buffer} separated by {@code separator}.
+     * Returns a list of snapshots of the window of the given {@code size} sliding along thiz collection with the given {@code step},
+     * where each snapshot is a list.
+     * <p>
+     * Several last lists may have fewer elements than the given size, they are only kept if {@code partialWindows} is {@code true}.
+     *
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not positive.
      */
-    public static <T, A extends Appendable> A joinTo(@This Iterable<T> thiz, A buffer, CharSequence separator) {
-        int count = 0;
-        try {
-            for (T e : thiz) {
-                if (count++ > 0) {
-                    buffer.append(separator);
+    public static <T> List<List<T>> windowed(@This Iterable<T> thiz, int size, int step, boolean partialWindows) {
+        Windows.checkWindowSizeStep(size, step);
+        if (thiz instanceof List && thiz instanceof RandomAccess) {
+            List<T> list = (List<T>) thiz;
+            int listSize = list.size();
+            List<List<T>> result = new ArrayList<>(listSize / step + 1);
+            int index = 0;
+            while (index < listSize) {
+                int windowSize = Math.min(size, listSize - index);
+                if (windowSize < size && !partialWindows) {
+                    break;
                 }
-                buffer.append(e.toString());
+                result.add(new ArrayList<>(list.subList(index, index + windowSize)));
+                index = step > listSize - index ? listSize : index + step;
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            return result;
         }
-        return buffer;
+        List<List<T>> result = new ArrayList<>();
+        Windows.windowed(thiz.iterator(), size, step, partialWindows).forEachRemaining(result::add);
+        return result;
     }
 
     /**
-     * Accumulates value starting with {@code demo} value and applying {@code operation} from left to right to current accumulator value and each element.
+     * Performs the given {@code consumer} on each window of the given {@code size} sliding along thiz collection with the given {@code step}.
      * <p>
-     * The operation is <i>terminal</i>.
+     * The window list is recycled: the same read-only list instance is passed on every call and updated in place,
+     * so no list is allocated per window. It is only valid for the duration of the call, copy it to keep its contents.
+     *
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not positive.
      */
-    public static <T, R> R fold(@This Iterable<T> thiz, R initial, BiFunction<R, T, R> operation) {
-        R accumulator = initial;
+    public static <T> void windowed(@This Iterable<T> thiz, int size, int step, boolean partialWindows, Consumer<List<T>> consumer) {
+        Windows.forEachWindow(thiz.iterator(), size, step, partialWindows, consumer);
+    }
+
+    /**
+     * Performs the given {@code action} on each element, providing sequential index with the element.
+     *
+     * @param action function that takes the index of an element and the element itself
+     *               and performs the desired action on the element.
+     */
+    public static <T> void forEachIndexed(@This Iterable<T> thiz, IndexedConsumer<T> action) {
+        int index = 0;
+        for (T item : thiz) {
+            action.accept(index++, item);
+        }
+    }
+
+    /**
+     * Join the elements together in a String separated by {@code separator}.
+     * <p>
+     * The builder is sized up front, exactly when the elements of a {@code RandomAccess} list are {@code CharSequence}s.
+     */
+    public static <T> String joinToString(@This Iterable<T> thiz, CharSequence separator) {
+        return Joining.joinToString(thiz, separator, "", "", -1, null);
+    }
+
+    /**
+     * Join the elements together in a String separated by {@code separator}, enclosed in {@code prefix} and {@code postfix}.
+     * <p>
+     * If [limit] is non-negative only the first [limit] elements are joined, followed by {@code "..."}.
+     *
+     * @param transform maps each element to the characters to append, or {@code null} to append a {@code CharSequence} as is
+     *                  and anything else through {@code toString()}.
+     */
+    public static <T> String joinToString(@This Iterable<T> thiz, CharSequence separator, CharSequence prefix, CharSequence postfix,
+                                          int limit, Function<T, CharSequence> transform) {
+        return Joining.joinToString(thiz, separator, prefix, postfix, limit, transform);
+    }
+
+    /**
+     * Append the elements to {@code buffer} separated by {@code separator}.
+     */
+    public static <T, A extends Appendable> A joinTo(@This Iterable<T> thiz, A buffer, CharSequence separator) {
+        return Joining.joinTo(thiz, buffer, separator, "", "", -1, null);
+    }
+
+    /**
+     * Append the elements to {@code buffer} separated by {@code separator}, enclosed in {@code prefix} and {@code postfix}.
+     * <p>
+     * A {@code Writer} passed as [buffer] receives the elements one by one, the joined text is never built in memory.
+     * If [limit] is non-negative only the first [limit] elements are appended, followed by {@code "..."}.
+     *
+     * @param transform maps each element to the characters to append, or {@code null} to append a {@code CharSequence} as is
+     *                  and anything else through {@code toString()}.
+     * @throws java.io.UncheckedIOException if [buffer] throws an {@code IOException}.
+     */
+    public static <T, A extends Appendable> A joinTo(@This Iterable<T> thiz, A buffer, CharSequence separator, CharSequence prefix,
+                                                    CharSequence postfix, int limit, Function<T, CharSequence> transform) {
+        return Joining.joinTo(thiz, buffer, separator, prefix, postfix, limit, transform);
+    }
+
+    /**
+     * Writes the elements to [out] as UTF-8, separated by {@code separator} and enclosed in {@code prefix} and {@code postfix}.
+     * <p>
+     * The text is encoded through one small reused chunk, it is never built in memory. [out] is neither flushed nor closed.
+     * If [limit] is non-negative only the first [limit] elements are written, followed by {@code "..."}.
+     *
+     * @param transform maps each element to the characters to write, or {@code null} to write a {@code CharSequence} as is
+     *                  and anything else through {@code toString()}.
+     * @throws java.io.UncheckedIOException if [out] throws an {@code IOException}.
+     */
+    public static <T> OutputStream joinTo(@This Iterable<T> thiz, OutputStream out, CharSequence separator, CharSequence prefix,
+                                          CharSequence postfix, int limit, Function<T, CharSequence> transform) {
+        return Joining.joinTo(thiz, out, separator, prefix, postfix, limit, transform);
+    }
+
+    /**
+     * Puts the elements into [buffer] as UTF-8 from its position on, separated by {@code separator} and enclosed in {@code prefix} and {@code postfix}.
+     * <p>
+     * If [limit] is non-negative only the first [limit] elements are put, followed by {@code "..."}.
+     *
+     * @param transform maps each element to the characters to put, or {@code null} to put a {@code CharSequence} as is
+     *                  and anything else through {@code toString()}.
+     * @throws java.nio.BufferOverflowException if the text does not fit in the remaining bytes of [buffer].
+     */
+    public static <T> ByteBuffer joinTo(@This Iterable<T> thiz, ByteBuffer buffer, CharSequence separator, CharSequence prefix,
+                                        CharSequence postfix, int limit, Function<T, CharSequence> transform) {
+        return Joining.joinTo(thiz, buffer, separator, prefix, postfix, limit, transform);
+    }
+
+    /**
+     * Accumulates value starting with {@code demo} value and applying {@code operation} from left to right to current accumulator value and each element.
+     * <p>
+     * The operation is <i>terminal</i>.
+     */
+    public static <T, R> R fold(@This Iterable<T> thiz, R initial, BiFunction<R, T, R> operation) {
+        R accumulator = initial;
+        if (thiz instanceof RandomAccess && thiz instanceof List) {
+            List<T> list = (List<T>) thiz;
+            for (int i = 0, size = list.size(); i < size; i++) {
+                accumulator = operation.apply(accumulator, list.get(i));
+            }
+            return accumulator;
+        }
+        for (T element : thiz) {
+            accumulator = operation.apply(accumulator, element);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Returns a list containing the results of applying the given {@code transform} function
+     * to each element in the original collection, evaluated in parallel on the common {@link ForkJoinPool}.
+     * <p>
+     * The result is a new {@code ArrayList} in the order of the original collection, like the one of {@link #mapToList}.
+     * {@code transform} must be safe to call concurrently.
+     */
+    public static <T, R> List<R> parallelMapToList(@This Iterable<T> thiz, Function<T, R> transform) {
+        return parallelMapToList(thiz, transform, ForkJoinPool.commonPool(), ForkJoinIterables.AUTO_THRESHOLD);
+    }
+
+    /**
+     * Returns a list containing the results of applying the given {@code transform} function
+     * to each element in the original collection, evaluated in parallel on the given {@code pool}.
+     * <p>
+     * The result is a new {@code ArrayList} in the order of the original collection, like the one of {@link #mapToList}.
+     * {@code transform} must be safe to call concurrently.
+     *
+     * @param sequentialThreshold maximum number of elements transformed by a single task,
+     *                            or {@link ForkJoinIterables#AUTO_THRESHOLD} to derive it from the size and the pool parallelism.
+     */
+    public static <T, R> List<R> parallelMapToList(@This Iterable<T> thiz, Function<T, R> transform, ForkJoinPool pool, int sequentialThreshold) {
+        return ForkJoinIterables.map(thiz, transform, pool, sequentialThreshold);
+    }
+
+    /**
+     * Returns a list containing all elements matching the given {@code predicate}, evaluated in parallel on the common {@link ForkJoinPool}.
+     * <p>
+     * The result keeps the order of the original collection. {@code predicate} must be safe to call concurrently.
+     */
+    public static <T> List<T> parallelFilterToList(@This Iterable<T> thiz, Predicate<T> predicate) {
+        return parallelFilterToList(thiz, predicate, ForkJoinPool.commonPool(), ForkJoinIterables.AUTO_THRESHOLD);
+    }
+
+    /**
+     * Returns a list containing all elements matching the given {@code predicate}, evaluated in parallel on the given {@code pool}.
+     * <p>
+     * The result keeps the order of the original collection. {@code predicate} must be safe to call concurrently.
+     *
+     * @param sequentialThreshold maximum number of elements tested by a single task,
+     *                            or {@link ForkJoinIterables#AUTO_THRESHOLD} to derive it from the size and the pool parallelism.
+     */
+    public static <T> List<T> parallelFilterToList(@This Iterable<T> thiz, Predicate<T> predicate, ForkJoinPool pool, int sequentialThreshold) {
+        return ForkJoinIterables.reduce(thiz, ArrayList<T>::new, (list, element) -> {
+            if (predicate.test(element)) {
+                list.add(element);
+            }
+            return list;
+        }, ForkJoinIterables::concat, pool, sequentialThreshold);
+    }
+
+    /**
+     * Returns a [Map] containing the elements from the given collection indexed by the key
+     * returned from [keySelector] function applied to each element, evaluated in parallel on the common {@link ForkJoinPool}.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection.
+     */
+    public static <T, K> Map<K, T> parallelAssociateBy(@This Iterable<T> thiz, Function<T, K> keySelector) {
+        return parallelAssociateBy(thiz, keySelector, ForkJoinPool.commonPool(), ForkJoinIterables.AUTO_THRESHOLD);
+    }
+
+    /**
+     * Returns a [Map] containing the elements from the given collection indexed by the key
+     * returned from [keySelector] function applied to each element, evaluated in parallel on the given {@code pool}.
+     * <p>
+     * If any two elements would have the same key returned by [keySelector] the last one gets added to the map.
+     * <p>
+     * The returned map preserves the entry iteration order of the original collection.
+     *
+     * @param sequentialThreshold maximum number of elements indexed by a single task,
+     *                            or {@link ForkJoinIterables#AUTO_THRESHOLD} to derive it from the size and the pool parallelism.
+     */
+    public static <T, K> Map<K, T> parallelAssociateBy(@This Iterable<T> thiz, Function<T, K> keySelector, ForkJoinPool pool, int sequentialThreshold) {
+        return ForkJoinIterables.<T, LinkedHashMap<K, T>>reduce(thiz, LinkedHashMap::new, (map, element) -> {
+            map.put(keySelector.apply(element), element);
+            return map;
+        }, (left, right) -> {
+            left.putAll(right);
+            return left;
+        }, pool, sequentialThreshold);
+    }
+
+    /**
+     * Accumulates value in parallel on the common {@link ForkJoinPool}: each range of elements is folded from {@code identity}
+     * with {@code operation}, and the partial results are merged with {@code combiner} in the order of the original collection.
+     * <p>
+     * {@code identity} must be an identity for {@code combiner}, and {@code combiner} must be associative.
+     */
+    public static <T, R> R parallelFold(@This Iterable<T> thiz, R identity, BiFunction<R, T, R> operation, BinaryOperator<R> combiner) {
+        return parallelFold(thiz, identity, operation, combiner, ForkJoinPool.commonPool(), ForkJoinIterables.AUTO_THRESHOLD);
+    }
+
+    /**
+     * Accumulates value in parallel on the given {@code pool}: each range of elements is folded from {@code identity}
+     * with {@code operation}, and the partial results are merged with {@code combiner} in the order of the original collection.
+     * <p>
+     * {@code identity} must be an identity for {@code combiner}, and {@code combiner} must be associative.
+     *
+     * @param sequentialThreshold maximum number of elements folded by a single task,
+     *                            or {@link ForkJoinIterables#AUTO_THRESHOLD} to derive it from the size and the pool parallelism.
+     */
+    public static <T, R> R parallelFold(@This Iterable<T> thiz, R identity, BiFunction<R, T, R> operation, BinaryOperator<R> combiner, ForkJoinPool pool, int sequentialThreshold) {
+        return ForkJoinIterables.reduce(thiz, () -> identity, operation, combiner, pool, sequentialThreshold);
+    }
+
+    /**
+     * Splits the original collection into [n] shards like {@link #partitionByHash(Iterable, int, Function)} and performs
+     * the given [action] on the elements of every shard in a task of its own on the common {@link ForkJoinPool}, returning once all are done.
+     * <p>
+     * Every key is handled by a single task, in iteration order, so state kept per key or per shard needs no locking.
+     * Different shards run concurrently, [action] must be safe to call concurrently for them.
+     *
+     * @throws IllegalArgumentException if [n] is not positive.
+     */
+    public static <T, K> void shardedForEach(@This Iterable<T> thiz, int n, Function<T, K> keySelector, Consumer<T> action) {
+        shardedForEach(thiz, n, keySelector, action, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #shardedForEach(Iterable, int, Function, Consumer)}, running the shards on the given {@code pool}.
+     */
+    public static <T, K> void shardedForEach(@This Iterable<T> thiz, int n, Function<T, K> keySelector, Consumer<T> action, ForkJoinPool pool) {
+        HashPartitions.forEach(thiz, n, keySelector, action, pool);
+    }
+
+    /**
+     * Asynchronously applies the given {@code transform} function to each element in the original collection,
+     * with no more than {@code maxConcurrency} invocations in flight at any time.
+     * <p>
+     * Runs on virtual threads when the JVM provides them, otherwise on a shared pool of platform threads,
+     * see {@link AsyncIterables#defaultExecutor()}. Meant for blocking transforms, use {@link #parallelMapToList} for CPU bound ones.
+     *
+     * @return a future of a new {@code ArrayList} of the results, in the order of the original collection. It fails with the first exception
+     * thrown by {@code transform}, after which no further elements are started.
+     */
+    public static <T, R> CompletableFuture<List<R>> mapAsync(@This Iterable<T> thiz, Function<T, R> transform, int maxConcurrency) {
+        return AsyncIterables.map(thiz, transform, maxConcurrency, AsyncIterables.defaultExecutor());
+    }
+
+    /**
+     * Asynchronously applies the given {@code transform} function to each element in the original collection on the given {@code executor},
+     * with no more than {@code maxConcurrency} invocations in flight at any time.
+     *
+     * @return a future of a new {@code ArrayList} of the results, in the order of the original collection. It fails with the first exception
+     * thrown by {@code transform}, after which no further elements are started.
+     */
+    public static <T, R> CompletableFuture<List<R>> mapAsync(@This Iterable<T> thiz, Function<T, R> transform, int maxConcurrency, Executor executor) {
+        return AsyncIterables.map(thiz, transform, maxConcurrency, executor);
+    }
+
+    /**
+     * Asynchronously performs the given {@code action} on each element, with no more than {@code maxConcurrency} invocations in flight at any time.
+     * <p>
+     * Runs on virtual threads when the JVM provides them, otherwise on a shared pool of platform threads,
+     * see {@link AsyncIterables#defaultExecutor()}.
+     *
+     * @return a future completed once {@code action} has been performed on every element, or failed with the first exception it threw.
+     */
+    public static <T> CompletableFuture<Void> forEachAsync(@This Iterable<T> thiz, Consumer<T> action, int maxConcurrency) {
+        return AsyncIterables.forEach(thiz, action, maxConcurrency, AsyncIterables.defaultExecutor());
+    }
+
+    /**
+     * Asynchronously performs the given {@code action} on each element on the given {@code executor},
+     * with no more than {@code maxConcurrency} invocations in flight at any time.
+     *
+     * @return a future completed once {@code action} has been performed on every element, or failed with the first exception it threw.
+     */
+    public static <T> CompletableFuture<Void> forEachAsync(@This Iterable<T> thiz, Consumer<T> action, int maxConcurrency, Executor executor) {
+        return AsyncIterables.forEach(thiz, action, maxConcurrency, executor);
+    }
+
+    /**
+     * Returns an array containing the results of applying the given {@code transform} function
+     * to each element in the original collection, without boxing them.
+     */
+    public static <T> int[] mapToIntArray(@This Iterable<T> thiz, ToIntFunction<T> transform) {
+        if (thiz instanceof Collection) {
+            int[] result = new int[((Collection<T>) thiz).size()];
+            int index = 0;
+            for (T element : thiz) {
+                result[index++] = transform.applyAsInt(element);
+            }
+            return result;
+        }
+        IntList result = new IntList();
+        for (T element : thiz) {
+            result.add(transform.applyAsInt(element));
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Returns an array containing the results of applying the given {@code transform} function
+     * to each element in the original collection, without boxing them.
+     */
+    public static <T> long[] mapToLongArray(@This Iterable<T> thiz, ToLongFunction<T> transform) {
+        if (thiz instanceof Collection) {
+            long[] result = new long[((Collection<T>) thiz).size()];
+            int index = 0;
+            for (T element : thiz) {
+                result[index++] = transform.applyAsLong(element);
+            }
+            return result;
+        }
+        LongList result = new LongList();
+        for (T element : thiz) {
+            result.add(transform.applyAsLong(element));
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Returns an array containing the results of applying the given {@code transform} function
+     * to each element in the original collection, without boxing them.
+     */
+    public static <T> double[] mapToDoubleArray(@This Iterable<T> thiz, ToDoubleFunction<T> transform) {
+        if (thiz instanceof Collection) {
+            double[] result = new double[((Collection<T>) thiz).size()];
+            int index = 0;
+            for (T element : thiz) {
+                result[index++] = transform.applyAsDouble(element);
+            }
+            return result;
+        }
+        DoubleList result = new DoubleList();
+        for (T element : thiz) {
+            result.add(transform.applyAsDouble(element));
+        }
+        return result.toArray();
+    }
+
+    /**
+     * Returns the sum of all values produced by {@code selector} function applied to each element in the collection.
+     * <p>
+     * Like {@link java.util.stream.IntStream#sum()}, the result silently overflows, use {@link #sumOfLong} for large totals.
+     */
+    public static <T> int sumOfInt(@This Iterable<T> thiz, ToIntFunction<T> selector) {
+        int sum = 0;
+        for (T element : thiz) {
+            sum += selector.applyAsInt(element);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of all values produced by {@code selector} function applied to each element in the collection.
+     */
+    public static <T> long sumOfLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        long sum = 0;
+        for (T element : thiz) {
+            sum += selector.applyAsLong(element);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of all values produced by {@code selector} function applied to each element in the collection.
+     * <p>
+     * Uses compensated (Kahan) summation, as {@link java.util.stream.DoubleStream#sum()} does, infinite values included.
+     */
+    public static <T> double sumOfDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        double sum = 0;
+        double compensation = 0;
+        double simpleSum = 0;
+        for (T element : thiz) {
+            double value = selector.applyAsDouble(element);
+            simpleSum += value;
+            double y = value - compensation;
+            double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+        }
+        // an infinite value turns the compensation into Inf - Inf, the plain sum keeps the infinity
+        if (Double.isNaN(sum) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the largest value among all values produced by {@code selector} function applied to each element in the collection.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> int maxOfInt(@This Iterable<T> thiz, ToIntFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        int max = selector.applyAsInt(iterator.next());
+        while (iterator.hasNext()) {
+            max = Math.max(max, selector.applyAsInt(iterator.next()));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the smallest value among all values produced by {@code selector} function applied to each element in the collection.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> int minOfInt(@This Iterable<T> thiz, ToIntFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        int min = selector.applyAsInt(iterator.next());
+        while (iterator.hasNext()) {
+            min = Math.min(min, selector.applyAsInt(iterator.next()));
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value among all values produced by {@code selector} function applied to each element in the collection.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> long maxOfLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        long max = selector.applyAsLong(iterator.next());
+        while (iterator.hasNext()) {
+            max = Math.max(max, selector.applyAsLong(iterator.next()));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the smallest value among all values produced by {@code selector} function applied to each element in the collection.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> long minOfLong(@This Iterable<T> thiz, ToLongFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        long min = selector.applyAsLong(iterator.next());
+        while (iterator.hasNext()) {
+            min = Math.min(min, selector.applyAsLong(iterator.next()));
+        }
+        return min;
+    }
+
+    /**
+     * Returns the largest value among all values produced by {@code selector} function applied to each element in the collection.
+     * <p>
+     * If any of the values is {@code NaN} the result is {@code NaN}.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> double maxOfDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        double max = selector.applyAsDouble(iterator.next());
+        while (iterator.hasNext()) {
+            max = Math.max(max, selector.applyAsDouble(iterator.next()));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the smallest value among all values produced by {@code selector} function applied to each element in the collection.
+     * <p>
+     * If any of the values is {@code NaN} the result is {@code NaN}.
+     *
+     * @throws NoSuchElementException if the collection is empty.
+     */
+    public static <T> double minOfDouble(@This Iterable<T> thiz, ToDoubleFunction<T> selector) {
+        Iterator<T> iterator = thiz.iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Collection is empty.");
+        }
+        double min = selector.applyAsDouble(iterator.next());
+        while (iterator.hasNext()) {
+            min = Math.min(min, selector.applyAsDouble(iterator.next()));
+        }
+        return min;
+    }
+
+    /**
+     * {@link #fold} with an unboxed {@code int} accumulator.
+     */
+    public static <T> int foldInt(@This Iterable<T> thiz, int initial, IntFoldOperation<T> operation) {
+        int accumulator = initial;
+        for (T element : thiz) {
+            accumulator = operation.apply(accumulator, element);
+        }
+        return accumulator;
+    }
+
+    /**
+     * {@link #fold} with an unboxed {@code long} accumulator.
+     */
+    public static <T> long foldLong(@This Iterable<T> thiz, long initial, LongFoldOperation<T> operation) {
+        long accumulator = initial;
+        for (T element : thiz) {
+            accumulator = operation.apply(accumulator, element);
+        }
+        return accumulator;
+    }
+
+    /**
+     * {@link #fold} with an unboxed {@code double} accumulator.
+     */
+    public static <T> double foldDouble(@This Iterable<T> thiz, double initial, DoubleFoldOperation<T> operation) {
+        double accumulator = initial;
         for (T element : thiz) {
             accumulator = operation.apply(accumulator, element);
         }
@@ -1,13 +1,18 @@
 package ir.garshasb.collections.extensions.java.util.Collection;
 
+import ir.garshasb.collections.grouping.GroupingCollectors;
+import ir.garshasb.collections.text.Joining;
 import manifold.ext.rt.api.Extension;
 import manifold.ext.rt.api.This;
 import manifold.rt.api.util.ManObjectUtil;
 
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -116,7 +121,7 @@ public class GarshasbCollectionExt {
 
     public static <E> String join( @This Collection<E> thiz, CharSequence delimiter )
     {
-        return thiz.stream().map( ManObjectUtil::toString ).collect( Collectors.joining( delimiter ) );
+        return Joining.joinToString( thiz, delimiter, "", "", -1, ManObjectUtil::toString );
     }
 
     public static <E> List<E> toList( @This Collection<E> thiz )
@@ -143,4 +148,45 @@ public class GarshasbCollectionExt {
     {
         return thiz.stream().collect( Collectors.groupingBy( valueMapper ) );
     }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the number of elements having it, without grouping the elements.
+     */
+    public static <E, K> Map<K, Long> countBy( @This Collection<E> thiz, Function<? super E, ? extends K> keySelector )
+    {
+        return thiz.stream().collect( GroupingCollectors.countBy( keySelector ) );
+    }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the sum of {@code valueSelector} over the elements having it, without grouping the elements.
+     */
+    public static <E, K> Map<K, Long> sumByLong( @This Collection<E> thiz, Function<? super E, ? extends K> keySelector, ToLongFunction<? super E> valueSelector )
+    {
+        return thiz.stream().collect( GroupingCollectors.sumByLong( keySelector, valueSelector ) );
+    }
+
+    /**
+     * Folds the elements of each key selected by {@code keySelector}, starting from {@code initial} and applying {@code operation} in iteration order.
+     * {@code initial} is shared by all keys, so it should be immutable.
+     */
+    public static <E, K, R> Map<K, R> foldBy( @This Collection<E> thiz, Function<? super E, ? extends K> keySelector, R initial, BiFunction<? super R, ? super E, ? extends R> operation )
+    {
+        return GroupingCollectors.foldSequentially( thiz, keySelector, initial, operation );
+    }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the greatest element having it according to {@code comparator}.
+     */
+    public static <E, K> Map<K, E> maxBy( @This Collection<E> thiz, Function<? super E, ? extends K> keySelector, Comparator<? super E> comparator )
+    {
+        return thiz.stream().collect( GroupingCollectors.maxBy( keySelector, comparator ) );
+    }
+
+    /**
+     * Groups the elements by {@code keySelector} into the map created by {@code mapSupplier}, reducing each group with {@code downstream}.
+     */
+    public static <E, K, A, D, M extends Map<K, D>> M groupingByTo( @This Collection<E> thiz, Function<? super E, ? extends K> keySelector, Supplier<M> mapSupplier, Collector<? super E, A, D> downstream )
+    {
+        return thiz.stream().collect( GroupingCollectors.groupingByTo( keySelector, mapSupplier, downstream ) );
+    }
 }
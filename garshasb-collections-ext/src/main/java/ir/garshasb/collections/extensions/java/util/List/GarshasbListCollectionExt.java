@@ -1,5 +1,7 @@
 package ir.garshasb.collections.extensions.java.util.List;
 
+import ir.garshasb.collections.immutable.CompactList;
+import ir.garshasb.collections.views.ListViews;
 import manifold.ext.rt.api.Extension;
 import manifold.ext.rt.api.This;
 
@@ -131,6 +133,142 @@ public class GarshasbListCollectionExt {
         java.util.Collections.reverse( thiz );
     }
 
+    /**
+     * Removes all elements not matching the given {@code predicate}, in place.
+     * <p>
+     * A {@link RandomAccess} list is compacted in one pass, moving each kept element to its final index, and its tail
+     * is removed at once, without a second list. The {@code predicate} is called once per element, in order.
+     *
+     * @return {@code true} if any element was removed.
+     */
+    public static <E> boolean retainIf( @This List<E> thiz, Predicate<E> predicate )
+    {
+        return compact( thiz, predicate );
+    }
+
+    /**
+     * Replaces each element with the result of applying the given {@code transform} function to it, in place.
+     */
+    public static <E> void mapInPlace( @This List<E> thiz, Function<E, E> transform )
+    {
+        thiz.replaceAll( transform::apply );
+    }
+
+    /**
+     * Removes all but the first occurrence of each element, in place, keeping the order of the first occurrences.
+     *
+     * @return {@code true} if any element was removed.
+     * @see #retainIf(List, Predicate)
+     */
+    public static <E> boolean distinctInPlace( @This List<E> thiz )
+    {
+        HashSet<E> seen = new HashSet<>( Math.max( 16, (int)( thiz.size() / .75f ) + 1 ) );
+        return compact( thiz, seen::add );
+    }
+
+    /**
+     * Removes all but the first element having each key returned by the given {@code selector} function, in place,
+     * keeping the order of the first occurrences.
+     *
+     * @return {@code true} if any element was removed.
+     * @see #retainIf(List, Predicate)
+     */
+    public static <E, K> boolean distinctByInPlace( @This List<E> thiz, Function<E, K> selector )
+    {
+        HashSet<K> seen = new HashSet<>( Math.max( 16, (int)( thiz.size() / .75f ) + 1 ) );
+        return compact( thiz, e -> seen.add( selector.apply( e ) ) );
+    }
+
+    /**
+     * Sorts the elements in place by the natural order of the keys returned by the given {@code selector} function.
+     * <p>
+     * The sort is stable. The {@code selector} is called on every comparison, so it should be cheap.
+     */
+    public static <E, K extends Comparable<? super K>> void sortByInPlace( @This List<E> thiz, Function<E, K> selector )
+    {
+        thiz.sort( Comparator.comparing( selector ) );
+    }
+
+    private static <E> boolean compact( List<E> list, Predicate<E> keep )
+    {
+        if( !(list instanceof RandomAccess) )
+        {
+            boolean removed = false;
+            for( Iterator<E> iterator = list.iterator(); iterator.hasNext(); )
+            {
+                if( !keep.test( iterator.next() ) )
+                {
+                    iterator.remove();
+                    removed = true;
+                }
+            }
+            return removed;
+        }
+        int size = list.size();
+        int kept = 0;
+        int i = 0;
+        try
+        {
+            for( ; i < size; i++ )
+            {
+                E element = list.get( i );
+                if( keep.test( element ) )
+                {
+                    if( kept != i )
+                    {
+                        list.set( kept, element );
+                    }
+                    kept++;
+                }
+            }
+        }
+        finally
+        {
+            // on an exception the unvisited tail stays, only the gap left by the removed elements is closed
+            if( kept != i )
+            {
+                list.subList( kept, i ).clear();
+            }
+        }
+        return kept != size;
+    }
+
+    /**
+     * Returns a read-only view of this list in reverse order, created in O(1) without copying.
+     * <p>
+     * Unlike {@link #reverse(List)} this list is left as is, and later changes of it show through the view.
+     */
+    public static <E> List<E> reversedView( @This List<E> thiz )
+    {
+        return ListViews.reversed( thiz );
+    }
+
+    /**
+     * Returns a read-only view of the elements from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive),
+     * created in O(1) without copying. Unlike {@code subList}, it survives structural changes of this list and shows
+     * the elements at these positions when it is read.
+     *
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > size()} or {@code fromIndex > toIndex}.
+     */
+    public static <E> List<E> sliceView( @This List<E> thiz, int fromIndex, int toIndex )
+    {
+        return ListViews.slice( thiz, fromIndex, toIndex );
+    }
+
+    /**
+     * Returns a read-only view of every {@code step}-th element, starting with the first one, created in O(1) without copying.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive.
+     */
+    public static <E> List<E> stepView( @This List<E> thiz, int step )
+    {
+        return ListViews.step( thiz, step );
+    }
+
+    /**
+     * Returns a read-only copy of this list taking as little memory as possible:
+     * the shared empty list, a singleton list, or a {@link CompactList} over an exact size array.
+     */
     public static <E> List<E> optimizeReadOnlyList( @This List<E> thiz )
     {
         switch( thiz.size() )
@@ -140,7 +278,7 @@ public class GarshasbListCollectionExt {
             case 1:
                 return Collections.singletonList( thiz.get( 0 ) );
             default:
-                return Collections.unmodifiableList( thiz );
+                return CompactList.copyOf( thiz );
         }
     }
 }
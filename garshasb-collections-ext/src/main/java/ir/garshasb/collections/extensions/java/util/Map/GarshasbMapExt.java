@@ -1,12 +1,14 @@
 package ir.garshasb.collections.extensions.java.util.Map;
 
+import ir.garshasb.collections.immutable.CompactMap;
+import ir.garshasb.collections.immutable.FrozenMap;
 import manifold.ext.rt.api.Extension;
 import manifold.ext.rt.api.This;
 import manifold.rt.api.util.Pair;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @Extension
 public class GarshasbMapExt {
@@ -49,6 +51,8 @@ public class GarshasbMapExt {
      * If multiple pairs have the same key, the resulting map will contain the value from the last of those pairs.
      * <p/>
      * Entries of the map are iterated in the order they were specified.
+     * <p/>
+     * The map is a {@link CompactMap}: keys and values are kept in one exact size array, no entry objects are allocated.
      * <p>
      * @see Map#put(Object, Object)
      * <p>
@@ -67,11 +71,74 @@ public class GarshasbMapExt {
     @Extension
     public static <K,V> Map<K,V> mapOf( Pair<K,V>... entries )
     {
-        LinkedHashMap<K,V> map = new LinkedHashMap<>( entries.length );
+        CompactMap.Builder<K,V> map = new CompactMap.Builder<>( entries.length );
         for( Pair<K,V> pair : entries )
         {
             map.put( pair.getFirst(), pair.getSecond() );
         }
-        return Collections.unmodifiableMap( map );
+        return map.build();
+    }
+
+    /**
+     * Returns a new read-only map with the specified contents like {@link #mapOf(Pair[])} does,
+     * indexed by a perfect hash for data that does not change.
+     * <p/>
+     * Entries of the map are iterated in the order they were specified.
+     *
+     * @see #freeze(Map)
+     */
+    @SafeVarargs
+    @Extension
+    public static <K,V> Map<K,V> frozenMapOf( Pair<K,V>... entries )
+    {
+        return FrozenMap.copyOf( mapOf( entries ) );
+    }
+
+    /**
+     * Returns a read-only copy of this map indexed by a perfect hash, which takes about half the memory of a {@code HashMap}.
+     * <p>
+     * Lookups are not faster than {@code HashMap.get}: hits cost about as much or up to twice as much, misses up to three times more.
+     * Freeze a map to save memory, not to speed up lookups.
+     * <p>
+     * Meant for reference data that is built once and read many times, building costs a few times more than filling a {@code HashMap}.
+     * Maps of {@value FrozenMap#PARALLEL_THRESHOLD} entries or more are built in parallel on the common {@code ForkJoinPool}.
+     * Entries of the returned map are iterated in the iteration order of this map.
+     */
+    public static <K,V> Map<K,V> freeze( @This Map<K,V> thiz )
+    {
+        return FrozenMap.copyOf( thiz );
+    }
+
+    /**
+     * Returns a read-only copy of this map indexed by a perfect hash, built in parallel on the given {@code pool},
+     * or on the calling thread if it is {@code null}.
+     *
+     * @see #freeze(Map)
+     */
+    public static <K,V> Map<K,V> freeze( @This Map<K,V> thiz, ForkJoinPool pool )
+    {
+        return FrozenMap.copyOf( thiz, pool );
+    }
+
+    /**
+     * Returns a read-only copy of this map taking as little memory as possible:
+     * the shared empty map, a singleton map, or a {@link CompactMap} keeping keys and values in one exact size array.
+     * <p>
+     * Entries of the returned map are iterated in the iteration order of this map.
+     */
+    public static <K,V> Map<K,V> optimizeReadOnlyMap( @This Map<K,V> thiz )
+    {
+        switch( thiz.size() )
+        {
+            case 0:
+                return Collections.emptyMap();
+            case 1:
+            {
+                Map.Entry<K,V> entry = thiz.entrySet().iterator().next();
+                return Collections.singletonMap( entry.getKey(), entry.getValue() );
+            }
+            default:
+                return CompactMap.copyOf( thiz );
+        }
     }
 }
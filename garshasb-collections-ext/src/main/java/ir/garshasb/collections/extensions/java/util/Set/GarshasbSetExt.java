@@ -0,0 +1,38 @@
+package ir.garshasb.collections.extensions.java.util.Set;
+
+import ir.garshasb.collections.immutable.FrozenSet;
+import manifold.ext.rt.api.Extension;
+import manifold.ext.rt.api.This;
+
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Extension
+public class GarshasbSetExt {
+    /**
+     * Returns a read-only copy of this set indexed by a perfect hash, which takes about a third of the memory of a {@code HashSet}.
+     * <p>
+     * {@code contains} is not faster than {@code HashSet.contains}: present elements cost about as much or up to twice as much,
+     * absent ones up to three times more.
+     * Freeze a set to save memory, not to speed up lookups.
+     * <p>
+     * Meant for reference data that is built once and queried many times, building costs a few times more than filling a {@code HashSet}.
+     * Sets of {@value FrozenSet#PARALLEL_THRESHOLD} elements or more are built in parallel on the common {@code ForkJoinPool}.
+     * Elements of the returned set are iterated in the iteration order of this set.
+     */
+    public static <E> Set<E> freeze( @This Set<E> thiz )
+    {
+        return FrozenSet.copyOf( thiz );
+    }
+
+    /**
+     * Returns a read-only copy of this set indexed by a perfect hash, built in parallel on the given {@code pool},
+     * or on the calling thread if it is {@code null}.
+     *
+     * @see #freeze(Set)
+     */
+    public static <E> Set<E> freeze( @This Set<E> thiz, ForkJoinPool pool )
+    {
+        return FrozenSet.copyOf( thiz, pool );
+    }
+}
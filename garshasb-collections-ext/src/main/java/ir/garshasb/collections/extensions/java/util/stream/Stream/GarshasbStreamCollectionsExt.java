@@ -1,7 +1,12 @@
 package ir.garshasb.collections.extensions.java.util.stream.Stream;
 
+import ir.garshasb.collections.grouping.GroupingCollectors;
+import ir.garshasb.collections.sequence.Windows;
+import ir.garshasb.collections.sketch.HyperLogLog;
+import ir.garshasb.collections.sketch.Summary;
 import manifold.ext.rt.api.Extension;
 
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import manifold.ext.rt.api.Expires;
@@ -9,9 +14,17 @@ import manifold.ext.rt.api.Extension;
 import manifold.ext.rt.api.This;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Extension
 public class GarshasbStreamCollectionsExt {
@@ -29,6 +42,12 @@ public class GarshasbStreamCollectionsExt {
         return thiz.collect( (Supplier<Set<T>>)LinkedHashSet::new, Set::add, Set::addAll);
     }
 
+    private static <T> Set<T> addAll( Set<T> left, Set<T> right )
+    {
+        left.addAll( right );
+        return left;
+    }
+
     public static <T, K, V> Map<K, V> toMap(@This Stream<T> thiz, Function<? super T, K> keyMapper, Function<? super T, V> valueMapper)
     {
         return thiz.collect(Collectors.toMap(keyMapper, valueMapper));
@@ -43,4 +62,253 @@ public class GarshasbStreamCollectionsExt {
     {
         return thiz.collect(Collectors.groupingBy(valueMapper));
     }
-}
+
+    /**
+     * Returns a list containing all the elements from the stream in encounter order, allocated once with room for {@code expectedSize} elements.
+     * <p>
+     * Only a sequential stream is collected into the presized list: on a parallel stream every split would allocate
+     * room for {@code expectedSize} elements, so it is collected like {@code Collectors.toList()}.
+     *
+     * @throws IllegalArgumentException if {@code expectedSize} is negative.
+     */
+    public static <T> List<T> toList(@This Stream<T> thiz, int expectedSize)
+    {
+        if( expectedSize < 0 )
+        {
+            throw new IllegalArgumentException( "Expected size " + expectedSize + " is less than zero." );
+        }
+        if( thiz.isParallel() )
+        {
+            return thiz.collect( Collectors.toList() );
+        }
+        return thiz.collect( () -> new ArrayList<>( expectedSize ), ArrayList::add, ArrayList::addAll );
+    }
+
+    /**
+     * Returns a concurrent set containing all the elements from the stream, in no particular order.
+     * <p>
+     * Unordered: on a parallel stream all threads add to the same set, there are no partial sets to allocate and merge.
+     * On a single thread a concurrent set costs more per element, use {@link #toSet(Stream)} on sequential streams
+     * and when the order of the elements matters. Elements must not be {@code null}.
+     */
+    public static <T> Set<T> toConcurrentSet(@This Stream<T> thiz)
+    {
+        return thiz.collect( Collector.of( (Supplier<Set<T>>)ConcurrentHashMap::newKeySet, Set::add, GarshasbStreamCollectionsExt::addAll,
+                Collector.Characteristics.CONCURRENT, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH ) );
+    }
+
+    /**
+     * Returns a concurrent map of the keys selected by {@code keyMapper} to the values selected by {@code valueMapper}.
+     * <p>
+     * Unordered: on a parallel stream all threads put into the same map, there are no partial maps to allocate and merge.
+     * On a single thread a concurrent map costs more per element, use {@link #toMap(Stream, Function, Function)} on a sequential stream.
+     * Keys and values must not be {@code null}.
+     *
+     * @throws IllegalStateException if two elements have the same key.
+     */
+    public static <T, K, V> ConcurrentMap<K, V> toConcurrentMap(@This Stream<T> thiz, Function<? super T, K> keyMapper, Function<? super T, V> valueMapper)
+    {
+        return thiz.collect( Collectors.toConcurrentMap( keyMapper, valueMapper ) );
+    }
+
+    /**
+     * Returns a concurrent map of the keys selected by {@code keyMapper} to the elements having them.
+     * <p>
+     * Unordered: on a parallel stream all threads put into the same map, there are no partial maps to allocate and merge.
+     * On a single thread a concurrent map costs more per element, use {@link #toMap(Stream, Function)} on a sequential stream.
+     * Keys must not be {@code null}.
+     *
+     * @throws IllegalStateException if two elements have the same key.
+     */
+    public static <T, K> ConcurrentMap<K, T> toConcurrentMap(@This Stream<T> thiz, Function<? super T, K> keyMapper)
+    {
+        return thiz.collect( Collectors.toConcurrentMap( keyMapper, Function.identity() ) );
+    }
+
+    /**
+     * Groups the elements by the key selected by {@code classifier} into a concurrent map of lists.
+     * <p>
+     * Unordered: on a parallel stream all threads add to the same map, there are no partial maps to allocate and merge,
+     * but the elements of a group are not in encounter order. Use {@link #groupingBy(Stream, Function)} when they must be.
+     * Keys must not be {@code null}.
+     */
+    public static <T, K> ConcurrentMap<K, List<T>> groupingByConcurrent(@This Stream<T> thiz, Function<? super T, K> classifier)
+    {
+        return thiz.collect( Collectors.groupingByConcurrent( classifier ) );
+    }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the number of elements having it.
+     * <p>
+     * Single pass, only a counter is kept per key, not the elements.
+     */
+    public static <T, K> Map<K, Long> countBy(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector)
+    {
+        return thiz.collect(GroupingCollectors.countBy(keySelector));
+    }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the sum of {@code valueSelector} over the elements having it.
+     * <p>
+     * Single pass, only a running sum is kept per key, not the elements.
+     */
+    public static <T, K> Map<K, Long> sumByLong(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector, ToLongFunction<? super T> valueSelector)
+    {
+        return thiz.collect(GroupingCollectors.sumByLong(keySelector, valueSelector));
+    }
+
+    /**
+     * Folds the elements of each key selected by {@code keySelector}, starting from {@code initial} and applying {@code operation} in encounter order.
+     * <p>
+     * Single pass, only the accumulated value is kept per key. {@code initial} is shared by all keys, so it should be immutable.
+     * Partial folds can not be combined, so thiz stream is folded sequentially even when it is parallel, see the overload taking a combiner.
+     */
+    public static <T, K, R> Map<K, R> foldBy(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector, R initial, BiFunction<? super R, ? super T, ? extends R> operation)
+    {
+        return GroupingCollectors.foldSequentially( thiz.sequential()::iterator, keySelector, initial, operation );
+    }
+
+    /**
+     * Folds the elements of each key selected by {@code keySelector}, starting from {@code initial} and applying {@code operation} in encounter order.
+     * The partial folds of the splits of a parallel stream are merged per key with {@code combiner}, the fold of the earlier split first.
+     * <p>
+     * Single pass, only the accumulated value is kept per key and split. {@code initial} is shared by all keys and splits, so it should be immutable.
+     */
+    public static <T, K, R> Map<K, R> foldBy(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector, R initial, BiFunction<? super R, ? super T, ? extends R> operation, BinaryOperator<R> combiner)
+    {
+        return thiz.collect( GroupingCollectors.foldBy( keySelector, initial, operation, combiner ) );
+    }
+
+    /**
+     * Returns a map of each key selected by {@code keySelector} to the greatest element having it according to {@code comparator}.
+     * <p>
+     * Single pass, only the current maximum is kept per key.
+     */
+    public static <T, K> Map<K, T> maxBy(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector, Comparator<? super T> comparator)
+    {
+        return thiz.collect(GroupingCollectors.maxBy(keySelector, comparator));
+    }
+
+    /**
+     * Returns an estimate of the number of distinct elements of the stream, within about 0.8%,
+     * computed by a {@link HyperLogLog} sketch of the {@link HyperLogLog#DEFAULT_PRECISION default precision}.
+     * <p>
+     * Memory stays at 16 KB per split however many distinct elements there are, the sketches of parallel splits are merged.
+     */
+    public static <T> long approxDistinctCount(@This Stream<T> thiz)
+    {
+        return approxDistinctCount( thiz, HyperLogLog.DEFAULT_PRECISION );
+    }
+
+    /**
+     * Returns an estimate of the number of distinct elements of the stream computed by a {@link HyperLogLog} sketch
+     * of {@code 2^precision} one byte registers, with a relative standard error of {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @throws IllegalArgumentException if {@code precision} is not between {@link HyperLogLog#MIN_PRECISION} and {@link HyperLogLog#MAX_PRECISION}.
+     */
+    public static <T> long approxDistinctCount(@This Stream<T> thiz, int precision)
+    {
+        return thiz.collect( HyperLogLog.collector( precision ) ).estimate();
+    }
+
+    /**
+     * Returns an estimate of the number of distinct keys selected by {@code selector} for the elements of the stream, within about 0.8%,
+     * computed by a {@link HyperLogLog} sketch of the {@link HyperLogLog#DEFAULT_PRECISION default precision}.
+     * <p>
+     * Memory stays at 16 KB per split however many distinct keys there are, the sketches of parallel splits are merged.
+     */
+    public static <T> long approxDistinctCountBy(@This Stream<T> thiz, Function<? super T, ?> selector)
+    {
+        return approxDistinctCountBy( thiz, selector, HyperLogLog.DEFAULT_PRECISION );
+    }
+
+    /**
+     * Returns an estimate of the number of distinct keys selected by {@code selector} for the elements of the stream,
+     * computed by a {@link HyperLogLog} sketch of {@code 2^precision} one byte registers,
+     * with a relative standard error of {@code 1.04 / sqrt(2^precision)}.
+     *
+     * @throws IllegalArgumentException if {@code precision} is not between {@link HyperLogLog#MIN_PRECISION} and {@link HyperLogLog#MAX_PRECISION}.
+     */
+    public static <T> long approxDistinctCountBy(@This Stream<T> thiz, Function<? super T, ?> selector, int precision)
+    {
+        return thiz.collect( HyperLogLog.collector( precision, selector ) ).estimate();
+    }
+
+    /**
+     * Returns the {@link Summary} of the values selected by {@code selector} for the elements of the stream, in a single pass:
+     * the count, minimum, maximum, mean and variance, and the quantiles, like {@link Summary#p99()}, within 1% of the exact ones.
+     * <p>
+     * Percentiles computed this way need neither a sorted copy of the values nor boxing, the summaries of parallel splits are merged.
+     *
+     * @throws IllegalArgumentException if {@code selector} returns NaN or an infinite value.
+     */
+    public static <T> Summary summaryOfDouble(@This Stream<T> thiz, ToDoubleFunction<? super T> selector)
+    {
+        return thiz.collect( Summary.doubleCollector( selector ) );
+    }
+
+    /**
+     * Returns the {@link Summary} of the values selected by {@code selector} for the elements of the stream, in a single pass:
+     * the count, minimum, maximum, mean and variance, and the quantiles, like {@link Summary#p99()}, within 1% of the exact ones.
+     * <p>
+     * Percentiles of latencies computed this way need neither a sorted copy of the values nor boxing, the summaries of parallel
+     * splits are merged. Values are summarized as doubles, exact up to 2^53.
+     */
+    public static <T> Summary summaryOfLong(@This Stream<T> thiz, ToLongFunction<? super T> selector)
+    {
+        return thiz.collect( Summary.longCollector( selector ) );
+    }
+
+    /**
+     * Groups the elements by {@code keySelector} into the map created by {@code mapSupplier}, reducing each group with {@code downstream}.
+     * <p>
+     * Only the downstream accumulation state is kept per key, not the elements.
+     */
+    public static <T, K, A, D, M extends Map<K, D>> M groupingByTo(@This Stream<T> thiz, Function<? super T, ? extends K> keySelector, Supplier<M> mapSupplier, Collector<? super T, A, D> downstream)
+    {
+        return thiz.collect(GroupingCollectors.groupingByTo(keySelector, mapSupplier, downstream));
+    }
+
+    /**
+     * Returns a stream of lists each not exceeding the given {@code size}, the last list may have fewer elements.
+     * <p>
+     * Lazy: only the elements of the current chunk are buffered, closing the returned stream closes thiz stream.
+     *
+     * @throws IllegalArgumentException if {@code size} is not positive.
+     */
+    public static <T> Stream<List<T>> chunked(@This Stream<T> thiz, int size)
+    {
+        return windowed(thiz, size, size, true);
+    }
+
+    /**
+     * Splits thiz stream into chunks each not exceeding the given {@code size} and performs the given {@code consumer} on each chunk.
+     * <p>
+     * The same read-only list instance is passed on every call and refilled in place, so no list is allocated per chunk.
+     * It is only valid for the duration of the call, copy it to keep its contents.
+     *
+     * @throws IllegalArgumentException if {@code size} is not positive.
+     */
+    public static <T> void chunked(@This Stream<T> thiz, int size, Consumer<List<T>> consumer)
+    {
+        Windows.checkWindowSizeStep(size, size);
+        Windows.forEachWindow(thiz.iterator(), size, size, true, consumer);
+    }
+
+    /**
+     * Returns a stream of windows of the given {@code size} sliding along thiz stream with the given {@code step}.
+     * <p>
+     * Lazy: only the elements of the current window are buffered, closing the returned stream closes thiz stream.
+     *
+     * @param partialWindows whether the trailing windows with fewer than {@code size} elements are kept.
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not positive.
+     */
+    public static <T> Stream<List<T>> windowed(@This Stream<T> thiz, int size, int step, boolean partialWindows)
+    {
+        // checked before iterator(), a terminal operation which would consume thiz stream on invalid arguments
+        Windows.checkWindowSizeStep(size, step);
+        Iterator<List<T>> windows = Windows.windowed(thiz.iterator(), size, step, partialWindows);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(windows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(thiz::close);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ir.garshasb.collections.extensions.manifold.rt.api.Array;
+
+import ir.garshasb.collections.views.ListViews;
+import manifold.ext.rt.api.Extension;
+import manifold.ext.rt.api.Self;
+import manifold.ext.rt.api.This;
+
+import java.util.List;
+
+/**
+ * Zero-copy list views over arrays. Arrays of a primitive type are viewed with their elements boxed on access.
+ */
+@Extension
+public class GarshasbArrayExt {
+    /**
+     * Returns a read-only list view of this array in reverse order, created in O(1) without copying.
+     * Later changes of the array show through the view.
+     */
+    public static List<@Self(true) Object> reversedView( @This Object array )
+    {
+        return ListViews.reversed( ListViews.ofArray( array ) );
+    }
+
+    /**
+     * Returns a read-only list view of the elements from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive),
+     * created in O(1) without copying.
+     *
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > length} or {@code fromIndex > toIndex}.
+     */
+    public static List<@Self(true) Object> sliceView( @This Object array, int fromIndex, int toIndex )
+    {
+        return ListViews.slice( ListViews.ofArray( array ), fromIndex, toIndex );
+    }
+
+    /**
+     * Returns a read-only list view of every {@code step}-th element, starting with the first one, created in O(1) without copying.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive.
+     */
+    public static List<@Self(true) Object> stepView( @This Object array, int step )
+    {
+        return ListViews.step( ListViews.ofArray( array ), step );
+    }
+}
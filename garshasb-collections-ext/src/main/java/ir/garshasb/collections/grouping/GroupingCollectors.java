@@ -0,0 +1,163 @@
+package ir.garshasb.collections.grouping;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Collectors behind the aggregating {@code groupingBy} variants of the {@code Stream} and {@code Collection} extensions,
+ * and the sequential fold behind {@code foldBy} when partial folds can not be combined.
+ * <p>
+ * Each one keeps a single mutable cell per key and folds every element into it as it arrives,
+ * so the grouped elements themselves are never retained and a running count or sum is not re-boxed per element.
+ * Keys may be {@code null}, the returned maps are {@link HashMap}s like the ones of {@code groupingBy}.
+ */
+public final class GroupingCollectors {
+
+    private GroupingCollectors() {
+    }
+
+    /**
+     * Counts the elements per key.
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> countBy(Function<? super T, ? extends K> keySelector) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        return Collector.of(
+                HashMap<K, LongCell>::new,
+                (cells, element) -> cells.computeIfAbsent(keySelector.apply(element), key -> new LongCell()).value++,
+                GroupingCollectors::mergeLongCells,
+                GroupingCollectors::unwrapLongCells);
+    }
+
+    /**
+     * Sums the {@code long} values selected by [valueSelector] per key.
+     */
+    public static <T, K> Collector<T, ?, Map<K, Long>> sumByLong(Function<? super T, ? extends K> keySelector,
+                                                                 ToLongFunction<? super T> valueSelector) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        Objects.requireNonNull(valueSelector, "valueSelector");
+        return Collector.of(
+                HashMap<K, LongCell>::new,
+                (cells, element) -> cells.computeIfAbsent(keySelector.apply(element), key -> new LongCell()).value +=
+                        valueSelector.applyAsLong(element),
+                GroupingCollectors::mergeLongCells,
+                GroupingCollectors::unwrapLongCells);
+    }
+
+    /**
+     * Folds the elements of each key, starting from [initial] and applying [operation] to the accumulated value and each element in encounter order.
+     * The partial folds of the splits of a parallel stream are merged per key with [combiner], the fold of the earlier split first.
+     * <p>
+     * [initial] is shared by all keys and all splits, so it should be immutable.
+     */
+    public static <T, K, R> Collector<T, ?, Map<K, R>> foldBy(Function<? super T, ? extends K> keySelector, R initial,
+                                                             BiFunction<? super R, ? super T, ? extends R> operation,
+                                                             BinaryOperator<R> combiner) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        Objects.requireNonNull(operation, "operation");
+        Objects.requireNonNull(combiner, "combiner");
+        return Collector.<T, HashMap<K, Cell<R>>, Map<K, R>>of(
+                HashMap::new,
+                (cells, element) -> {
+                    Cell<R> cell = cells.computeIfAbsent(keySelector.apply(element), key -> new Cell<>(initial));
+                    cell.value = operation.apply(cell.value, element);
+                },
+                (left, right) -> {
+                    right.forEach((key, cell) -> left.merge(key, cell, (mine, theirs) -> {
+                        mine.value = combiner.apply(mine.value, theirs.value);
+                        return mine;
+                    }));
+                    return left;
+                },
+                GroupingCollectors::unwrapCells);
+    }
+
+    /**
+     * Folds the [elements] of each key in iteration order, the same as the {@link #foldBy(Function, Object, BiFunction, BinaryOperator) foldBy}
+     * collector on a sequential stream, for folds whose partial results can not be combined.
+     * <p>
+     * [initial] is shared by all keys, so it should be immutable.
+     */
+    public static <T, K, R> Map<K, R> foldSequentially(Iterable<? extends T> elements, Function<? super T, ? extends K> keySelector,
+                                                       R initial, BiFunction<? super R, ? super T, ? extends R> operation) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        Objects.requireNonNull(operation, "operation");
+        HashMap<K, Cell<R>> cells = new HashMap<>();
+        for (T element : elements) {
+            Cell<R> cell = cells.computeIfAbsent(keySelector.apply(element), key -> new Cell<>(initial));
+            cell.value = operation.apply(cell.value, element);
+        }
+        return unwrapCells(cells);
+    }
+
+    /**
+     * Keeps the greatest element of each key according to [comparator], the first one encountered on ties.
+     */
+    public static <T, K> Collector<T, ?, Map<K, T>> maxBy(Function<? super T, ? extends K> keySelector,
+                                                          Comparator<? super T> comparator) {
+        Objects.requireNonNull(keySelector, "keySelector");
+        Objects.requireNonNull(comparator, "comparator");
+        return Collector.<T, HashMap<K, Cell<T>>, Map<K, T>>of(
+                HashMap::new,
+                (cells, element) -> {
+                    K key = keySelector.apply(element);
+                    Cell<T> cell = cells.get(key);
+                    if (cell == null) {
+                        cells.put(key, new Cell<>(element));
+                    } else if (comparator.compare(element, cell.value) > 0) {
+                        cell.value = element;
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((key, cell) -> left.merge(key, cell,
+                            (mine, theirs) -> comparator.compare(theirs.value, mine.value) > 0 ? theirs : mine));
+                    return left;
+                },
+                GroupingCollectors::unwrapCells);
+    }
+
+    /**
+     * Groups the elements by key into the map created by [mapSupplier], reducing each group with [downstream].
+     * <p>
+     * Only the downstream accumulation state is kept per key, not the elements.
+     */
+    public static <T, K, A, D, M extends Map<K, D>> Collector<T, ?, M> groupingByTo(Function<? super T, ? extends K> keySelector,
+                                                                                  Supplier<M> mapSupplier,
+                                                                                  Collector<? super T, A, D> downstream) {
+        return Collectors.groupingBy(keySelector, mapSupplier, downstream);
+    }
+
+    private static <K> HashMap<K, LongCell> mergeLongCells(HashMap<K, LongCell> left, HashMap<K, LongCell> right) {
+        right.forEach((key, cell) -> left.computeIfAbsent(key, k -> new LongCell()).value += cell.value);
+        return left;
+    }
+
+    private static <K> Map<K, Long> unwrapLongCells(HashMap<K, LongCell> cells) {
+        Map<K, Long> result = new HashMap<>(capacity(cells.size()));
+        cells.forEach((key, cell) -> result.put(key, cell.value));
+        return result;
+    }
+
+    private static <K, V> Map<K, V> unwrapCells(HashMap<K, Cell<V>> cells) {
+        Map<K, V> result = new HashMap<>(capacity(cells.size()));
+        cells.forEach((key, cell) -> result.put(key, cell.value));
+        return result;
+    }
+
+    private static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
+    private static final class LongCell {
+        long value;
+    }
+
+    private static final class Cell<V> {
+        V value;
+
+        Cell(V value) {
+            this.value = value;
+        }
+    }
+}
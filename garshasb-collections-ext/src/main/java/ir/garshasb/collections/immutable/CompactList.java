@@ -0,0 +1,94 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An immutable list over an exact size array: no growth headroom, no wrapper around a mutable list.
+ * <p>
+ * Returned by the {@code optimizeReadOnlyList} extension for lists of more than one element.
+ * All mutators throw {@link UnsupportedOperationException}.
+ */
+public final class CompactList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final Object[] elements;
+
+    private CompactList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Returns a list containing the elements of {@code source} in iteration order, or {@code source} itself if it already is one.
+     */
+    public static <E> CompactList<E> copyOf(Iterable<? extends E> source) {
+        if (source instanceof CompactList) {
+            //noinspection unchecked
+            return (CompactList<E>) source;
+        }
+        if (source instanceof Collection) {
+            return new CompactList<>(((Collection<? extends E>) source).toArray());
+        }
+        ArrayList<E> list = new ArrayList<>();
+        for (E element : source) {
+            list.add(element);
+        }
+        return new CompactList<>(list.toArray());
+    }
+
+    /**
+     * Returns a list containing the given {@code elements}.
+     */
+    @SafeVarargs
+    public static <E> CompactList<E> of(E... elements) {
+        return new CompactList<>(elements.clone());
+    }
+
+    @Override
+    public E get(int index) {
+        //noinspection unchecked
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < elements.length; i++) {
+            if (Objects.equals(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (Objects.equals(o, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (Object element : elements) {
+            //noinspection unchecked
+            action.accept((E) element);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * An immutable, insertion ordered map over one exact size array holding keys and values side by side,
+ * indexed by an open addressing {@code int[]} table once it has more than {@value HashIndex#LINEAR_SCAN_THRESHOLD} entries.
+ * <p>
+ * No entry objects are kept: a small map takes about a quarter of the memory of a {@link LinkedHashMap}
+ * wrapped in {@link Collections#unmodifiableMap}. Entries are created on the fly while iterating {@link #entrySet()},
+ * {@link #forEach(BiConsumer)} does not create any.
+ * {@code null} keys and values are valid. All mutators throw {@link UnsupportedOperationException}.
+ */
+public final class CompactMap<K, V> extends AbstractMap<K, V> {
+
+    private static final CompactMap<Object, Object> EMPTY = new CompactMap<>(new Object[0], null);
+
+    private final Object[] keysAndValues;
+    private final int[] table;
+    private transient Set<Entry<K, V>> entrySet;
+
+    private CompactMap(Object[] keysAndValues, int[] table) {
+        this.keysAndValues = keysAndValues;
+        this.table = table;
+    }
+
+    /**
+     * Returns the empty map.
+     */
+    public static <K, V> CompactMap<K, V> empty() {
+        //noinspection unchecked
+        return (CompactMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a map with the entries of {@code source} in its iteration order, or {@code source} itself if it already is one.
+     */
+    public static <K, V> CompactMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        if (source instanceof CompactMap) {
+            //noinspection unchecked
+            return (CompactMap<K, V>) source;
+        }
+        Builder<K, V> builder = new Builder<>(source.size());
+        source.forEach(builder::put);
+        return builder.build();
+    }
+
+    /**
+     * Returns a map associating the key selected by {@code keySelector} with the value selected by {@code valueSelector}
+     * for each element of {@code source}.
+     * If two elements have the same key the last value is kept, at the position of the first one, like {@link LinkedHashMap} does.
+     */
+    public static <T, K, V> CompactMap<K, V> associate(Iterable<T> source, Function<? super T, ? extends K> keySelector,
+                                                       Function<? super T, ? extends V> valueSelector) {
+        Builder<K, V> builder = new Builder<>(source instanceof Collection ? ((Collection<?>) source).size() : 0);
+        for (T element : source) {
+            builder.put(keySelector.apply(element), valueSelector.apply(element));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int size() {
+        return keysAndValues.length / 2;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 1; i < keysAndValues.length; i += 2) {
+            if (Objects.equals(value, keysAndValues[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int index = indexOf(key);
+        //noinspection unchecked
+        return index >= 0 ? (V) keysAndValues[2 * index + 1] : defaultValue;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            //noinspection unchecked
+            action.accept((K) keysAndValues[i], (V) keysAndValues[i + 1]);
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entrySet = entries = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < keysAndValues.length;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (next >= keysAndValues.length) {
+                                throw new NoSuchElementException();
+                            }
+                            //noinspection unchecked
+                            Entry<K, V> entry = new SimpleImmutableEntry<>((K) keysAndValues[next], (V) keysAndValues[next + 1]);
+                            next += 2;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return CompactMap.this.size();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    int index = indexOf(((Entry<?, ?>) o).getKey());
+                    return index >= 0 && Objects.equals(((Entry<?, ?>) o).getValue(), keysAndValues[2 * index + 1]);
+                }
+            };
+        }
+        return entries;
+    }
+
+    private int indexOf(Object key) {
+        return HashIndex.indexOf(table, keysAndValues, 2, size(), key);
+    }
+
+    /**
+     * Collects entries for a {@link CompactMap}, the last value put for a key wins.
+     */
+    public static final class Builder<K, V> {
+        private final HashIndex index;
+
+        public Builder(int expectedSize) {
+            this.index = new HashIndex(2, expectedSize);
+        }
+
+        public Builder<K, V> put(K key, V value) {
+            int position = index.add(key);
+            index.data()[2 * (position >= 0 ? position : index.size() - 1) + 1] = value;
+            return this;
+        }
+
+        public CompactMap<K, V> build() {
+            return index.size() == 0 ? empty() : new CompactMap<>(index.dataTrimmed(), index.tableTrimmed());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, insertion ordered set over an exact size array of its elements,
+ * indexed by an open addressing {@code int[]} table once it has more than {@value HashIndex#LINEAR_SCAN_THRESHOLD} elements.
+ * <p>
+ * A {@link LinkedHashSet} allocates a 40 byte node per element, so up to eight elements this takes about a tenth of its memory,
+ * beyond that less than half.
+ * {@code null} is a valid element. All mutators throw {@link UnsupportedOperationException}.
+ */
+public final class CompactSet<E> extends AbstractSet<E> {
+
+    private static final CompactSet<Object> EMPTY = new CompactSet<>(new Object[0], null);
+
+    private final Object[] elements;
+    private final int[] table;
+
+    private CompactSet(Object[] elements, int[] table) {
+        this.elements = elements;
+        this.table = table;
+    }
+
+    /**
+     * Returns the empty set.
+     */
+    public static <E> CompactSet<E> empty() {
+        //noinspection unchecked
+        return (CompactSet<E>) EMPTY;
+    }
+
+    /**
+     * Returns a set containing the distinct elements of {@code source} in the order of their first occurrence,
+     * or {@code source} itself if it already is one.
+     */
+    public static <E> CompactSet<E> copyOf(Iterable<? extends E> source) {
+        if (source instanceof CompactSet) {
+            //noinspection unchecked
+            return (CompactSet<E>) source;
+        }
+        HashIndex index = new HashIndex(1, source instanceof Collection ? ((Collection<?>) source).size() : 0);
+        for (E element : source) {
+            index.add(element);
+        }
+        return index.size() == 0 ? empty() : new CompactSet<>(index.dataTrimmed(), index.tableTrimmed());
+    }
+
+    /**
+     * Returns a set containing the distinct given {@code elements}, in the order of their first occurrence.
+     */
+    @SafeVarargs
+    public static <E> CompactSet<E> of(E... elements) {
+        return copyOf(Arrays.asList(elements));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return HashIndex.indexOf(table, elements, 1, elements.length, o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.length;
+            }
+
+            @Override
+            public E next() {
+                if (next >= elements.length) {
+                    throw new NoSuchElementException();
+                }
+                //noinspection unchecked
+                return (E) elements[next++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (Object element : elements) {
+            //noinspection unchecked
+            action.accept((E) element);
+        }
+    }
+}
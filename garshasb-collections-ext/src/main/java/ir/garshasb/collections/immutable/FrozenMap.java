@@ -0,0 +1,152 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map for data that is built once and looked up many times, meant to save memory: indexed by a perfect hash,
+ * its keys and values share one array with a free slot per {@value PerfectHashIndex#SLACK} entries, about 18 bytes per entry
+ * against the 37 of a {@link HashMap} and its nodes.
+ * <p>
+ * Lookups are not faster than the ones of a {@link HashMap}: hits cost about as much or up to twice as much, misses up to three times more.
+ * A key is found with one probe and one {@code equals}, even among {@link String} or {@link Long} keys sharing a hash code.
+ * Keys of other types sharing a hash code are compared with {@code equals} one after another, see {@link PerfectHashIndex}.
+ * <p>
+ * Building costs a few times more than filling a {@link HashMap}, {@link #copyOf(Map, ForkJoinPool)} spreads it over a pool.
+ * Entries are iterated in the order of the map it was copied from.
+ * {@code null} keys and values are valid. All mutators throw {@link UnsupportedOperationException}.
+ *
+ * @see PerfectHashIndex
+ */
+public final class FrozenMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * From this size on {@link #copyOf(Map)} builds in parallel on the common pool.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final PerfectHashIndex index;
+    private transient Set<Entry<K, V>> entrySet;
+
+    private FrozenMap(PerfectHashIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns a frozen copy of {@code source}, or {@code source} itself if it already is one.
+     * Maps of {@value #PARALLEL_THRESHOLD} entries or more are built on the common {@link ForkJoinPool}.
+     */
+    public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> source) {
+        return copyOf(source, source.size() >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Returns a frozen copy of {@code source} built in parallel on {@code pool}, or on the calling thread if it is {@code null},
+     * or {@code source} itself if it already is one.
+     */
+    public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> source, ForkJoinPool pool) {
+        if (source instanceof FrozenMap) {
+            //noinspection unchecked
+            return (FrozenMap<K, V>) source;
+        }
+        Object[] keys = new Object[source.size()];
+        Object[] sourceValues = new Object[keys.length];
+        int i = 0;
+        for (Entry<? extends K, ? extends V> entry : source.entrySet()) {
+            keys[i] = entry.getKey();
+            sourceValues[i++] = entry.getValue();
+        }
+        // values right after their keys, so a lookup reads both from one cache line
+        PerfectHashIndex index = PerfectHashIndex.build(keys, 2, pool);
+        for (i = 0; i < keys.length; i++) {
+            index.entries[2 * index.order[i] + 1] = sourceValues[i];
+        }
+        return new FrozenMap<>(index);
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.slotOf(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int slot : index.order) {
+            if (Objects.equals(value, index.entries[2 * slot + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(Object key) {
+        return getOrDefault(key, null);
+    }
+
+    @Override
+    public V getOrDefault(Object key, V defaultValue) {
+        int slot = index.slotOf(key);
+        //noinspection unchecked
+        return slot >= 0 ? (V) index.entries[2 * slot + 1] : defaultValue;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int slot : index.order) {
+            //noinspection unchecked
+            action.accept((K) index.entries[2 * slot], (V) index.entries[2 * slot + 1]);
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> entries = entrySet;
+        if (entries == null) {
+            entrySet = entries = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < index.order.length;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (next >= index.order.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int slot = index.order[next++];
+                            //noinspection unchecked
+                            return new SimpleImmutableEntry<>((K) index.entries[2 * slot], (V) index.entries[2 * slot + 1]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return index.size();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    int slot = index.slotOf(((Entry<?, ?>) o).getKey());
+                    return slot >= 0 && Objects.equals(((Entry<?, ?>) o).getValue(), index.entries[2 * slot + 1]);
+                }
+            };
+        }
+        return entries;
+    }
+}
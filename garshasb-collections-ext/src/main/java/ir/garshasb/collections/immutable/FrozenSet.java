@@ -0,0 +1,91 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set for data that is built once and queried many times, meant to save memory: indexed by a perfect hash,
+ * it takes about 14 bytes per element against the 37 of a {@link HashSet}.
+ * <p>
+ * {@link #contains(Object)} is not faster than the one of a {@link HashSet}: present elements cost about as much or up to
+ * twice as much, absent ones up to three times more. Elements sharing a hash code are handled as by {@link FrozenMap}.
+ * <p>
+ * Elements are iterated in the order of the collection it was copied from.
+ * {@code null} is a valid element. All mutators throw {@link UnsupportedOperationException}.
+ *
+ * @see PerfectHashIndex
+ */
+public final class FrozenSet<E> extends AbstractSet<E> {
+
+    /**
+     * From this size on {@link #copyOf(Collection)} builds in parallel on the common pool.
+     */
+    public static final int PARALLEL_THRESHOLD = FrozenMap.PARALLEL_THRESHOLD;
+
+    private final PerfectHashIndex index;
+
+    private FrozenSet(PerfectHashIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns a frozen copy of the distinct elements of {@code source}, or {@code source} itself if it already is one.
+     * Collections of {@value #PARALLEL_THRESHOLD} elements or more are built on the common {@link ForkJoinPool}.
+     */
+    public static <E> FrozenSet<E> copyOf(Collection<? extends E> source) {
+        return copyOf(source, source.size() >= PARALLEL_THRESHOLD ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Returns a frozen copy of the distinct elements of {@code source} built in parallel on {@code pool},
+     * or on the calling thread if it is {@code null}, or {@code source} itself if it already is one.
+     */
+    public static <E> FrozenSet<E> copyOf(Collection<? extends E> source, ForkJoinPool pool) {
+        if (source instanceof FrozenSet) {
+            //noinspection unchecked
+            return (FrozenSet<E>) source;
+        }
+        Collection<? extends E> distinct = source instanceof Set ? source : CompactSet.copyOf(source);
+        return new FrozenSet<>(PerfectHashIndex.build(distinct.toArray(), 1, pool));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return index.slotOf(o) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < index.order.length;
+            }
+
+            @Override
+            public E next() {
+                if (next >= index.order.length) {
+                    throw new NoSuchElementException();
+                }
+                //noinspection unchecked
+                return (E) index.entries[index.order[next++]];
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (int slot : index.order) {
+            //noinspection unchecked
+            action.accept((E) index.entries[slot]);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An open addressing index over the keys stored in a flat array, shared by {@link CompactSet} and {@link CompactMap}.
+ * <p>
+ * Keys live in {@code data} in insertion order, every {@code stride}-th slot starting at 0 (a map keeps its value next to the key).
+ * The table is a power of two sized {@code int[]}, at most half full, holding {@code index + 1} of a key in {@code data},
+ * 0 marking a free slot, probed linearly. Up to {@value #LINEAR_SCAN_THRESHOLD} keys no table is kept and the keys are scanned.
+ * <p>
+ * While building, keys are appended and the table grows as needed, {@link #dataTrimmed()} and {@link #tableTrimmed()}
+ * then return the exact size arrays to keep.
+ */
+final class HashIndex {
+
+    static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private final int stride;
+    private Object[] data;
+    private int[] table;
+    private int size;
+
+    HashIndex(int stride, int expectedSize) {
+        this.stride = stride;
+        this.data = new Object[Math.max(expectedSize, 2) * stride];
+        this.table = new int[tableSize(Math.max(expectedSize, 2))];
+    }
+
+    static int hash(Object key) {
+        int h = Objects.hashCode(key) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the position, counted in keys, of {@code key} in {@code data}, or -1.
+     *
+     * @param table the index over {@code data}, or {@code null} to scan the first {@code size} keys.
+     */
+    static int indexOf(int[] table, Object[] data, int stride, int size, Object key) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(key, data[i * stride])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (Objects.equals(key, data[(entry - 1) * stride])) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private static int tableSize(int size) {
+        return (int) Math.min(Integer.highestOneBit(Math.max(2 * size - 1, 1)) * 2L, MAX_TABLE_SIZE);
+    }
+
+    /**
+     * Returns the position of {@code key}, or -1 after appending it with a {@code null} value.
+     */
+    int add(Object key) {
+        int index = indexOf(table, data, stride, size, key);
+        if (index >= 0) {
+            return index;
+        }
+        if ((size + 1) * stride > data.length) {
+            data = Arrays.copyOf(data, Math.max(size * 2, 4) * stride);
+        }
+        data[size * stride] = key;
+        size++;
+        if (size * 2 > table.length && table.length < MAX_TABLE_SIZE) {
+            rehash(tableSize(size));
+        } else {
+            insert(size - 1);
+        }
+        return -1;
+    }
+
+    Object[] data() {
+        return data;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Object[] dataTrimmed() {
+        return data.length == size * stride ? data : Arrays.copyOf(data, size * stride);
+    }
+
+    int[] tableTrimmed() {
+        return size <= LINEAR_SCAN_THRESHOLD ? null : table;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        for (int i = 0; i < size; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int slot = hash(data[index * stride]) & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+}
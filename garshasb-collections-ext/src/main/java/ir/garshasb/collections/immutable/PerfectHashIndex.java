@@ -0,0 +1,454 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A perfect hash index over a fixed set of distinct keys, built with hash and displace (CHD), shared by
+ * {@link FrozenMap} and {@link FrozenSet}.
+ * <p>
+ * Keys are split into partitions of about {@value #PARTITION_SIZE}, each with its own table so that building one
+ * only touches cache resident arrays and partitions can be built in parallel. Within a partition, keys are grouped
+ * into buckets of {@value #BUCKET_SIZE} on average, and each bucket gets the first seed that moves all its keys to
+ * free slots, largest buckets first. No two keys share a slot, so a lookup is one hash of the key, one probe of the
+ * slot its bucket seed points to, and one {@code equals} if the fingerprint of the slot, half of the hash of its key,
+ * matches: most misses never read the key in the slot.
+ * <p>
+ * The table has one free slot per {@value #SLACK} keys: a minimal table, without any, takes several times longer to
+ * build because its last buckets have to try a seed per free slot on average.
+ * <p>
+ * Keys are hashed to 64 bits with a seed drawn once per JVM, {@link Long} and {@link Double} keys by their whole value,
+ * any other key by its {@code hashCode}. When more than {@value #MAX_SHARED_HASH} {@link String} keys turn out to share a
+ * {@code hashCode}, the index is built again hashing the characters of every {@code String}, which a lookup then has to
+ * read: strings only pay for it in the tables that need it, not for the pairs a million random strings share by chance. Keys of other types sharing a {@code hashCode} can not be told apart by any seed: all but
+ * one of them are kept in an overflow region after the slots, sorted by hash, and a probe that misses binary searches
+ * their hashes, then compares the keys of an equal hash with {@code equals} one after another.
+ * A miss on a table without overflow costs nothing more.
+ */
+final class PerfectHashIndex {
+
+    static final int BUCKET_SIZE = 4;
+    static final int PARTITION_SIZE = 1 << 13;
+
+    static final int SLACK = 8;
+
+    /**
+     * The most {@link String} keys sharing a {@code hashCode} before the characters of strings are hashed instead.
+     */
+    static final int MAX_SHARED_HASH = 3;
+
+    private static final long SALT = new SplittableRandom().nextLong();
+    private static final Object FREE = new Object();
+    /**
+     * Seeds are stored in a {@code char}, which halves the seeds array a lookup misses the cache on. With the slack, a
+     * bucket needs more only with a vanishing probability, and its keys then go to the overflow region.
+     */
+    private static final int SEED_COUNT = 1 << 16;
+
+    /**
+     * The keys in slot order, each followed by {@code stride - 1} slots for its values, {@code FREE} in free slots,
+     * the overflow region from {@code primaryCount} on.
+     */
+    final Object[] entries;
+    final int stride;
+    /**
+     * The slot of each key, in the order the keys were given.
+     */
+    final int[] order;
+
+    private final int primaryCount;
+    private final int partitionCount;
+    /**
+     * Bucket start, bucket count, slot start and slot count of each partition.
+     */
+    private final int[] partitions;
+    private final char[] seeds;
+    /**
+     * The hashes of the keys of the overflow region, ascending.
+     */
+    private final long[] overflowHashes;
+    /**
+     * The low half of the hash of the key in each slot, compared before the key itself.
+     */
+    private final int[] fingerprints;
+    /**
+     * Whether {@link String} keys are hashed by their characters rather than their {@code hashCode}.
+     */
+    private final boolean hashesChars;
+
+    private PerfectHashIndex(Object[] entries, int stride, int[] order, int primaryCount, int partitionCount, int[] partitions,
+                             char[] seeds, long[] overflowHashes, int[] fingerprints, boolean hashesChars) {
+        this.fingerprints = fingerprints;
+        this.hashesChars = hashesChars;
+        this.entries = entries;
+        this.stride = stride;
+        this.order = order;
+        this.primaryCount = primaryCount;
+        this.partitionCount = partitionCount;
+        this.partitions = partitions;
+        this.seeds = seeds;
+        this.overflowHashes = overflowHashes;
+    }
+
+    int size() {
+        return order.length;
+    }
+
+
+    /**
+     * Returns the slot of {@code key}, or -1 if it is not one of the keys.
+     */
+    int slotOf(Object key) {
+        long hash = hash(key, hashesChars);
+        int base = partitionCount == 1 ? 0 : 4 * reduce((int) (hash >>> 32), partitionCount);
+        int slotCount = partitions[base + 3];
+        if (slotCount != 0) {
+            int seed = seeds[partitions[base] + reduce((int) hash, partitions[base + 1])];
+            int slot = partitions[base + 2] + reduce(displace(hash, seed), slotCount);
+            if (fingerprints[slot] == (int) hash && Objects.equals(key, entries[slot * stride])) {
+                return slot;
+            }
+        }
+        if (overflowHashes.length == 0) {
+            return -1;
+        }
+        for (int i = firstOverflowOf(hash); i < overflowHashes.length && overflowHashes[i] == hash; i++) {
+            if (Objects.equals(key, entries[(primaryCount + i) * stride])) {
+                return primaryCount + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first overflow key of {@code hash}, or of the first greater hash.
+     */
+    private int firstOverflowOf(long hash) {
+        int low = 0;
+        int high = overflowHashes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (overflowHashes[middle] < hash) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds the index of the given distinct {@code keys}, leaving {@code stride - 1} {@code null} slots after each key
+     * for the caller to store its values in.
+     *
+     * @param pool runs the hashing and the partitions in parallel, or {@code null} to build on the calling thread.
+     */
+    static PerfectHashIndex build(Object[] keys, int stride, ForkJoinPool pool) {
+        return build(keys, stride, pool, false);
+    }
+
+    private static PerfectHashIndex build(Object[] keys, int stride, ForkJoinPool pool, boolean hashesChars) {
+        int n = keys.length;
+        int partitionCount = Math.max(1, (int) ((n + (long) PARTITION_SIZE - 1) / PARTITION_SIZE));
+        long[] hashes = new long[n];
+        List<Runnable> hashing = new ArrayList<>();
+        for (int from = 0; from < n; from += PARTITION_SIZE) {
+            int start = from;
+            int end = Math.min(n, from + PARTITION_SIZE);
+            hashing.add(() -> {
+                for (int i = start; i < end; i++) {
+                    hashes[i] = hash(keys[i], hashesChars);
+                }
+            });
+        }
+        run(hashing, pool);
+
+        // group the key indexes by partition, keeping their order
+        int[] memberStarts = new int[partitionCount + 1];
+        for (int i = 0; i < n; i++) {
+            memberStarts[partitionOf(hashes[i], partitionCount) + 1]++;
+        }
+        for (int p = 0; p < partitionCount; p++) {
+            memberStarts[p + 1] += memberStarts[p];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(memberStarts, partitionCount);
+        for (int i = 0; i < n; i++) {
+            members[fill[partitionOf(hashes[i], partitionCount)]++] = i;
+        }
+
+        Partition[] built = new Partition[partitionCount];
+        List<Runnable> building = new ArrayList<>(partitionCount);
+        for (int p = 0; p < partitionCount; p++) {
+            int partition = p;
+            building.add(() -> built[partition] = new Partition(hashes,
+                    Arrays.copyOfRange(members, memberStarts[partition], memberStarts[partition + 1])));
+        }
+        run(building, pool);
+        if (!hashesChars && hasLongStringRun(keys, hashes, built)) {
+            return build(keys, stride, pool, true);
+        }
+
+        int[] partitions = new int[4 * partitionCount];
+        int bucketTotal = 0;
+        int primaryCount = 0;
+        for (int p = 0; p < partitionCount; p++) {
+            partitions[4 * p] = bucketTotal;
+            partitions[4 * p + 1] = built[p].seeds.length;
+            partitions[4 * p + 2] = primaryCount;
+            partitions[4 * p + 3] = built[p].slotKeys.length;
+            bucketTotal += built[p].seeds.length;
+            primaryCount += built[p].slotKeys.length;
+        }
+        char[] seeds = new char[bucketTotal];
+        int overflowCount = 0;
+        for (Partition partition : built) {
+            overflowCount += partition.overflow.length;
+        }
+        Object[] slotted = new Object[(primaryCount + overflowCount) * stride];
+        for (int slot = 0; slot < primaryCount; slot++) {
+            slotted[slot * stride] = FREE;
+        }
+        int[] order = new int[n];
+        int[] fingerprints = new int[primaryCount];
+        Integer[] overflow = new Integer[overflowCount];
+        int overflowed = 0;
+        for (int p = 0; p < partitionCount; p++) {
+            System.arraycopy(built[p].seeds, 0, seeds, partitions[4 * p], built[p].seeds.length);
+            int slotStart = partitions[4 * p + 2];
+            int[] slotKeys = built[p].slotKeys;
+            for (int slot = 0; slot < slotKeys.length; slot++) {
+                if (slotKeys[slot] >= 0) {
+                    slotted[(slotStart + slot) * stride] = keys[slotKeys[slot]];
+                    fingerprints[slotStart + slot] = (int) hashes[slotKeys[slot]];
+                    order[slotKeys[slot]] = slotStart + slot;
+                }
+            }
+            for (int key : built[p].overflow) {
+                overflow[overflowed++] = key;
+            }
+        }
+        // rarely more than a handful of keys, those of a hash stay in source order
+        Arrays.sort(overflow, Comparator.<Integer>comparingLong(key -> hashes[key]).thenComparingInt(key -> key));
+        long[] overflowHashes = new long[overflowCount];
+        for (int i = 0; i < overflowCount; i++) {
+            int slot = primaryCount + i;
+            slotted[slot * stride] = keys[overflow[i]];
+            order[overflow[i]] = slot;
+            overflowHashes[i] = hashes[overflow[i]];
+        }
+        return new PerfectHashIndex(slotted, stride, order, primaryCount, partitionCount, partitions, seeds, overflowHashes, fingerprints, hashesChars);
+    }
+
+    /**
+     * Returns whether more than {@value #MAX_SHARED_HASH} {@link String} keys share a hash.
+     */
+    private static boolean hasLongStringRun(Object[] keys, long[] hashes, Partition[] built) {
+        long[] shared = new long[0];
+        int count = 0;
+        for (Partition partition : built) {
+            for (int i = 0; i < partition.sharedHashCount; i++) {
+                int key = partition.overflow[i];
+                if (keys[key] instanceof String) {
+                    if (count == shared.length) {
+                        shared = Arrays.copyOf(shared, Math.max(16, count * 2));
+                    }
+                    shared[count++] = hashes[key];
+                }
+            }
+        }
+        // the overflow holds all keys of a hash but the one in its slot
+        Arrays.sort(shared, 0, count);
+        for (int i = MAX_SHARED_HASH - 1; i < count; i++) {
+            if (shared[i] == shared[i - MAX_SHARED_HASH + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long hash(Object key, boolean hashesChars) {
+        if (hashesChars && key instanceof String) {
+            return hashChars((String) key);
+        }
+        // hashCode folds the two halves of a long, ids differing in both halves alike would collide
+        if (key instanceof Long) {
+            return mix((Long) key ^ SALT);
+        }
+        if (key instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) key) ^ SALT);
+        }
+        return mix((Objects.hashCode(key) & 0xFFFFFFFFL) ^ SALT);
+    }
+
+    /**
+     * Hashes the characters of {@code key} instead of its 32 bit {@code hashCode}, which strings as short as "Aa" and "BB" share.
+     */
+    private static long hashChars(String key) {
+        long h = SALT ^ key.length();
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x9E3779B97F4A7C15L;
+        }
+        return mix(h);
+    }
+
+    private static int displace(long hash, int seed) {
+        return (int) (mix(hash + (seed + 1L) * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Maps {@code hash} uniformly to {@code [0, n)} without a division.
+     */
+    private static int reduce(int hash, int n) {
+        return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+    }
+
+    private static int partitionOf(long hash, int partitionCount) {
+        return reduce((int) (hash >>> 32), partitionCount);
+    }
+
+    private static void run(List<Runnable> tasks, ForkJoinPool pool) {
+        if (pool == null || tasks.size() < 2) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> forked = new ArrayList<>(tasks.size());
+                for (Runnable task : tasks) {
+                    forked.add(ForkJoinTask.adapt(task));
+                }
+                invokeAll(forked);
+            }
+        });
+    }
+
+    /**
+     * The hash and displace table of one partition, in partition local slots.
+     */
+    private static final class Partition {
+        final char[] seeds;
+        /**
+         * The key index in each slot, -1 for a free one.
+         */
+        final int[] slotKeys;
+        /**
+         * The keys overflowed for sharing their hash with another key, the first ones of {@link #overflow}.
+         */
+        final int sharedHashCount;
+        final int[] overflow;
+
+        Partition(long[] hashes, int[] members) {
+            int m = members.length;
+            int bucketCount = Math.max(1, (m + BUCKET_SIZE - 1) / BUCKET_SIZE);
+            int[] bucketStarts = new int[bucketCount + 1];
+            for (int key : members) {
+                bucketStarts[reduce((int) hashes[key], bucketCount) + 1]++;
+            }
+            for (int b = 0; b < bucketCount; b++) {
+                bucketStarts[b + 1] += bucketStarts[b];
+            }
+            int[] grouped = new int[m];
+            int[] fill = Arrays.copyOf(bucketStarts, bucketCount);
+            for (int key : members) {
+                grouped[fill[reduce((int) hashes[key], bucketCount)]++] = key;
+            }
+
+            // keys sharing a hash can not be separated by a seed: keep the first, overflow the others
+            int[] bucketSizes = new int[bucketCount];
+            int[] overflowKeys = new int[0];
+            int overflowCount = 0;
+            int maxBucketSize = 0;
+            for (int b = 0; b < bucketCount; b++) {
+                int start = bucketStarts[b];
+                int size = 0;
+                for (int i = start; i < bucketStarts[b + 1]; i++) {
+                    int key = grouped[i];
+                    boolean duplicate = false;
+                    for (int j = start; j < start + size && !duplicate; j++) {
+                        duplicate = hashes[grouped[j]] == hashes[key];
+                    }
+                    if (duplicate) {
+                        if (overflowCount == overflowKeys.length) {
+                            overflowKeys = Arrays.copyOf(overflowKeys, Math.max(4, overflowCount * 2));
+                        }
+                        overflowKeys[overflowCount++] = key;
+                    } else {
+                        grouped[start + size++] = key;
+                    }
+                }
+                bucketSizes[b] = size;
+                maxBucketSize = Math.max(maxBucketSize, size);
+            }
+            this.sharedHashCount = overflowCount;
+
+            // largest buckets first, while the table is still empty
+            int[] bySizeStarts = new int[maxBucketSize + 2];
+            for (int b = 0; b < bucketCount; b++) {
+                bySizeStarts[maxBucketSize - bucketSizes[b] + 1]++;
+            }
+            for (int s = 0; s <= maxBucketSize; s++) {
+                bySizeStarts[s + 1] += bySizeStarts[s];
+            }
+            int[] placementOrder = new int[bucketCount];
+            for (int b = 0; b < bucketCount; b++) {
+                placementOrder[bySizeStarts[maxBucketSize - bucketSizes[b]]++] = b;
+            }
+
+            int keyCount = m - overflowCount;
+            int slotCount = keyCount + keyCount / SLACK;
+            this.seeds = new char[bucketCount];
+            this.slotKeys = new int[slotCount];
+            Arrays.fill(slotKeys, -1);
+            boolean[] taken = new boolean[slotCount];
+            int[] slots = new int[maxBucketSize];
+            for (int b : placementOrder) {
+                int size = bucketSizes[b];
+                if (size == 0) {
+                    break;
+                }
+                int start = bucketStarts[b];
+                for (int seed = 0; ; seed++) {
+                    if (seed == SEED_COUNT) {
+                        // left at seed 0, its keys are found in the overflow region
+                        if (overflowCount + size > overflowKeys.length) {
+                            overflowKeys = Arrays.copyOf(overflowKeys, Math.max(overflowCount * 2, overflowCount + size));
+                        }
+                        System.arraycopy(grouped, start, overflowKeys, overflowCount, size);
+                        overflowCount += size;
+                        break;
+                    }
+                    int placed = 0;
+                    while (placed < size) {
+                        int slot = reduce(displace(hashes[grouped[start + placed]], seed), slotCount);
+                        if (taken[slot]) {
+                            break;
+                        }
+                        taken[slot] = true;
+                        slots[placed++] = slot;
+                    }
+                    if (placed == size) {
+                        seeds[b] = (char) seed;
+                        for (int i = 0; i < size; i++) {
+                            slotKeys[slots[i]] = grouped[start + i];
+                        }
+                        break;
+                    }
+                    for (int i = 0; i < placed; i++) {
+                        taken[slots[i]] = false;
+                    }
+                }
+            }
+            this.overflow = Arrays.copyOf(overflowKeys, overflowCount);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package ir.garshasb.collections.immutable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * An immutable, random-access list with effectively constant-time {@link #plus(Object) append} and structural sharing.
+ * <p>
+ * Elements live in a bit-partitioned trie of 32-wide nodes, plus a tail of up to 32 elements which is not in the trie
+ * yet. Appending copies the tail, and once per 32 elements the path from the root to the new leaf, the rest of the
+ * trie is shared with the original vector. {@link #get(int)} walks at most {@code log32(size)} levels,
+ * which is 4 levels for a million elements.
+ * <p>
+ * The {@code Iterable} {@code plus} extensions return a new vector when their receiver is one,
+ * so {@code list = list + x} in a loop is linear instead of quadratic.
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_ARRAY = {};
+
+    private static final PersistentVector<Object> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], EMPTY_ARRAY);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     */
+    public static <E> PersistentVector<E> empty() {
+        //noinspection unchecked
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Returns a vector containing the given {@code elements}, in iteration order.
+     */
+    public static <E> PersistentVector<E> of(Iterable<? extends E> elements) {
+        if (elements instanceof PersistentVector) {
+            //noinspection unchecked
+            return (PersistentVector<E>) elements;
+        }
+        return PersistentVector.<E>empty().plusAll(elements);
+    }
+
+    /**
+     * Returns a vector containing the given {@code elements}.
+     */
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        return of(Arrays.asList(elements));
+    }
+
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        //noinspection unchecked
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new vector with the given {@code element} appended, sharing all full leaves with thiz one.
+     */
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            // the root is full, grow the trie by one level
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(size, shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Returns a new vector with the given {@code elements} appended, sharing all full leaves with thiz one.
+     * <p>
+     * Elements are staged in a 32-wide buffer, so the trie is only touched once per full leaf.
+     */
+    public PersistentVector<E> plusAll(Iterable<? extends E> elements) {
+        Iterator<? extends E> iterator = elements.iterator();
+        if (!iterator.hasNext()) {
+            return this;
+        }
+        int newSize = size;
+        int newShift = shift;
+        Object[] newRoot = root;
+        int tailCount = size - tailOffset();
+        Object[] buffer = Arrays.copyOf(tail, WIDTH);
+        while (iterator.hasNext()) {
+            if (tailCount == WIDTH) {
+                if ((newSize >>> BITS) > (1 << newShift)) {
+                    Object[] grown = new Object[WIDTH];
+                    grown[0] = newRoot;
+                    grown[1] = newPath(newShift, buffer);
+                    newRoot = grown;
+                    newShift += BITS;
+                } else {
+                    newRoot = pushTail(newSize, newShift, newRoot, buffer);
+                }
+                buffer = new Object[WIDTH];
+                tailCount = 0;
+            }
+            buffer[tailCount++] = iterator.next();
+            newSize++;
+        }
+        return new PersistentVector<>(newSize, newShift, newRoot, tailCount == WIDTH ? buffer : Arrays.copyOf(buffer, tailCount));
+    }
+
+    /**
+     * Returns a new vector without the elements matching the given {@code predicate}, or thiz vector if there are none.
+     * Thiz vector is left unchanged, unlike the inherited mutators {@code removeIf} and {@code removeAll}, which throw.
+     * <p>
+     * {@code predicate} is called once per element. The elements before the first match keep their leaves,
+     * only the ones after it are copied.
+     */
+    public PersistentVector<E> minusIf(Predicate<? super E> predicate) {
+        Iterator<E> iterator = iterator();
+        int index = 0;
+        while (iterator.hasNext() && !predicate.test(iterator.next())) {
+            index++;
+        }
+        if (index == size) {
+            return this;
+        }
+        List<E> kept = new ArrayList<>(size - index - 1);
+        while (iterator.hasNext()) {
+            E element = iterator.next();
+            if (!predicate.test(element)) {
+                kept.add(element);
+            }
+        }
+        return take(index).plusAll(kept);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+            private Object[] leaf = size > 0 ? leafFor(0) : EMPTY_ARRAY;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index != 0 && (index & MASK) == 0) {
+                    leaf = leafFor(index);
+                }
+                //noinspection unchecked
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        for (int leafStart = 0; leafStart < size; leafStart += WIDTH) {
+            Object[] leaf = leafFor(leafStart);
+            int end = Math.min(WIDTH, size - leafStart);
+            for (int i = 0; i < end; i++) {
+                //noinspection unchecked
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    private int tailOffset() {
+        return tailOffset(size);
+    }
+
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns a vector of the first {@code n} elements, sharing every full leaf before its tail with thiz one.
+     */
+    private PersistentVector<E> take(int n) {
+        if (n == 0) {
+            return empty();
+        }
+        int newTailOffset = tailOffset(n);
+        Object[] newTail = Arrays.copyOf(leafFor(newTailOffset), n - newTailOffset);
+        if (newTailOffset == 0) {
+            return new PersistentVector<>(n, BITS, new Object[WIDTH], newTail);
+        }
+        Object[] newRoot = newTailOffset == tailOffset() ? root : trim(shift, root, newTailOffset - 1);
+        int newShift = shift;
+        while (newShift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(n, newShift, newRoot, newTail);
+    }
+
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    /**
+     * Copies the path to the slot of the full tail of a vector of {@code size} elements and hangs the tail there.
+     */
+    private static Object[] pushTail(int size, int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if (level == BITS) {
+            nodeToInsert = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child != null
+                    ? pushTail(size, level - BITS, child, tailNode)
+                    : newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    /**
+     * Copies the path to the leaf holding index {@code last}, dropping every node after it.
+     */
+    private static Object[] trim(int level, Object[] node, int last) {
+        int subIndex = (last >>> level) & MASK;
+        Object[] result = new Object[WIDTH];
+        System.arraycopy(node, 0, result, 0, subIndex + 1);
+        if (level > BITS) {
+            result[subIndex] = trim(level - BITS, (Object[]) node[subIndex], last);
+        }
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+}
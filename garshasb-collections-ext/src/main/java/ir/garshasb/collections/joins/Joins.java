@@ -0,0 +1,289 @@
+package ir.garshasb.collections.joins;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Equi-joins of two {@code Iterable}s on a key, backing the {@code innerJoinBy}, {@code leftJoinBy} and {@code semiJoinBy}
+ * Iterable extensions and their {@code sorted} variants.
+ * <p>
+ * The hash joins index the smaller input by key, when both are collections, and stream the other one past the index.
+ * An element is kept as is under its key, only keys shared by several elements get a list, so joining on a unique key
+ * costs one map entry per element of the smaller side. The sort-merge joins hash nothing: both inputs are walked once,
+ * and only the elements of the right input sharing a key are buffered.
+ * <p>
+ * Matches are handed to a {@link BiConsumer} as they are found, nothing is allocated per match.
+ * Keys may be {@code null}, they match each other.
+ */
+public final class Joins {
+
+    /**
+     * Stands in for {@code null} elements in an index, whose values must not be {@code null}.
+     */
+    private static final Object NULL = new Object();
+
+    private Joins() {
+    }
+
+    /**
+     * Calls {@code onMatch} with every pair of elements of {@code left} and {@code right} with equal keys.
+     * <p>
+     * When {@code left} is the smaller collection it is the one indexed, and pairs come in the iteration order of {@code right},
+     * otherwise in the iteration order of {@code left}.
+     */
+    public static <T, U, K> void innerJoin(Iterable<T> left, Iterable<U> right,
+                                           Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                           BiConsumer<? super T, ? super U> onMatch) {
+        if (indexLeft(left, right)) {
+            Map<K, Object> index = index(left, leftKey);
+            for (U element : right) {
+                Object matches = index.get(rightKey.apply(element));
+                if (matches != null) {
+                    pairWithRight(matches, element, onMatch);
+                }
+            }
+            return;
+        }
+        Map<K, Object> index = index(right, rightKey);
+        for (T element : left) {
+            Object matches = index.get(leftKey.apply(element));
+            if (matches != null) {
+                pairWithLeft(element, matches, onMatch);
+            }
+        }
+    }
+
+    /**
+     * Calls {@code onMatch} with every pair of elements of {@code left} and {@code right} with equal keys,
+     * and with every element of {@code left} matching none paired with {@code null}.
+     * <p>
+     * When {@code left} is the smaller collection it is the one indexed: pairs come in the iteration order of {@code right},
+     * then the unmatched elements of {@code left} in its iteration order. Otherwise everything comes in the iteration order of {@code left}.
+     */
+    public static <T, U, K> void leftJoin(Iterable<T> left, Iterable<U> right,
+                                          Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                          BiConsumer<? super T, ? super U> onMatch) {
+        if (indexLeft(left, right)) {
+            Map<K, Object> index = index(left, leftKey);
+            Set<K> matched = new HashSet<>();
+            for (U element : right) {
+                K key = rightKey.apply(element);
+                Object matches = index.get(key);
+                if (matches != null) {
+                    matched.add(key);
+                    pairWithRight(matches, element, onMatch);
+                }
+            }
+            if (matched.size() < index.size()) {
+                for (T element : left) {
+                    if (!matched.contains(leftKey.apply(element))) {
+                        onMatch.accept(element, null);
+                    }
+                }
+            }
+            return;
+        }
+        Map<K, Object> index = index(right, rightKey);
+        for (T element : left) {
+            Object matches = index.get(leftKey.apply(element));
+            if (matches != null) {
+                pairWithLeft(element, matches, onMatch);
+            } else {
+                onMatch.accept(element, null);
+            }
+        }
+    }
+
+    /**
+     * Returns the elements of {@code left} with a key matching the key of an element of {@code right}, in the iteration order of {@code left}.
+     * Only keys are hashed, those of the smaller collection.
+     */
+    public static <T, U, K> List<T> semiJoin(Iterable<T> left, Iterable<U> right,
+                                             Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey) {
+        Set<K> keys;
+        if (indexLeft(left, right)) {
+            Set<K> leftKeys = new HashSet<>(capacity(((Collection<T>) left).size()));
+            for (T element : left) {
+                leftKeys.add(leftKey.apply(element));
+            }
+            keys = new HashSet<>();
+            for (U element : right) {
+                K key = rightKey.apply(element);
+                if (leftKeys.contains(key)) {
+                    keys.add(key);
+                }
+            }
+        } else {
+            keys = new HashSet<>(capacity(sizeOrDefault(right, 16)));
+            for (U element : right) {
+                keys.add(rightKey.apply(element));
+            }
+        }
+        List<T> result = new ArrayList<>();
+        for (T element : left) {
+            if (keys.contains(leftKey.apply(element))) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #innerJoin} with both inputs sorted by their keys in {@code keyComparator} order:
+     * a linear merge that hashes nothing, pairs come in the iteration order of {@code left}.
+     * The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> void sortedInnerJoin(Iterable<T> left, Iterable<U> right,
+                                                 Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                                 Comparator<? super K> keyComparator, BiConsumer<? super T, ? super U> onMatch) {
+        mergeJoin(left, right, leftKey, rightKey, keyComparator, false, false, onMatch);
+    }
+
+    /**
+     * Same as {@link #leftJoin} with both inputs sorted by their keys in {@code keyComparator} order:
+     * a linear merge that hashes nothing, everything comes in the iteration order of {@code left}.
+     * The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> void sortedLeftJoin(Iterable<T> left, Iterable<U> right,
+                                                Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                                Comparator<? super K> keyComparator, BiConsumer<? super T, ? super U> onMatch) {
+        mergeJoin(left, right, leftKey, rightKey, keyComparator, true, false, onMatch);
+    }
+
+    /**
+     * Same as {@link #semiJoin} with both inputs sorted by their keys in {@code keyComparator} order: a linear merge that hashes nothing.
+     * The sort order of the inputs is trusted, not checked.
+     */
+    public static <T, U, K> List<T> sortedSemiJoin(Iterable<T> left, Iterable<U> right,
+                                                   Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                                   Comparator<? super K> keyComparator) {
+        List<T> result = new ArrayList<>();
+        mergeJoin(left, right, leftKey, rightKey, keyComparator, false, true, (element, match) -> result.add(element));
+        return result;
+    }
+
+    /**
+     * @param unmatched      whether elements of {@code left} matching none are passed with {@code null}
+     * @param firstMatchOnly whether an element of {@code left} is paired with its first match only
+     */
+    private static <T, U, K> void mergeJoin(Iterable<T> left, Iterable<U> right,
+                                            Function<? super T, ? extends K> leftKey, Function<? super U, ? extends K> rightKey,
+                                            Comparator<? super K> keyComparator, boolean unmatched, boolean firstMatchOnly,
+                                            BiConsumer<? super T, ? super U> onMatch) {
+        Iterator<U> rights = right.iterator();
+        U next = null;
+        K nextKey = null;
+        boolean hasNext = rights.hasNext();
+        if (hasNext) {
+            next = rights.next();
+            nextKey = rightKey.apply(next);
+        }
+        // the elements of right sharing groupKey, the key of the last element of left
+        List<U> group = new ArrayList<>();
+        K groupKey = null;
+        boolean hasGroupKey = false;
+        for (T element : left) {
+            K key = leftKey.apply(element);
+            if (!hasGroupKey || keyComparator.compare(groupKey, key) != 0) {
+                group.clear();
+                groupKey = key;
+                hasGroupKey = true;
+                while (hasNext && keyComparator.compare(nextKey, key) <= 0) {
+                    if (keyComparator.compare(nextKey, key) == 0) {
+                        group.add(next);
+                    }
+                    hasNext = rights.hasNext();
+                    if (hasNext) {
+                        next = rights.next();
+                        nextKey = rightKey.apply(next);
+                    }
+                }
+            }
+            if (group.isEmpty()) {
+                if (unmatched) {
+                    onMatch.accept(element, null);
+                }
+            } else if (firstMatchOnly) {
+                onMatch.accept(element, group.get(0));
+            } else {
+                for (U match : group) {
+                    onMatch.accept(element, match);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether to index {@code left} rather than {@code right}: only when both are collections and {@code left} is the smaller.
+     */
+    private static boolean indexLeft(Iterable<?> left, Iterable<?> right) {
+        return left instanceof Collection && right instanceof Collection
+                && ((Collection<?>) left).size() < ((Collection<?>) right).size();
+    }
+
+    /**
+     * Maps every key to its element, or to the {@link Matches} of its elements when there are several.
+     */
+    private static <E, K> Map<K, Object> index(Iterable<E> elements, Function<? super E, ? extends K> keySelector) {
+        Map<K, Object> index = new HashMap<>(capacity(sizeOrDefault(elements, 16)));
+        for (E element : elements) {
+            index.merge(keySelector.apply(element), element == null ? NULL : element, Joins::addMatch);
+        }
+        return index;
+    }
+
+    private static Object addMatch(Object matches, Object element) {
+        if (matches instanceof Matches) {
+            ((Matches) matches).add(element);
+            return matches;
+        }
+        Matches list = new Matches();
+        list.add(matches);
+        list.add(element);
+        return list;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, U> void pairWithLeft(T element, Object matches, BiConsumer<? super T, ? super U> onMatch) {
+        if (matches instanceof Matches) {
+            for (Object match : (Matches) matches) {
+                onMatch.accept(element, (U) unmask(match));
+            }
+        } else {
+            onMatch.accept(element, (U) unmask(matches));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, U> void pairWithRight(Object matches, U element, BiConsumer<? super T, ? super U> onMatch) {
+        if (matches instanceof Matches) {
+            for (Object match : (Matches) matches) {
+                onMatch.accept((T) unmask(match), element);
+            }
+        } else {
+            onMatch.accept((T) unmask(matches), element);
+        }
+    }
+
+    private static Object unmask(Object element) {
+        return element == NULL ? null : element;
+    }
+
+    private static int sizeOrDefault(Iterable<?> elements, int defaultSize) {
+        return elements instanceof Collection ? ((Collection<?>) elements).size() : defaultSize;
+    }
+
+    private static int capacity(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+    }
+
+    /**
+     * The elements of an index sharing a key, a type of its own so it is never mistaken for an element.
+     */
+    private static final class Matches extends ArrayList<Object> {
+        Matches() {
+            super(2);
+        }
+    }
+}
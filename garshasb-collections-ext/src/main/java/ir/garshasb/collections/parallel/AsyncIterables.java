@@ -0,0 +1,136 @@
+package ir.garshasb.collections.parallel;
+
+import manifold.ext.rt.api.IndexedConsumer;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded-concurrency asynchronous evaluation of an {@link Iterable}, backing the {@code *Async} Iterable extensions.
+ * <p>
+ * The source is snapshotted, then at most {@code maxConcurrency} workers are started on the executor and each of them
+ * pulls the next unprocessed index until the source is exhausted. So no more than {@code maxConcurrency} elements are
+ * in flight at any time, and results are written by index which keeps the source order.
+ * <p>
+ * The first failure completes the returned future exceptionally and stops the workers from pulling more elements,
+ * cancelling the returned future does the same.
+ */
+public final class AsyncIterables {
+
+    private AsyncIterables() {
+    }
+
+    /**
+     * Returns the executor used when none is given: a virtual-thread-per-task executor when the JVM provides one
+     * (JDK 21+, or 19/20 with preview features enabled), otherwise a cached pool of daemon platform threads.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Applies {@code transform} to each element of {@code source} on {@code executor}, with at most
+     * {@code maxConcurrency} invocations running at the same time.
+     *
+     * @return a future of a new {@link ArrayList} of the results, in the order of {@code source}.
+     */
+    public static <T, R> CompletableFuture<List<R>> map(Iterable<T> source, Function<? super T, ? extends R> transform,
+                                                        int maxConcurrency, Executor executor) {
+        List<T> items = snapshot(source);
+        Object[] results = new Object[items.size()];
+        return run(items, (index, item) -> results[index] = transform.apply(item), () -> {
+            //noinspection unchecked
+            return new ArrayList<>((List<R>) Arrays.asList(results));
+        }, maxConcurrency, executor);
+    }
+
+    /**
+     * Performs {@code action} on each element of {@code source} on {@code executor}, with at most
+     * {@code maxConcurrency} invocations running at the same time.
+     *
+     * @return a future completed when the action has been performed on every element.
+     */
+    public static <T> CompletableFuture<Void> forEach(Iterable<T> source, Consumer<? super T> action,
+                                                      int maxConcurrency, Executor executor) {
+        return run(snapshot(source), (index, item) -> action.accept(item), () -> null, maxConcurrency, executor);
+    }
+
+    private static <T, V> CompletableFuture<V> run(List<T> items, IndexedConsumer<T> work, Supplier<V> result,
+                                                   int maxConcurrency, Executor executor) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency " + maxConcurrency + " must be positive.");
+        }
+        Objects.requireNonNull(executor, "executor");
+        CompletableFuture<V> future = new CompletableFuture<>();
+        int workers = Math.min(maxConcurrency, items.size());
+        if (workers == 0) {
+            future.complete(result.get());
+            return future;
+        }
+        AtomicInteger nextIndex = new AtomicInteger();
+        AtomicInteger runningWorkers = new AtomicInteger(workers);
+        Runnable worker = () -> {
+            try {
+                int index;
+                while (!future.isDone() && (index = nextIndex.getAndIncrement()) < items.size()) {
+                    work.accept(index, items.get(index));
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            if (runningWorkers.decrementAndGet() == 0 && !future.isDone()) {
+                future.complete(result.get());
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (RuntimeException e) {
+                // e.g. RejectedExecutionException, workers already started see the completed future and stop
+                future.completeExceptionally(e);
+                break;
+            }
+        }
+        return future;
+    }
+
+    private static <T> List<T> snapshot(Iterable<T> source) {
+        if (source instanceof Collection) {
+            return new ArrayList<>((Collection<T>) source);
+        }
+        ArrayList<T> list = new ArrayList<>();
+        for (T element : source) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    private static final class DefaultExecutorHolder {
+        static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+                // no virtual threads on this JVM, or they are still a disabled preview feature
+                AtomicInteger count = new AtomicInteger();
+                ThreadFactory threadFactory = runnable -> {
+                    Thread thread = new Thread(runnable, "garshasb-async-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+                return Executors.newCachedThreadPool(threadFactory);
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package ir.garshasb.collections.parallel;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fork/join evaluation of ordered reductions over an {@link Iterable}, backing the {@code parallel*} Iterable extensions.
+ * <p>
+ * {@code RandomAccess} lists are split by index, any other source is split through its {@link Spliterator}.
+ * Ranges at or below the sequential threshold are reduced in place, and results of sibling ranges are combined
+ * left to right, so encounter order is preserved.
+ */
+public final class ForkJoinIterables {
+
+    /**
+     * Lets the sequential threshold be derived from the source size and the parallelism of the pool,
+     * aiming at about four leaf tasks per worker.
+     */
+    public static final int AUTO_THRESHOLD = 0;
+
+    /**
+     * Threshold used with {@link #AUTO_THRESHOLD} when the size of the source is not known up front.
+     */
+    static final int UNKNOWN_SIZE_THRESHOLD = 1024;
+
+    private ForkJoinIterables() {
+    }
+
+    /**
+     * Folds the {@code source} in parallel: every leaf range starts from a fresh {@code identity} and is accumulated
+     * sequentially, then sibling results are merged with {@code combiner} in encounter order.
+     *
+     * @param sequentialThreshold maximum number of elements reduced by a single task, or {@link #AUTO_THRESHOLD}.
+     */
+    public static <T, A> A reduce(Iterable<T> source, Supplier<A> identity, BiFunction<A, ? super T, A> accumulator,
+                                  BinaryOperator<A> combiner, ForkJoinPool pool, int sequentialThreshold) {
+        requireValid(pool, sequentialThreshold);
+        if (source instanceof List && source instanceof RandomAccess) {
+            List<T> list = (List<T>) source;
+            int threshold = threshold(list.size(), sequentialThreshold, pool);
+            if (list.size() <= threshold) {
+                return reduceRange(list, 0, list.size(), identity.get(), accumulator);
+            }
+            return pool.invoke(new IndexReduceTask<>(list, 0, list.size(), threshold, identity, accumulator, combiner));
+        }
+        Spliterator<T> spliterator = source.spliterator();
+        long size = spliterator.getExactSizeIfKnown();
+        int threshold = size < 0
+                ? sequentialThreshold > 0 ? sequentialThreshold : UNKNOWN_SIZE_THRESHOLD
+                : threshold(size, sequentialThreshold, pool);
+        if (size >= 0 && size <= threshold) {
+            return reduceRemaining(spliterator, identity.get(), accumulator);
+        }
+        return pool.invoke(new SpliteratorReduceTask<>(spliterator, threshold, identity, accumulator, combiner));
+    }
+
+    /**
+     * Maps the {@code source} in parallel into a new {@link ArrayList}, keeping encounter order.
+     * <p>
+     * {@code RandomAccess} sources are written straight into a presized array by index, which the list is copied from once,
+     * other sources are reduced into per-range lists which are concatenated.
+     */
+    public static <T, R> List<R> map(Iterable<T> source, Function<? super T, ? extends R> transform,
+                                     ForkJoinPool pool, int sequentialThreshold) {
+        requireValid(pool, sequentialThreshold);
+        if (source instanceof List && source instanceof RandomAccess) {
+            List<T> list = (List<T>) source;
+            Object[] result = new Object[list.size()];
+            int threshold = threshold(result.length, sequentialThreshold, pool);
+            if (result.length <= threshold) {
+                new IndexMapTask<>(list, result, 0, result.length, threshold, transform).compute();
+            } else {
+                pool.invoke(new IndexMapTask<>(list, result, 0, result.length, threshold, transform));
+            }
+            //noinspection unchecked
+            return new ArrayList<>((List<R>) Arrays.asList(result));
+        }
+        return reduce(source, ArrayList::new, (list, e) -> {
+            list.add(transform.apply(e));
+            return list;
+        }, ForkJoinIterables::concat, pool, sequentialThreshold);
+    }
+
+    /**
+     * Appends {@code right} to {@code left} and returns {@code left}, the combiner for ordered list results.
+     */
+    public static <E> ArrayList<E> concat(ArrayList<E> left, ArrayList<E> right) {
+        left.addAll(right);
+        return left;
+    }
+
+    private static void requireValid(ForkJoinPool pool, int sequentialThreshold) {
+        Objects.requireNonNull(pool, "pool");
+        if (sequentialThreshold < 0) {
+            throw new IllegalArgumentException("Sequential threshold " + sequentialThreshold + " is less than zero.");
+        }
+    }
+
+    static int threshold(long size, int sequentialThreshold, ForkJoinPool pool) {
+        if (sequentialThreshold > 0) {
+            return sequentialThreshold;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, size / ((long) pool.getParallelism() << 2)));
+    }
+
+    private static <T, A> A reduceRange(List<T> list, int from, int to, A initial, BiFunction<A, ? super T, A> accumulator) {
+        A result = initial;
+        for (int i = from; i < to; i++) {
+            result = accumulator.apply(result, list.get(i));
+        }
+        return result;
+    }
+
+    private static <T, A> A reduceRemaining(Spliterator<T> spliterator, A initial, BiFunction<A, ? super T, A> accumulator) {
+        FoldingConsumer<T, A> sink = new FoldingConsumer<>(initial, accumulator);
+        spliterator.forEachRemaining(sink);
+        return sink.result;
+    }
+
+    private static final class FoldingConsumer<T, A> implements Consumer<T> {
+        private final BiFunction<A, ? super T, A> accumulator;
+        private A result;
+
+        FoldingConsumer(A initial, BiFunction<A, ? super T, A> accumulator) {
+            this.result = initial;
+            this.accumulator = accumulator;
+        }
+
+        @Override
+        public void accept(T t) {
+            result = accumulator.apply(result, t);
+        }
+    }
+
+    private static final class IndexReduceTask<T, A> extends RecursiveTask<A> {
+        private final List<T> list;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Supplier<A> identity;
+        private final BiFunction<A, ? super T, A> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        IndexReduceTask(List<T> list, int from, int to, int threshold, Supplier<A> identity,
+                        BiFunction<A, ? super T, A> accumulator, BinaryOperator<A> combiner) {
+            this.list = list;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= threshold) {
+                return reduceRange(list, from, to, identity.get(), accumulator);
+            }
+            int mid = (from + to) >>> 1;
+            IndexReduceTask<T, A> left = new IndexReduceTask<>(list, from, mid, threshold, identity, accumulator, combiner);
+            IndexReduceTask<T, A> right = new IndexReduceTask<>(list, mid, to, threshold, identity, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+
+    private static final class SpliteratorReduceTask<T, A> extends RecursiveTask<A> {
+        private final Spliterator<T> spliterator;
+        private final int threshold;
+        private final Supplier<A> identity;
+        private final BiFunction<A, ? super T, A> accumulator;
+        private final BinaryOperator<A> combiner;
+
+        SpliteratorReduceTask(Spliterator<T> spliterator, int threshold, Supplier<A> identity,
+                              BiFunction<A, ? super T, A> accumulator, BinaryOperator<A> combiner) {
+            this.spliterator = spliterator;
+            this.threshold = threshold;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected A compute() {
+            Spliterator<T> prefix;
+            if (spliterator.estimateSize() <= threshold || (prefix = spliterator.trySplit()) == null) {
+                return reduceRemaining(spliterator, identity.get(), accumulator);
+            }
+            SpliteratorReduceTask<T, A> left = new SpliteratorReduceTask<>(prefix, threshold, identity, accumulator, combiner);
+            SpliteratorReduceTask<T, A> right = new SpliteratorReduceTask<>(spliterator, threshold, identity, accumulator, combiner);
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+
+    private static final class IndexMapTask<T, R> extends RecursiveAction {
+        private final List<T> list;
+        private final Object[] result;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final Function<? super T, ? extends R> transform;
+
+        IndexMapTask(List<T> list, Object[] result, int from, int to, int threshold, Function<? super T, ? extends R> transform) {
+            this.list = list;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.transform = transform;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    result[i] = transform.apply(list.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IndexMapTask<>(list, result, from, mid, threshold, transform),
+                    new IndexMapTask<>(list, result, mid, to, threshold, transform));
+        }
+    }
+}
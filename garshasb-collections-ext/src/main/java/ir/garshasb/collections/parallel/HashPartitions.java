@@ -0,0 +1,124 @@
+package ir.garshasb.collections.parallel;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hash partitioning of an {@link Iterable} by key, backing the {@code partitionByHash} and {@code shardedForEach} Iterable extensions.
+ * <p>
+ * Every element goes to the shard {@link #shardOf(Object, int)} picks for its key, so all elements sharing a key end up in
+ * the same bucket, in their encounter order. The key of each element is computed once, then the buckets are allocated
+ * with their exact sizes and filled, no bucket ever grows.
+ * <p>
+ * {@link #forEach} hands every bucket to a single task, so a key is only ever handled by one thread at a time and state
+ * owned by a shard needs no locking.
+ */
+public final class HashPartitions {
+
+    private HashPartitions() {
+    }
+
+    /**
+     * Returns the shard in {@code [0, shards)} of {@code key}, the same for equal keys and for every call.
+     * <p>
+     * The {@link Object#hashCode()} of the key is mixed first, so keys with patterned hash codes, like consecutive
+     * integers, still spread evenly. {@code null} keys go to shard {@code 0}.
+     */
+    public static int shardOf(Object key, int shards) {
+        if (key == null) {
+            return 0;
+        }
+        // the multiply carries every bit of the hash code into the high bits, which pick the shard without a division
+        int hash = key.hashCode() * 0x9E3779B9;
+        return (int) (((hash & 0xFFFFFFFFL) * shards) >>> 32);
+    }
+
+    /**
+     * Returns {@code shards} lists, the one at index {@code i} holding the elements of {@code source}
+     * whose key is in shard {@code i}, in encounter order.
+     */
+    public static <T> List<List<T>> partition(Iterable<T> source, int shards, Function<? super T, ?> keySelector) {
+        requirePositive(shards);
+        Object[] elements = source instanceof Collection ? ((Collection<?>) source).toArray() : snapshot(source);
+        int[] shardOf = new int[elements.length];
+        int[] sizes = new int[shards];
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection unchecked
+            int shard = shardOf(keySelector.apply((T) elements[i]), shards);
+            shardOf[i] = shard;
+            sizes[shard]++;
+        }
+        List<List<T>> buckets = new ArrayList<>(shards);
+        for (int size : sizes) {
+            buckets.add(new ArrayList<>(size));
+        }
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection unchecked
+            buckets.get(shardOf[i]).add((T) elements[i]);
+        }
+        return buckets;
+    }
+
+    /**
+     * Partitions {@code source} into {@code shards} buckets like {@link #partition} and performs {@code action} on the elements
+     * of every non empty bucket in a task of its own on {@code pool}, in encounter order, then returns.
+     * <p>
+     * If {@code action} throws, the exception is rethrown and the buckets not yet started may be skipped.
+     */
+    public static <T> void forEach(Iterable<T> source, int shards, Function<? super T, ?> keySelector,
+                                   Consumer<? super T> action, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "pool");
+        List<List<T>> buckets = partition(source, shards, keySelector);
+        List<ShardAction<T>> tasks = new ArrayList<>(shards);
+        for (List<T> bucket : buckets) {
+            if (!bucket.isEmpty()) {
+                tasks.add(new ShardAction<>(bucket, action));
+            }
+        }
+        if (tasks.size() == 1) {
+            tasks.get(0).compute();
+        } else if (!tasks.isEmpty()) {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+    }
+
+    private static void requirePositive(int shards) {
+        if (shards <= 0) {
+            throw new IllegalArgumentException("Shard count " + shards + " must be positive.");
+        }
+    }
+
+    private static Object[] snapshot(Iterable<?> source) {
+        ArrayList<Object> list = new ArrayList<>();
+        for (Object element : source) {
+            list.add(element);
+        }
+        return list.toArray();
+    }
+
+    private static final class ShardAction<T> extends RecursiveAction {
+        private final List<T> bucket;
+        private final Consumer<? super T> action;
+
+        ShardAction(List<T> bucket, Consumer<? super T> action) {
+            this.bucket = bucket;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            for (T element : bucket) {
+                action.accept(element);
+            }
+        }
+    }
+}
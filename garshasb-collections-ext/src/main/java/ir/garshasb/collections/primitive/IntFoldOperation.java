@@ -0,0 +1,9 @@
+package ir.garshasb.collections.primitive;
+
+/**
+ * The accumulating function of a {@code int} fold: takes the current accumulator and an element and returns the next accumulator.
+ */
+@FunctionalInterface
+public interface IntFoldOperation<T> {
+    int apply(int accumulator, T element);
+}
@@ -0,0 +1,9 @@
+package ir.garshasb.collections.primitive;
+
+/**
+ * An operation on an {@code int} key and its value, the unboxed counterpart of a {@code BiConsumer<Integer, V>}.
+ */
+@FunctionalInterface
+public interface IntObjectConsumer<V> {
+    void accept(int key, V value);
+}
@@ -0,0 +1,183 @@
+package ir.garshasb.collections.primitive;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A map from {@code int} keys to values, the unboxed counterpart of a {@code LinkedHashMap<Integer, V>}.
+ * <p>
+ * Keys and values are kept in insertion order in two parallel arrays, indexed by an open addressing {@code int[]} table:
+ * 8 bytes per entry plus 8 to 16 of table, where a {@code LinkedHashMap} takes a 16 byte boxed key and a 40 byte entry on top of its table.
+ * Putting a key again replaces its value and keeps its position. {@code null} values are valid.
+ */
+public final class IntObjectMap<V> {
+    private static final int[] EMPTY_KEYS = {};
+    private static final Object[] EMPTY_VALUES = {};
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int[] table;
+
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates a map that holds {@code expectedSize} entries without growing.
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        keys = expectedSize == 0 ? EMPTY_KEYS : new int[expectedSize];
+        values = expectedSize == 0 ? EMPTY_VALUES : new Object[expectedSize];
+        table = new int[PrimitiveHashing.tableSize(expectedSize)];
+    }
+
+    /**
+     * Associates the given {@code value} with the given {@code key} and returns the previous value, or {@code null} if there was none.
+     */
+    public V put(int key, V value) {
+        int mask = table.length - 1;
+        int slot = PrimitiveHashing.slot(key, mask);
+        for (int index; (index = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (keys[index - 1] == key) {
+                //noinspection unchecked
+                V old = (V) values[index - 1];
+                values[index - 1] = value;
+                return old;
+            }
+        }
+        if (size == keys.length) {
+            int newCapacity = PrimitiveHashing.grownCapacity(size, size + 1);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        table[slot] = ++size;
+        if (PrimitiveHashing.isOverloaded(size, table.length)) {
+            rehash(table.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the given {@code key}, or {@code null} if there is none.
+     */
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value of the given {@code key}, or {@code defaultValue} if there is none.
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        int index = indexOf(key);
+        //noinspection unchecked
+        return index >= 0 ? (V) values[index] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs the given {@code action} on each entry in insertion order.
+     */
+    public void forEach(IntObjectConsumer<? super V> action) {
+        for (int i = 0; i < size; i++) {
+            //noinspection unchecked
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * Returns an exact-size copy of the keys in insertion order.
+     */
+    public int[] keys() {
+        return size == 0 ? EMPTY_KEYS : Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Returns a read-only copy of the values in insertion order.
+     */
+    public List<V> values() {
+        //noinspection unchecked
+        return Collections.unmodifiableList(Arrays.asList((V[]) Arrays.copyOf(values, size)));
+    }
+
+    private int indexOf(int key) {
+        int mask = table.length - 1;
+        for (int slot = PrimitiveHashing.slot(key, mask), index; (index = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (keys[index - 1] == key) {
+                return index - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void rehash(int tableSize) {
+        int[] newTable = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = PrimitiveHashing.slot(keys[i], mask);
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = i + 1;
+        }
+        table = newTable;
+    }
+
+    /**
+     * Two maps are equal if they contain equal entries, in any order, like {@link java.util.Map#equals(Object)}.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IntObjectMap)) return false;
+        IntObjectMap<?> that = (IntObjectMap<?>) o;
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i++) {
+            int index = that.indexOf(keys[i]);
+            if (index < 0 || !Objects.equals(values[i], that.values[index])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code a {@code Map<Integer, V>} with the same entries would have.
+     */
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            result += keys[i] ^ Objects.hashCode(values[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(keys[i]).append('=').append(values[i] == this ? "(this Map)" : values[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
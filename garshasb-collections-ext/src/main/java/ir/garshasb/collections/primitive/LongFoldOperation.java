@@ -0,0 +1,9 @@
+package ir.garshasb.collections.primitive;
+
+/**
+ * The accumulating function of a {@code long} fold: takes the current accumulator and an element and returns the next accumulator.
+ */
+@FunctionalInterface
+public interface LongFoldOperation<T> {
+    long apply(long accumulator, T element);
+}
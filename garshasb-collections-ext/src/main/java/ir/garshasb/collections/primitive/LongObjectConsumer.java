@@ -0,0 +1,9 @@
+package ir.garshasb.collections.primitive;
+
+/**
+ * An operation on a {@code long} key and its value, the unboxed counterpart of a {@code BiConsumer<Long, V>}.
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+    void accept(long key, V value);
+}
@@ -0,0 +1,141 @@
+package ir.garshasb.collections.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@code long} values, the unboxed counterpart of a {@code LinkedHashSet<Long>}.
+ * <p>
+ * Values are kept in insertion order in an array, indexed by an open addressing {@code int[]} table:
+ * 8 bytes per value plus 8 to 16 of table, where a {@code HashSet} takes a 16 byte boxed value and a 32 byte node on top of its table.
+ */
+public final class LongSet {
+    private static final long[] EMPTY = {};
+
+    private long[] elements;
+    private int size;
+    private int[] table;
+
+    public LongSet() {
+        this(0);
+    }
+
+    /**
+     * Creates a set that holds {@code expectedSize} values without growing.
+     */
+    public LongSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        elements = expectedSize == 0 ? EMPTY : new long[expectedSize];
+        table = new int[PrimitiveHashing.tableSize(expectedSize)];
+    }
+
+    /**
+     * Adds the given {@code value} and returns {@code true} if it was not already in thiz set.
+     */
+    public boolean add(long value) {
+        int mask = table.length - 1;
+        int slot = PrimitiveHashing.slot(value, mask);
+        for (int index; (index = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (elements[index - 1] == value) {
+                return false;
+            }
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, PrimitiveHashing.grownCapacity(size, size + 1));
+        }
+        elements[size] = value;
+        table[slot] = ++size;
+        if (PrimitiveHashing.isOverloaded(size, table.length)) {
+            rehash(table.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        int mask = table.length - 1;
+        for (int slot = PrimitiveHashing.slot(value, mask), index; (index = table[slot]) != 0; slot = (slot + 1) & mask) {
+            if (elements[index - 1] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Performs the given {@code action} on each value in insertion order.
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    /**
+     * Returns an exact-size copy of the values in insertion order.
+     */
+    public long[] toArray() {
+        return size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+    }
+
+    private void rehash(int tableSize) {
+        int[] newTable = new int[tableSize];
+        int mask = tableSize - 1;
+        for (int i = 0; i < size; i++) {
+            int slot = PrimitiveHashing.slot(elements[i], mask);
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newTable[slot] = i + 1;
+        }
+        table = newTable;
+    }
+
+    /**
+     * Two sets are equal if they contain the same values, in any order, like {@link java.util.Set#equals(Object)}.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LongSet)) return false;
+        LongSet that = (LongSet) o;
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (!that.contains(elements[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code a {@code Set<Long>} with the same values would have.
+     */
+    @Override
+    public int hashCode() {
+        int result = 0;
+        for (int i = 0; i < size; i++) {
+            result += Long.hashCode(elements[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,57 @@
+package ir.garshasb.collections.primitive;
+
+/**
+ * Table sizing and slot hashing shared by the open addressing primitive maps and sets.
+ * <p>
+ * Their tables hold the index + 1 of an entry in each slot, 0 for a free one, and are kept at most half full,
+ * so linear probing always finds a free slot within a few steps.
+ */
+final class PrimitiveHashing {
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final int DEFAULT_CAPACITY = 10;
+
+    private PrimitiveHashing() {
+    }
+
+    /**
+     * Returns the power of two table size for {@code expectedSize} entries at a load factor of one half.
+     */
+    static int tableSize(int expectedSize) {
+        if (expectedSize >= MAX_TABLE_SIZE / 2) {
+            return MAX_TABLE_SIZE;
+        }
+        return expectedSize <= 1 ? 2 : Integer.highestOneBit(2 * expectedSize - 1) << 1;
+    }
+
+    /**
+     * Returns whether a table of {@code tableSize} slots has to grow to hold {@code size} entries.
+     */
+    static boolean isOverloaded(int size, int tableSize) {
+        return 2 * size > tableSize && tableSize < MAX_TABLE_SIZE;
+    }
+
+    /**
+     * Returns the first slot to probe for {@code key}, multiplying by the golden ratio and folding the high half down
+     * so that keys differing only in their high bits, like shifted identifiers, spread too.
+     */
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Returns the capacity to grow entry arrays of {@code length} to, by half of it and at least to {@code minCapacity}.
+     */
+    static int grownCapacity(int length, int minCapacity) {
+        int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, length + (length >> 1)));
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError("Required array length is too large.");
+        }
+        return newCapacity;
+    }
+}
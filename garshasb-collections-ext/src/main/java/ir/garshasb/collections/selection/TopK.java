@@ -0,0 +1,189 @@
+package ir.garshasb.collections.selection;
+
+import ir.garshasb.collections.sequence.Sequence;
+
+import java.util.*;
+
+/**
+ * Selects the {@code k} smallest elements of an {@link Iterable} without sorting all of it,
+ * backing the {@code minN}, {@code maxN} and {@code sortedTake} extensions.
+ * <ul>
+ *     <li>by default a bounded max-heap of {@code k} elements is kept: O(n log k) time, O(k) extra memory;</li>
+ *     <li>a {@link RandomAccess} list of which more than 1/{@value #QUICKSELECT_RATIO} is requested is quickselected over an index array instead:
+ *     O(n) expected time, at that ratio the heap would not save much memory anyway;</li>
+ *     <li>a {@link Collection} not larger than {@code k} is simply sorted.</li>
+ * </ul>
+ * The result is always sorted and stable: equal elements keep their iteration order,
+ * so it equals sorting the whole input and taking its first {@code k} elements.
+ */
+public final class TopK {
+
+    /**
+     * A {@link RandomAccess} list is quickselected when {@code k} is more than its size divided by this.
+     */
+    public static final int QUICKSELECT_RATIO = 16;
+
+    private TopK() {
+    }
+
+    /**
+     * Returns the {@code k} smallest elements of {@code source} according to {@code comparator}, in ascending order.
+     *
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static <T> List<T> smallest(Iterable<T> source, int k, Comparator<? super T> comparator) {
+        Sequence.requireNonNegative(k);
+        Objects.requireNonNull(comparator, "comparator");
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        if (source instanceof Collection && ((Collection<T>) source).size() <= k) {
+            ArrayList<T> all = new ArrayList<>((Collection<T>) source);
+            all.sort(comparator);
+            return all;
+        }
+        if (source instanceof List && source instanceof RandomAccess && k > ((List<T>) source).size() / QUICKSELECT_RATIO) {
+            return quickselect((List<T>) source, k, comparator);
+        }
+        return boundedHeap(source, k, comparator);
+    }
+
+    /**
+     * Returns the {@code k} largest elements of {@code source} according to {@code comparator}, in descending order.
+     *
+     * @throws IllegalArgumentException if {@code k} is negative.
+     */
+    public static <T> List<T> largest(Iterable<T> source, int k, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return smallest(source, k, Collections.reverseOrder(comparator));
+    }
+
+    private static <T> List<T> boundedHeap(Iterable<T> source, int k, Comparator<? super T> comparator) {
+        // max-heap on (element, iteration index), so the root is the first one to evict
+        Object[] elements = new Object[Math.min(k, 16)];
+        long[] indexes = new long[elements.length];
+        int size = 0;
+        long index = 0;
+        for (T element : source) {
+            if (size < k) {
+                if (size == elements.length) {
+                    int capacity = (int) Math.min(k, elements.length * 2L);
+                    elements = Arrays.copyOf(elements, capacity);
+                    indexes = Arrays.copyOf(indexes, capacity);
+                }
+                siftUp(elements, indexes, size++, element, index, comparator);
+            } else if (comparator.compare(element, (T) elements[0]) < 0) {
+                // an equal element never replaces the root: the earlier one wins the tie
+                siftDown(elements, indexes, size, element, index, comparator);
+            }
+            index++;
+        }
+        // heap sort in place: repeatedly move the root behind the shrinking heap
+        for (int last = size - 1; last > 0; last--) {
+            Object root = elements[0];
+            long rootIndex = indexes[0];
+            siftDown(elements, indexes, last, (T) elements[last], indexes[last], comparator);
+            elements[last] = root;
+            indexes[last] = rootIndex;
+        }
+        ArrayList<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) elements[i]);
+        }
+        return result;
+    }
+
+    private static <T> void siftUp(Object[] elements, long[] indexes, int position, T element, long index, Comparator<? super T> comparator) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (compare((T) elements[parent], indexes[parent], element, index, comparator) >= 0) {
+                break;
+            }
+            elements[position] = elements[parent];
+            indexes[position] = indexes[parent];
+            position = parent;
+        }
+        elements[position] = element;
+        indexes[position] = index;
+    }
+
+    private static <T> void siftDown(Object[] elements, long[] indexes, int size, T element, long index, Comparator<? super T> comparator) {
+        int position = 0;
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && compare((T) elements[right], indexes[right], (T) elements[child], indexes[child], comparator) > 0) {
+                child = right;
+            }
+            if (compare(element, index, (T) elements[child], indexes[child], comparator) >= 0) {
+                break;
+            }
+            elements[position] = elements[child];
+            indexes[position] = indexes[child];
+            position = child;
+        }
+        elements[position] = element;
+        indexes[position] = index;
+    }
+
+    private static <T> int compare(T a, long aIndex, T b, long bIndex, Comparator<? super T> comparator) {
+        int result = comparator.compare(a, b);
+        return result != 0 ? result : Long.compare(aIndex, bIndex);
+    }
+
+    private static <T> List<T> quickselect(List<T> list, int k, Comparator<? super T> comparator) {
+        int[] indexes = new int[list.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        int target = k - 1;
+        int low = 0;
+        int high = indexes.length - 1;
+        while (low < high) {
+            int pivot = medianOfThree(list, indexes[low], indexes[(low + high) >>> 1], indexes[high], comparator);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (compare(list, indexes[i], pivot, comparator) < 0) {
+                    i++;
+                }
+                while (compare(list, indexes[j], pivot, comparator) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    int swap = indexes[i];
+                    indexes[i++] = indexes[j];
+                    indexes[j--] = swap;
+                }
+            }
+            if (target <= j) {
+                high = j;
+            } else if (target >= i) {
+                low = i;
+            } else {
+                break;
+            }
+        }
+        // back to iteration order, so the stable sort below keeps ties in it
+        Arrays.sort(indexes, 0, k);
+        ArrayList<T> selected = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            selected.add(list.get(indexes[i]));
+        }
+        selected.sort(comparator);
+        return selected;
+    }
+
+    private static <T> int medianOfThree(List<T> list, int a, int b, int c, Comparator<? super T> comparator) {
+        if (compare(list, a, b, comparator) < 0) {
+            return compare(list, b, c, comparator) < 0 ? b : compare(list, a, c, comparator) < 0 ? c : a;
+        }
+        return compare(list, a, c, comparator) < 0 ? a : compare(list, b, c, comparator) < 0 ? c : b;
+    }
+
+    private static <T> int compare(List<T> list, int a, int b, Comparator<? super T> comparator) {
+        int result = comparator.compare(list.get(a), list.get(b));
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+}
@@ -0,0 +1,214 @@
+package ir.garshasb.collections.sequence;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A lazily evaluated {@link Iterable}.
+ * <p>
+ * Intermediate operations ({@link #map}, {@link #filter}, {@link #flatMap}, {@link #take}, {@link #drop}, {@link #distinctBy})
+ * only stack iterators on top of each other, no element is touched until a terminal operation
+ * ({@link #first}, {@link #toList}, {@link #fold}, {@link #joinToString}, or any {@code Iterable} extension) pulls from it.
+ * The whole chain then runs as a single pass without intermediate collections, and stops as soon as the terminal
+ * operation has what it needs.
+ * <p>
+ * A sequence can be iterated as many times as its source can; each iteration re-runs the chain.
+ */
+@FunctionalInterface
+public interface Sequence<T> extends Iterable<T> {
+
+    /**
+     * Returns a sequence containing the results of applying the given {@code transform} function to each element.
+     */
+    default <R> Sequence<R> map(Function<? super T, ? extends R> transform) {
+        return () -> new SequenceIterators.Transforming<>(iterator(), transform);
+    }
+
+    /**
+     * Returns a sequence containing only the non-null results of applying the given {@code transform} function to each element.
+     */
+    default <R> Sequence<R> mapNotNull(Function<? super T, ? extends R> transform) {
+        return this.<R>map(transform).filter(Objects::nonNull);
+    }
+
+    /**
+     * Returns a sequence containing only elements matching the given {@code predicate}.
+     */
+    default Sequence<T> filter(Predicate<? super T> predicate) {
+        return () -> new SequenceIterators.Filtering<>(iterator(), predicate, true);
+    }
+
+    /**
+     * Returns a sequence containing all elements not matching the given {@code predicate}.
+     */
+    default Sequence<T> filterNot(Predicate<? super T> predicate) {
+        return () -> new SequenceIterators.Filtering<>(iterator(), predicate, false);
+    }
+
+    /**
+     * Returns a single sequence of all elements yielded from results of {@code transform} function being invoked on each element.
+     */
+    default <R> Sequence<R> flatMap(Function<? super T, ? extends Iterable<? extends R>> transform) {
+        return () -> new SequenceIterators.FlatMapping<>(iterator(), transform);
+    }
+
+    /**
+     * Returns a sequence containing the first {@code n} elements.
+     *
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    default Sequence<T> take(int n) {
+        requireNonNegative(n);
+        return () -> new SequenceIterators.Taking<>(iterator(), n);
+    }
+
+    /**
+     * Returns a sequence containing all elements except the first {@code n} elements.
+     *
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    default Sequence<T> drop(int n) {
+        requireNonNegative(n);
+        return n == 0 ? this : () -> new SequenceIterators.Dropping<>(iterator(), n);
+    }
+
+    /**
+     * Returns a sequence containing only distinct elements.
+     */
+    default Sequence<T> distinct() {
+        return distinctBy(Function.identity());
+    }
+
+    /**
+     * Returns a sequence containing only elements having distinct keys returned by the given {@code selector} function.
+     * <p>
+     * The first element of each key wins, the set of seen keys is only kept for the duration of one iteration.
+     */
+    default <K> Sequence<T> distinctBy(Function<? super T, ? extends K> selector) {
+        return () -> new SequenceIterators.Distinct<>(iterator(), selector);
+    }
+
+    /**
+     * Returns a sequence of lists of {@code size} elements each, the last list may have fewer elements.
+     *
+     * @throws IllegalArgumentException if {@code size} is not positive.
+     */
+    default Sequence<List<T>> chunked(int size) {
+        return windowed(size, size, true);
+    }
+
+    /**
+     * Returns a sequence of windows of {@code size} elements, each window starting {@code step} elements after the previous one.
+     *
+     * @param partialWindows whether the trailing windows with fewer than {@code size} elements are kept.
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not positive.
+     */
+    default Sequence<List<T>> windowed(int size, int step, boolean partialWindows) {
+        Windows.checkWindowSizeStep(size, step);
+        return () -> Windows.windowed(iterator(), size, step, partialWindows);
+    }
+
+    /**
+     * Returns first element.
+     *
+     * @throws NoSuchElementException if the sequence is empty.
+     */
+    default T first() {
+        Iterator<T> iterator = iterator();
+        if (!iterator.hasNext()) {
+            throw new NoSuchElementException("Sequence is empty.");
+        }
+        return iterator.next();
+    }
+
+    /**
+     * Returns the first element matching the given {@code predicate}.
+     *
+     * @throws NoSuchElementException if no such element is found.
+     */
+    default T first(Predicate<? super T> predicate) {
+        for (T element : this) {
+            if (predicate.test(element)) {
+                return element;
+            }
+        }
+        throw new NoSuchElementException("Sequence contains no element matching the predicate.");
+    }
+
+    /**
+     * Returns the first element, or {@code null} if the sequence is empty.
+     */
+    default T firstOrNull() {
+        Iterator<T> iterator = iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    /**
+     * Returns a {@code List} containing all elements.
+     */
+    default List<T> toList() {
+        ArrayList<T> list = new ArrayList<>();
+        iterator().forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * Returns a {@code Set} containing all unique elements, in iteration order.
+     */
+    default Set<T> toSet() {
+        LinkedHashSet<T> set = new LinkedHashSet<>();
+        iterator().forEachRemaining(set::add);
+        return set;
+    }
+
+    /**
+     * Accumulates value starting with {@code initial} value and applying {@code operation} from left to right to current accumulator value and each element.
+     */
+    default <R> R fold(R initial, BiFunction<R, ? super T, R> operation) {
+        R accumulator = initial;
+        for (T element : this) {
+            accumulator = operation.apply(accumulator, element);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Join the elements together in a String separated by {@code separator}.
+     */
+    default String joinToString(CharSequence separator) {
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for (T element : this) {
+            if (count++ > 0) {
+                sb.append(separator);
+            }
+            sb.append(element);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns a sequence over the elements of the given {@code source}, which is iterated lazily.
+     */
+    static <T> Sequence<T> of(Iterable<T> source) {
+        if (source instanceof Sequence) {
+            return (Sequence<T>) source;
+        }
+        return source::iterator;
+    }
+
+    /**
+     * Returns an empty sequence.
+     */
+    static <T> Sequence<T> empty() {
+        return Collections::emptyIterator;
+    }
+
+    static void requireNonNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Requested element count " + n + " is less than zero.");
+        }
+    }
+}
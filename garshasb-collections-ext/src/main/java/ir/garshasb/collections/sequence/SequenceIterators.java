@@ -0,0 +1,204 @@
+package ir.garshasb.collections.sequence;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * The iterators {@link Sequence} stacks for its intermediate operations.
+ */
+final class SequenceIterators {
+
+    private SequenceIterators() {
+    }
+
+    /**
+     * Base for iterators that have to look ahead to know whether there is a next element.
+     */
+    abstract static class Computing<T> implements Iterator<T> {
+        private static final int NOT_READY = 0;
+        private static final int READY = 1;
+        private static final int DONE = 2;
+
+        private int state = NOT_READY;
+        private T next;
+
+        /**
+         * Either calls {@link #setNext(Object)} or {@link #done()}.
+         */
+        protected abstract void computeNext();
+
+        protected final void setNext(T value) {
+            next = value;
+            state = READY;
+        }
+
+        protected final void done() {
+            state = DONE;
+        }
+
+        @Override
+        public final boolean hasNext() {
+            if (state == NOT_READY) {
+                computeNext();
+            }
+            return state == READY;
+        }
+
+        @Override
+        public final T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            state = NOT_READY;
+            return result;
+        }
+    }
+
+    static final class Transforming<T, R> implements Iterator<R> {
+        private final Iterator<T> source;
+        private final Function<? super T, ? extends R> transform;
+
+        Transforming(Iterator<T> source, Function<? super T, ? extends R> transform) {
+            this.source = source;
+            this.transform = transform;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return source.hasNext();
+        }
+
+        @Override
+        public R next() {
+            return transform.apply(source.next());
+        }
+    }
+
+    static final class Filtering<T> extends Computing<T> {
+        private final Iterator<T> source;
+        private final Predicate<? super T> predicate;
+        private final boolean sendWhen;
+
+        Filtering(Iterator<T> source, Predicate<? super T> predicate, boolean sendWhen) {
+            this.source = source;
+            this.predicate = predicate;
+            this.sendWhen = sendWhen;
+        }
+
+        @Override
+        protected void computeNext() {
+            while (source.hasNext()) {
+                T element = source.next();
+                if (predicate.test(element) == sendWhen) {
+                    setNext(element);
+                    return;
+                }
+            }
+            done();
+        }
+    }
+
+    static final class FlatMapping<T, R> extends Computing<R> {
+        private final Iterator<T> source;
+        private final Function<? super T, ? extends Iterable<? extends R>> transform;
+        private Iterator<? extends R> current;
+
+        FlatMapping(Iterator<T> source, Function<? super T, ? extends Iterable<? extends R>> transform) {
+            this.source = source;
+            this.transform = transform;
+        }
+
+        @Override
+        protected void computeNext() {
+            while (current == null || !current.hasNext()) {
+                if (!source.hasNext()) {
+                    done();
+                    return;
+                }
+                current = transform.apply(source.next()).iterator();
+            }
+            setNext(current.next());
+        }
+    }
+
+    static final class Taking<T> implements Iterator<T> {
+        private final Iterator<T> source;
+        private int left;
+
+        Taking(Iterator<T> source, int count) {
+            this.source = source;
+            this.left = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return left > 0 && source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (left <= 0) {
+                throw new NoSuchElementException();
+            }
+            left--;
+            return source.next();
+        }
+    }
+
+    static final class Dropping<T> implements Iterator<T> {
+        private final Iterator<T> source;
+        private int left;
+
+        Dropping(Iterator<T> source, int count) {
+            this.source = source;
+            this.left = count;
+        }
+
+        private void skip() {
+            while (left > 0 && source.hasNext()) {
+                source.next();
+                left--;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            skip();
+            return source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            skip();
+            return source.next();
+        }
+    }
+
+    static final class Distinct<T, K> extends Computing<T> {
+        private final Iterator<T> source;
+        private final Function<? super T, ? extends K> selector;
+        private final HashSet<K> seen = new HashSet<>();
+
+        Distinct(Iterator<T> source, Function<? super T, ? extends K> selector) {
+            this.source = source;
+            this.selector = selector;
+        }
+
+        @Override
+        protected void computeNext() {
+            while (source.hasNext()) {
+                T element = source.next();
+                if (seen.add(selector.apply(element))) {
+                    setNext(element);
+                    return;
+                }
+            }
+            done();
+        }
+    }
+}
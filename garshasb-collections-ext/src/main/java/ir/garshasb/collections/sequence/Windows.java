@@ -0,0 +1,168 @@
+package ir.garshasb.collections.sequence;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Sliding-window and chunking over an {@link Iterator}, shared by the {@code chunked}/{@code windowed} operations of
+ * {@link Sequence}, {@code Iterable} and {@code Stream}.
+ * <p>
+ * Windows of {@code size} elements start every {@code step} elements, {@code chunked(n)} is {@code windowed(n, n, true)}.
+ * With {@code partialWindows} the windows that run past the end of the source are emitted with fewer elements,
+ * otherwise they are dropped.
+ */
+public final class Windows {
+
+    private Windows() {
+    }
+
+    /**
+     * Returns an iterator over the windows of {@code source}, each window is a new list.
+     */
+    public static <T> Iterator<List<T>> windowed(Iterator<T> source, int size, int step, boolean partialWindows) {
+        checkWindowSizeStep(size, step);
+        return new WindowingIterator<>(new Slider<>(source, size, step, partialWindows));
+    }
+
+    /**
+     * Performs {@code action} on each window of {@code source}.
+     * <p>
+     * The same read-only list instance is passed on every call and is refilled in place for the next window, so no list
+     * is allocated per window. It is only valid for the duration of the call, copy it to keep its contents.
+     */
+    public static <T> void forEachWindow(Iterator<T> source, int size, int step, boolean partialWindows, Consumer<? super List<T>> action) {
+        checkWindowSizeStep(size, step);
+        Slider<T> slider = new Slider<>(source, size, step, partialWindows);
+        while (slider.advance()) {
+            action.accept(slider.window);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code size} or {@code step} is not positive.
+     */
+    public static void checkWindowSizeStep(int size, int step) {
+        if (size <= 0 || step <= 0) {
+            throw new IllegalArgumentException(size != step
+                    ? "Both size " + size + " and step " + step + " must be greater than zero."
+                    : "size " + size + " must be greater than zero.");
+        }
+    }
+
+    /**
+     * Moves a {@link RingWindow} over the source, one window per {@link #advance()}.
+     */
+    private static final class Slider<T> {
+        private final Iterator<T> source;
+        private final int size;
+        private final int step;
+        private final boolean partialWindows;
+        private final RingWindow<T> window;
+        private boolean started;
+
+        Slider(Iterator<T> source, int size, int step, boolean partialWindows) {
+            this.source = source;
+            this.size = size;
+            this.step = step;
+            this.partialWindows = partialWindows;
+            this.window = new RingWindow<>(size);
+        }
+
+        boolean advance() {
+            if (started) {
+                if (step >= window.size()) {
+                    int skip = step - window.size();
+                    window.reset();
+                    while (skip-- > 0 && source.hasNext()) {
+                        source.next();
+                    }
+                } else {
+                    window.dropFirst(step);
+                }
+            }
+            started = true;
+            while (window.size() < size && source.hasNext()) {
+                window.push(source.next());
+            }
+            return window.size() == size || (partialWindows && !window.isEmpty());
+        }
+    }
+
+    /**
+     * A read-only list view over a circular buffer of at most {@code capacity} elements.
+     */
+    private static final class RingWindow<T> extends AbstractList<T> implements RandomAccess {
+        private final int capacity;
+        private Object[] elements;
+        private int head;
+        private int count;
+
+        RingWindow(int capacity) {
+            this.capacity = capacity;
+            this.elements = new Object[Math.min(capacity, 16)];
+        }
+
+        void push(T element) {
+            if (count == elements.length) {
+                grow();
+            }
+            elements[(head + count) % elements.length] = element;
+            count++;
+        }
+
+        void dropFirst(int n) {
+            for (int i = 0; i < n; i++) {
+                elements[head] = null;
+                head = (head + 1) % elements.length;
+            }
+            count -= n;
+        }
+
+        void reset() {
+            Arrays.fill(elements, null);
+            head = 0;
+            count = 0;
+        }
+
+        private void grow() {
+            int newLength = (int) Math.min(capacity, (long) elements.length << 1);
+            Object[] grown = new Object[newLength];
+            for (int i = 0; i < count; i++) {
+                grown[i] = elements[(head + i) % elements.length];
+            }
+            elements = grown;
+            head = 0;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+            }
+            //noinspection unchecked
+            return (T) elements[(head + index) % elements.length];
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private static final class WindowingIterator<T> extends SequenceIterators.Computing<List<T>> {
+        private final Slider<T> slider;
+
+        WindowingIterator(Slider<T> slider) {
+            this.slider = slider;
+        }
+
+        @Override
+        protected void computeNext() {
+            if (slider.advance()) {
+                setNext(new ArrayList<>(slider.window));
+            } else {
+                done();
+            }
+        }
+    }
+}
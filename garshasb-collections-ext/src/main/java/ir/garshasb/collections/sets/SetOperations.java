@@ -0,0 +1,317 @@
+package ir.garshasb.collections.sets;
+
+import ir.garshasb.collections.immutable.CompactSet;
+import ir.garshasb.collections.immutable.FrozenSet;
+
+import java.util.*;
+
+/**
+ * Picks a strategy for the set operations of the {@code Iterable} extensions
+ * ({@code intersect}, {@code subtract}, {@code union} and {@code minus}) from the shape and size of the inputs:
+ * <ul>
+ *     <li>both inputs sorted by the same comparator: a linear merge, nothing is hashed. Only when the comparator is natural order,
+ *     or when an input is flagged as a {@link SortedIterable}: the merge tells elements apart by the comparator, not {@code equals},
+ *     and the comparator of a {@link SortedSet} may disagree with {@code equals}, like {@link String#CASE_INSENSITIVE_ORDER};</li>
+ *     <li>a lookup side that already is a {@link HashSet}, {@link LinkedHashSet}, {@link CompactSet} or {@link FrozenSet}:
+ *     its own {@code contains} is used. Any other set is copied like a list, its {@code contains} may be linear, or not use {@code equals};</li>
+ *     <li>a lookup side of at most {@value #LINEAR_SCAN_THRESHOLD} elements: scanned linearly, which beats hashing at that size;</li>
+ *     <li>otherwise the smaller side is hashed, and the larger one streamed past it.</li>
+ * </ul>
+ * Results keep the iteration order documented by the extensions whatever strategy is used.
+ */
+public final class SetOperations {
+
+    /**
+     * Up to this many elements a lookup side is scanned with {@code equals} instead of being hashed.
+     */
+    public static final int LINEAR_SCAN_THRESHOLD = 8;
+
+    private SetOperations() {
+    }
+
+    /**
+     * Returns the elements of {@code left} that are contained in {@code right}, in the iteration order of {@code left}.
+     */
+    public static <T> Set<T> intersect(Iterable<T> left, Iterable<T> right) {
+        Comparator<? super T> order = commonSortOrder(left, right);
+        if (order != null) {
+            return new LinkedHashSet<>(sortedIntersect(left, right, order));
+        }
+        if (isHashSet(left) && right instanceof Collection && ((Collection<T>) right).size() < ((Collection<T>) left).size()) {
+            // probe the large set with the few candidates, then only walk it until all matches are found
+            Set<T> matches = new HashSet<>();
+            for (T element : right) {
+                if (((Set<T>) left).contains(element)) {
+                    matches.add(element);
+                }
+            }
+            return retainInOrder(left, matches);
+        }
+        if (left instanceof Collection && right instanceof Collection && !isHashSet(right)
+                && ((Collection<T>) left).size() < ((Collection<T>) right).size()) {
+            // hash the smaller left side and stream the larger right side past it
+            Set<T> candidates = new HashSet<>((Collection<T>) left);
+            Set<T> matches = new HashSet<>();
+            for (T element : right) {
+                if (candidates.contains(element)) {
+                    matches.add(element);
+                }
+            }
+            return retainInOrder(left, matches);
+        }
+        Collection<T> lookup = lookup(right);
+        LinkedHashSet<T> result = new LinkedHashSet<>();
+        for (T element : left) {
+            if (lookup.contains(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct elements of {@code left} that are not contained in {@code right}, in the iteration order of {@code left}.
+     */
+    public static <T> Set<T> subtract(Iterable<T> left, Iterable<T> right) {
+        Comparator<? super T> order = commonSortOrder(left, right);
+        if (order != null) {
+            return new LinkedHashSet<>(sortedSubtract(left, right, order));
+        }
+        if (left instanceof Collection && right instanceof Collection && !isHashSet(right)
+                && ((Collection<T>) left).size() < ((Collection<T>) right).size()) {
+            // the result is a hash of the smaller left side anyway, so stream the larger right side through it
+            LinkedHashSet<T> result = new LinkedHashSet<>((Collection<T>) left);
+            for (T element : right) {
+                if (result.remove(element) && result.isEmpty()) {
+                    break;
+                }
+            }
+            return result;
+        }
+        Collection<T> lookup = lookup(right);
+        LinkedHashSet<T> result = new LinkedHashSet<>();
+        for (T element : left) {
+            if (!lookup.contains(element)) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct elements of both inputs: those of {@code left} in its order,
+     * then the ones only in {@code right} in its order.
+     * <p>
+     * A merge would interleave the two inputs, so sorted inputs only get a presized result here, see {@link #sortedUnion}.
+     */
+    public static <T> Set<T> union(Iterable<T> left, Iterable<T> right) {
+        int expectedSize = sizeOrDefault(left, 0) + sizeOrDefault(right, 0);
+        LinkedHashSet<T> result = new LinkedHashSet<>(Math.max(16, (int) (expectedSize / .75f) + 1));
+        for (T element : left) {
+            result.add(element);
+        }
+        for (T element : right) {
+            result.add(element);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a collection with the elements of {@code elements} whose {@code contains} is cheap and uses {@code equals}:
+     * a {@link HashSet}, {@link CompactSet} or {@link FrozenSet} as is, up to {@value #LINEAR_SCAN_THRESHOLD} elements as a list, otherwise a new {@link HashSet}.
+     * Other sets are always copied: the {@code contains} of a {@link SortedSet} uses its comparator, the one of an identity set {@code ==}.
+     */
+    public static <T> Collection<T> lookup(Iterable<T> elements) {
+        if (isHashSet(elements)) {
+            return (Collection<T>) elements;
+        }
+        if (elements instanceof Collection) {
+            Collection<T> collection = (Collection<T>) elements;
+            if (collection.size() > LINEAR_SCAN_THRESHOLD) {
+                return new HashSet<>(collection);
+            }
+            return collection instanceof List ? collection : new ArrayList<>(collection);
+        }
+        ArrayList<T> list = new ArrayList<>();
+        for (T element : elements) {
+            list.add(element);
+        }
+        return list.size() <= LINEAR_SCAN_THRESHOLD ? list : new HashSet<>(list);
+    }
+
+    /**
+     * Returns a collection with the given {@code elements} whose {@code contains} is cheap, see {@link #lookup(Iterable)}.
+     */
+    public static <T> Collection<T> lookup(T[] elements) {
+        return elements.length <= LINEAR_SCAN_THRESHOLD ? Arrays.asList(elements) : new HashSet<>(Arrays.asList(elements));
+    }
+
+    /**
+     * Merges two inputs sorted by {@code comparator} into the sorted list of the distinct elements found in both.
+     * Elements are taken from {@code left}.
+     */
+    public static <T> List<T> sortedIntersect(Iterable<T> left, Iterable<T> right, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>();
+        Iterator<T> l = left.iterator();
+        Iterator<T> r = right.iterator();
+        if (!l.hasNext() || !r.hasNext()) {
+            return result;
+        }
+        T a = l.next();
+        T b = r.next();
+        while (true) {
+            int c = comparator.compare(a, b);
+            if (c == 0) {
+                addDistinct(result, a, comparator);
+            }
+            if (c <= 0) {
+                if (!l.hasNext()) {
+                    break;
+                }
+                a = l.next();
+            }
+            if (c >= 0) {
+                if (!r.hasNext()) {
+                    break;
+                }
+                b = r.next();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Merges two inputs sorted by {@code comparator} into the sorted list of the distinct elements found in either.
+     * Elements found in both are taken from {@code left}.
+     */
+    public static <T> List<T> sortedUnion(Iterable<T> left, Iterable<T> right, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>(sizeOrDefault(left, 0) + sizeOrDefault(right, 0));
+        Iterator<T> l = left.iterator();
+        Iterator<T> r = right.iterator();
+        boolean hasA = l.hasNext();
+        T a = hasA ? l.next() : null;
+        boolean hasB = r.hasNext();
+        T b = hasB ? r.next() : null;
+        while (hasA && hasB) {
+            int c = comparator.compare(a, b);
+            if (c <= 0) {
+                addDistinct(result, a, comparator);
+                hasA = l.hasNext();
+                a = hasA ? l.next() : null;
+            } else {
+                addDistinct(result, b, comparator);
+                hasB = r.hasNext();
+                b = hasB ? r.next() : null;
+            }
+        }
+        while (hasA) {
+            addDistinct(result, a, comparator);
+            hasA = l.hasNext();
+            a = hasA ? l.next() : null;
+        }
+        while (hasB) {
+            addDistinct(result, b, comparator);
+            hasB = r.hasNext();
+            b = hasB ? r.next() : null;
+        }
+        return result;
+    }
+
+    /**
+     * Merges two inputs sorted by {@code comparator} into the sorted list of the distinct elements of {@code left} not found in {@code right}.
+     */
+    public static <T> List<T> sortedSubtract(Iterable<T> left, Iterable<T> right, Comparator<? super T> comparator) {
+        List<T> result = new ArrayList<>();
+        Iterator<T> r = right.iterator();
+        boolean hasB = r.hasNext();
+        T b = hasB ? r.next() : null;
+        for (T a : left) {
+            while (hasB && comparator.compare(b, a) < 0) {
+                hasB = r.hasNext();
+                b = hasB ? r.next() : null;
+            }
+            if (!hasB || comparator.compare(a, b) != 0) {
+                addDistinct(result, a, comparator);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the comparator both inputs are sorted by and may be merged with, or {@code null} if they are not known to share one.
+     * <p>
+     * A comparator other than natural order is only returned when an input is a {@link SortedIterable}: flagging it is how
+     * the caller vouches for the comparator agreeing with {@code equals}, two {@link SortedSet}s alone are not trusted to.
+     */
+    public static <T> Comparator<? super T> commonSortOrder(Iterable<T> left, Iterable<T> right) {
+        Comparator<? super T> order = sortOrder(left);
+        if (order == null || !order.equals(sortOrder(right))) {
+            return null;
+        }
+        return !hasCustomComparator(left) && !hasCustomComparator(right) || left instanceof SortedIterable || right instanceof SortedIterable ? order : null;
+    }
+
+    /**
+     * Returns the comparator {@code elements} is known to be sorted by, or {@code null}.
+     */
+    public static <T> Comparator<? super T> sortOrder(Iterable<T> elements) {
+        if (elements instanceof SortedIterable) {
+            return ((SortedIterable<T>) elements).comparator();
+        }
+        if (elements instanceof SortedSet) {
+            Comparator<? super T> comparator = ((SortedSet<T>) elements).comparator();
+            //noinspection unchecked
+            return comparator != null ? comparator : (Comparator<? super T>) Comparator.naturalOrder();
+        }
+        return null;
+    }
+
+    /**
+     * Returns a view of {@code elements} flagged as sorted by {@code comparator}.
+     */
+    public static <T> SortedIterable<T> assumeSorted(Iterable<T> elements, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator");
+        return new SortedIterable<T>() {
+            @Override
+            public Comparator<? super T> comparator() {
+                return comparator;
+            }
+
+            @Override
+            public Iterator<T> iterator() {
+                return elements.iterator();
+            }
+        };
+    }
+
+    private static <T> Set<T> retainInOrder(Iterable<T> source, Set<T> matches) {
+        LinkedHashSet<T> result = new LinkedHashSet<>();
+        if (matches.isEmpty()) {
+            return result;
+        }
+        for (T element : source) {
+            if (matches.contains(element) && result.add(element) && result.size() == matches.size()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static <T> void addDistinct(List<T> result, T element, Comparator<? super T> comparator) {
+        if (result.isEmpty() || comparator.compare(result.get(result.size() - 1), element) != 0) {
+            result.add(element);
+        }
+    }
+
+    private static boolean hasCustomComparator(Iterable<?> elements) {
+        return elements instanceof SortedSet && !Comparator.naturalOrder().equals(sortOrder(elements));
+    }
+
+    private static boolean isHashSet(Iterable<?> elements) {
+        return elements instanceof HashSet || elements instanceof CompactSet || elements instanceof FrozenSet;
+    }
+
+    private static int sizeOrDefault(Iterable<?> elements, int defaultSize) {
+        return elements instanceof Collection ? ((Collection<?>) elements).size() : defaultSize;
+    }
+}
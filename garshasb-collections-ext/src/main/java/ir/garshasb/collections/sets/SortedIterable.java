@@ -0,0 +1,19 @@
+package ir.garshasb.collections.sets;
+
+import java.util.Comparator;
+
+/**
+ * An {@link Iterable} whose elements are known to be iterated in ascending {@link #comparator()} order.
+ * <p>
+ * The set operations merge two inputs in linear time, without hashing, when both are sorted by the same comparator.
+ * A {@code SortedSet} in natural order is recognized as sorted on its own, any other source can be flagged with the
+ * {@code assumeSorted(comparator)} Iterable extension. The order is trusted, not checked, and so is the comparator
+ * agreeing with {@code equals}: the merge tells elements apart by the comparator.
+ */
+public interface SortedIterable<T> extends Iterable<T> {
+
+    /**
+     * Returns the comparator the elements are sorted by, never {@code null}: natural order is {@link Comparator#naturalOrder()}.
+     */
+    Comparator<? super T> comparator();
+}
@@ -0,0 +1,280 @@
+package ir.garshasb.collections.sketch;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * A HyperLogLog sketch estimating the number of distinct elements added to it in a fixed amount of memory,
+ * one byte per register, {@code 2^precision} registers: 16 KB at the {@link #DEFAULT_PRECISION}, whatever the count.
+ * The relative standard error of the estimate is about {@code 1.04 / sqrt(2^precision)}, 0.8% at the default precision.
+ * <p>
+ * Sketches of the same precision {@link #merge(HyperLogLog) merge} into the sketch of the union of their elements, so
+ * partial sketches of parallel splits or of other processes, sent as Java serialized objects or {@link #toByteArray()},
+ * combine into the exact sketch a single pass would have built. The estimate uses the improved estimator of Otmar Ertl,
+ * "New cardinality estimation algorithms for HyperLogLog sketches" (2017), which needs no empirical bias correction.
+ * <p>
+ * Elements are hashed to 64 bits: integral numbers, {@link CharSequence}s, {@link UUID}s and doubles by their value,
+ * any other object by its {@link Object#hashCode()}, which only carries 32 bits: distinct counts of such objects stay accurate
+ * up to a few tens of millions, past that colliding hash codes make the estimate low. {@code null} is counted as an element.
+ * Not thread safe: parallel work builds one sketch per thread and merges them, like {@link #collector(int)} does.
+ */
+public final class HyperLogLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch of the {@link #DEFAULT_PRECISION}.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates an empty sketch of {@code 2^precision} registers.
+     *
+     * @throws IllegalArgumentException if {@code precision} is not between {@value #MIN_PRECISION} and {@value #MAX_PRECISION}.
+     */
+    public HyperLogLog(int precision) {
+        this(precision, new byte[1 << checkPrecision(precision)]);
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Returns a collector building the sketch of the elements of a stream, one sketch per split of a parallel stream, then merged.
+     */
+    public static <T> Collector<T, HyperLogLog, HyperLogLog> collector(int precision) {
+        return collector(precision, Function.identity());
+    }
+
+    /**
+     * Returns a collector building the sketch of the keys {@code selector} returns for the elements of a stream,
+     * one sketch per split of a parallel stream, then merged.
+     */
+    public static <T> Collector<T, HyperLogLog, HyperLogLog> collector(int precision, Function<? super T, ?> selector) {
+        checkPrecision(precision);
+        return Collector.of(() -> new HyperLogLog(precision), (sketch, element) -> sketch.add(selector.apply(element)),
+                HyperLogLog::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Reads a sketch written by {@link #toByteArray()}.
+     *
+     * @throws IllegalArgumentException if {@code bytes} is not a sketch.
+     */
+    public static HyperLogLog fromByteArray(byte[] bytes) {
+        if (bytes.length == 0 || !isValid(bytes[0], Arrays.copyOfRange(bytes, 1, bytes.length))) {
+            throw new IllegalArgumentException("Not a HyperLogLog sketch.");
+        }
+        return new HyperLogLog(bytes[0], Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    /**
+     * Returns the precision, the number of registers is {@code 2^precision}.
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Returns the relative standard error of {@link #estimate()}, {@code 1.04 / sqrt(2^precision)}.
+     */
+    public double relativeStandardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    /**
+     * Adds {@code element}, hashed as documented on the class.
+     */
+    public void add(Object element) {
+        addHash(hash(element));
+    }
+
+    /**
+     * Adds the {@code long} {@code value}, the same as adding it boxed.
+     */
+    public void addLong(long value) {
+        addHash(mix(value));
+    }
+
+    /**
+     * Adds an element by a 64 bit hash of it computed by the caller, whose bits must all be evenly distributed.
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // leading zeros of the bits left after the index, plus one; the guard bit caps the rank at 64 - precision + 1
+        int rank = Long.numberOfLeadingZeros(hash << precision | 1L << (precision - 1)) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Merges {@code other} into this sketch, which then estimates the distinct count of the union of both, and returns this sketch.
+     *
+     * @throws IllegalArgumentException if {@code other} has another precision.
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge a sketch of precision " + other.precision + " into one of precision " + precision + ".");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the estimated number of distinct elements added.
+     */
+    public long estimate() {
+        int q = 64 - precision;
+        int m = registers.length;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m / (2 * Math.log(2)) * m / z);
+    }
+
+    /**
+     * Returns the precision followed by the registers, one byte each, the format {@link #fromByteArray(byte[])} reads.
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HyperLogLog && precision == ((HyperLogLog) o).precision && Arrays.equals(registers, ((HyperLogLog) o).registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * precision + Arrays.hashCode(registers);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{precision=" + precision + ", estimate=" + estimate() + "}";
+    }
+
+    /**
+     * Rejects a serialized sketch {@link #fromByteArray(byte[])} would reject, which would otherwise fail on its first use.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (!isValid(precision, registers)) {
+            throw new InvalidObjectException("Not a HyperLogLog sketch.");
+        }
+    }
+
+    private static boolean isValid(int precision, byte[] registers) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION || registers == null || registers.length != 1 << precision) {
+            return false;
+        }
+        for (byte register : registers) {
+            if (register < 0 || register > 64 - precision + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checkPrecision(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision " + precision + " is not between " + MIN_PRECISION + " and " + MAX_PRECISION + ".");
+        }
+        return precision;
+    }
+
+    static long hash(Object element) {
+        if (element instanceof Long || element instanceof Integer || element instanceof Short || element instanceof Byte) {
+            return mix(((Number) element).longValue());
+        }
+        if (element instanceof CharSequence) {
+            CharSequence chars = (CharSequence) element;
+            // FNV-1a over the chars, then mixed so that every bit of the hash depends on every char
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash = (hash ^ chars.charAt(i)) * 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+        if (element instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) element));
+        }
+        if (element instanceof UUID) {
+            UUID uuid = (UUID) element;
+            return mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+        }
+        return mix(element == null ? 0x9E3779B97F4A7C15L : element.hashCode());
+    }
+
+    /**
+     * The finalizer of SplitMix64, a bijection spreading every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        long z = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+}
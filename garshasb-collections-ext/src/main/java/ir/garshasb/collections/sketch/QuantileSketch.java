@@ -0,0 +1,240 @@
+package ir.garshasb.collections.sketch;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A quantile sketch after DDSketch (Masson, Rim and Lee, "DDSketch: a fast and fully-mergeable quantile sketch with
+ * relative-error guarantees", 2019): values are counted in buckets whose bounds grow geometrically, so every quantile
+ * it returns is within {@link #relativeAccuracy()} of the exact value, 1% by default.
+ * <p>
+ * Memory grows with the spread of the values, not their count: one {@code long} per bucket between the smallest and the largest
+ * magnitude, about {@code ln(max / min) / (2 * relativeAccuracy)} buckets, under 16 KB for latencies between a microsecond
+ * and a hundred seconds at 1%. Sketches of the same accuracy {@link #merge(QuantileSketch) merge} into the exact sketch of the union
+ * of their values, and are serializable, so partial sketches of parallel splits or of other processes combine.
+ * Not thread safe.
+ */
+public final class QuantileSketch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final double MIN_RELATIVE_ACCURACY = 1e-6;
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final Buckets positives = new Buckets();
+    private final Buckets negatives = new Buckets();
+    private long zeroCount;
+
+    /**
+     * Creates an empty sketch of the {@link #DEFAULT_RELATIVE_ACCURACY}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates an empty sketch whose quantiles are within {@code relativeAccuracy} of the exact ones.
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is not between {@value #MIN_RELATIVE_ACCURACY} and 1, excluded.
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        // below the minimum, the indexes of the largest doubles would not fit an int
+        if (!(relativeAccuracy >= MIN_RELATIVE_ACCURACY && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy " + relativeAccuracy + " is not between " + MIN_RELATIVE_ACCURACY + " and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the number of values added.
+     */
+    public long count() {
+        return zeroCount + positives.total + negatives.total;
+    }
+
+    /**
+     * Adds {@code value}. Magnitudes below {@link Double#MIN_NORMAL} are counted as zeros.
+     *
+     * @throws IllegalArgumentException if {@code value} is NaN or infinite.
+     */
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Value " + value + " is not finite.");
+        }
+        if (value >= Double.MIN_NORMAL) {
+            positives.add(index(value), 1);
+        } else if (value <= -Double.MIN_NORMAL) {
+            negatives.add(index(-value), 1);
+        } else {
+            zeroCount++;
+        }
+    }
+
+    /**
+     * Merges {@code other} into this sketch, which then holds the values of both, and returns this sketch.
+     *
+     * @throws IllegalArgumentException if {@code other} has another relative accuracy.
+     */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge a sketch of relative accuracy " + other.relativeAccuracy
+                    + " into one of relative accuracy " + relativeAccuracy + ".");
+        }
+        positives.addAll(other.positives);
+        negatives.addAll(other.negatives);
+        zeroCount += other.zeroCount;
+        return this;
+    }
+
+    /**
+     * Returns the value at the {@code quantile}, within {@link #relativeAccuracy()} of the exact one: the median for {@code 0.5}.
+     *
+     * @throws IllegalArgumentException if {@code quantile} is not between 0 and 1.
+     * @throws NoSuchElementException if the sketch is empty.
+     */
+    public double quantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile " + quantile + " is not between 0 and 1.");
+        }
+        long count = count();
+        if (count == 0) {
+            throw new NoSuchElementException("The sketch is empty.");
+        }
+        // the rank of the value in the sorted values, counted from zero
+        long rank = (long) (quantile * (count - 1));
+        if (rank < negatives.total) {
+            // negatives are visited from the largest magnitude down
+            return -value(negatives.indexOfRank(negatives.total - 1 - rank));
+        }
+        rank -= negatives.total;
+        if (rank < zeroCount) {
+            return 0;
+        }
+        return value(positives.indexOfRank(rank - zeroCount));
+    }
+
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * Returns the value representing bucket {@code index}, within the relative accuracy of both its bounds.
+     */
+    private double value(int index) {
+        // in logarithms, gamma^index alone overflows in the top bucket
+        return Math.min(Double.MAX_VALUE, Math.exp(index * logGamma + Math.log(2 / (1 + Math.exp(logGamma)))));
+    }
+
+    /**
+     * Counts per index of a contiguous range of indexes, widened as values fall outside of it.
+     */
+    private static final class Buckets implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private long[] counts = new long[0];
+        private int offset;
+        private long total;
+
+        void add(int index, long count) {
+            if (counts.length == 0) {
+                counts = new long[64];
+                // room on both sides of the first index
+                offset = index - 32;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += count;
+            total += count;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        /**
+         * Returns the index of the bucket holding the value of {@code rank} in ascending order.
+         */
+        int indexOfRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return offset + i;
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        private void grow(int index) {
+            long from = Math.min(offset, (long) index);
+            long to = Math.max((long) offset + counts.length, (long) index + 1);
+            // at least double, so that values spreading one bucket at a time copy the counts a logarithmic number of times
+            long length = Math.max(to - from, 2L * counts.length);
+            long newOffset = index < offset ? to - length : from;
+            long[] grown = new long[(int) length];
+            System.arraycopy(counts, 0, grown, (int) (offset - newOffset), counts.length);
+            counts = grown;
+            offset = (int) newOffset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Buckets && total == ((Buckets) o).total && Arrays.equals(trimmed(), ((Buckets) o).trimmed());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(trimmed());
+        }
+
+        /**
+         * Returns the first non empty index followed by the counts up to the last non empty one.
+         */
+        private long[] trimmed() {
+            int first = 0;
+            int last = counts.length - 1;
+            while (first <= last && counts[first] == 0) {
+                first++;
+            }
+            while (last >= first && counts[last] == 0) {
+                last--;
+            }
+            long[] trimmed = new long[last - first + 2];
+            trimmed[0] = (long) offset + first;
+            System.arraycopy(counts, first, trimmed, 1, last - first + 1);
+            return trimmed;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof QuantileSketch)) {
+            return false;
+        }
+        QuantileSketch other = (QuantileSketch) o;
+        return relativeAccuracy == other.relativeAccuracy && zeroCount == other.zeroCount
+                && positives.equals(other.positives) && negatives.equals(other.negatives);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(zeroCount) + positives.hashCode()) + negatives.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch{relativeAccuracy=" + relativeAccuracy + ", count=" + count() + "}";
+    }
+}
@@ -0,0 +1,257 @@
+package ir.garshasb.collections.sketch;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Summary statistics of numbers gathered in a single pass, backing the {@code summaryOfDouble} and {@code summaryOfLong}
+ * Iterable and Stream extensions: the count, minimum, maximum, mean and variance, exact up to floating point rounding,
+ * and quantiles within the relative accuracy of a {@link QuantileSketch}, 1% by default.
+ * <p>
+ * Percentiles of a latency sample no longer need a sorted copy of it: memory depends on the spread of the values, not on
+ * their count, and nothing is boxed. The mean and variance are updated after Welford, so they stay accurate when the values
+ * are large and close to each other, where summing squares would cancel out. Summaries of the same accuracy
+ * {@link #merge(Summary) merge}, like the partial summaries of the splits of a parallel stream do in {@link #doubleCollector}.
+ * {@code long}s are summarized as {@code double}s, exact up to 2^53. Not thread safe.
+ */
+public final class Summary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final QuantileSketch sketch;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    /**
+     * The sum of the squared differences to the mean.
+     */
+    private double squaredDeviations;
+    /**
+     * The Kahan sum of the values with its compensation, and their plain sum, which keeps an overflow to infinity.
+     */
+    private double sum;
+    private double sumCompensation;
+    private double simpleSum;
+
+    /**
+     * Creates an empty summary whose quantiles are within {@link QuantileSketch#DEFAULT_RELATIVE_ACCURACY} of the exact ones.
+     */
+    public Summary() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Creates an empty summary whose quantiles are within {@code relativeAccuracy} of the exact ones.
+     *
+     * @throws IllegalArgumentException if {@code relativeAccuracy} is not one a {@link QuantileSketch} accepts.
+     */
+    public Summary(double relativeAccuracy) {
+        this.sketch = new QuantileSketch(relativeAccuracy);
+    }
+
+    /**
+     * Returns a collector summarizing the values {@code selector} returns for the elements of a stream,
+     * one summary per split of a parallel stream, then merged.
+     */
+    public static <T> Collector<T, Summary, Summary> doubleCollector(ToDoubleFunction<? super T> selector) {
+        return Collector.of(Summary::new, (summary, element) -> summary.add(selector.applyAsDouble(element)),
+                Summary::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Returns a collector summarizing the values {@code selector} returns for the elements of a stream,
+     * one summary per split of a parallel stream, then merged.
+     */
+    public static <T> Collector<T, Summary, Summary> longCollector(ToLongFunction<? super T> selector) {
+        return Collector.of(Summary::new, (summary, element) -> summary.add(selector.applyAsLong(element)),
+                Summary::merge, Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Adds {@code value}.
+     *
+     * @throws IllegalArgumentException if {@code value} is NaN or infinite.
+     */
+    public void add(double value) {
+        sketch.add(value);
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        addToSum(value);
+        simpleSum += value;
+    }
+
+    /**
+     * Merges {@code other} into this summary, which then summarizes the values of both, and returns this summary.
+     *
+     * @throws IllegalArgumentException if {@code other} has another relative accuracy.
+     */
+    public Summary merge(Summary other) {
+        sketch.merge(other.sketch);
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        // Chan et al., the pairwise update of the squared deviations
+        squaredDeviations += other.squaredDeviations + delta * delta * count / total * other.count;
+        mean += delta * other.count / total;
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        addToSum(other.sum);
+        addToSum(-other.sumCompensation);
+        simpleSum += other.simpleSum;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @throws NoSuchElementException if the summary is empty.
+     */
+    public double min() {
+        requireNotEmpty();
+        return min;
+    }
+
+    /**
+     * @throws NoSuchElementException if the summary is empty.
+     */
+    public double max() {
+        requireNotEmpty();
+        return max;
+    }
+
+    /**
+     * Returns the sum of the values, {@code 0} if the summary is empty. The sum is compensated (Kahan),
+     * as the one of {@link java.util.DoubleSummaryStatistics}, so it is exact for {@code long}s up to 2^53.
+     */
+    public double sum() {
+        double compensated = sum - sumCompensation;
+        // overflowing to infinity turns the compensation into Inf - Inf, the plain sum keeps the infinity
+        if (Double.isNaN(compensated) && Double.isInfinite(simpleSum)) {
+            return simpleSum;
+        }
+        return compensated;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values, {@code 0} if the summary is empty.
+     */
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * Returns the population variance of the values, the mean of their squared differences to {@link #mean()},
+     * {@code 0} if the summary is empty.
+     */
+    public double variance() {
+        return count == 0 ? 0 : squaredDeviations / count;
+    }
+
+    /**
+     * Returns the sample variance of the values, the squared differences to {@link #mean()} summed then divided by {@code count - 1},
+     * {@code 0} if there are less than two values.
+     */
+    public double sampleVariance() {
+        return count < 2 ? 0 : squaredDeviations / (count - 1);
+    }
+
+    /**
+     * Returns the population standard deviation, the square root of {@link #variance()}.
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Returns the relative accuracy of the quantiles.
+     */
+    public double relativeAccuracy() {
+        return sketch.relativeAccuracy();
+    }
+
+    /**
+     * Returns the value at the {@code quantile}, within {@link #relativeAccuracy()} of the exact one and never out of
+     * {@code [min, max]}: the median for {@code 0.5}, exactly the minimum for {@code 0} and the maximum for {@code 1}.
+     *
+     * @throws IllegalArgumentException if {@code quantile} is not between 0 and 1.
+     * @throws NoSuchElementException   if the summary is empty.
+     */
+    public double quantile(double quantile) {
+        double value = sketch.quantile(quantile);
+        if (quantile == 0) {
+            return min;
+        }
+        if (quantile == 1) {
+            return max;
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Returns the median, {@code quantile(0.5)}.
+     */
+    public double p50() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Returns {@code quantile(0.9)}.
+     */
+    public double p90() {
+        return quantile(0.9);
+    }
+
+    /**
+     * Returns {@code quantile(0.99)}.
+     */
+    public double p99() {
+        return quantile(0.99);
+    }
+
+    /**
+     * Returns {@code quantile(0.999)}.
+     */
+    public double p999() {
+        return quantile(0.999);
+    }
+
+    private void addToSum(double value) {
+        double y = value - sumCompensation;
+        double t = sum + y;
+        sumCompensation = (t - sum) - y;
+        sum = t;
+    }
+
+    private void requireNotEmpty() {
+        if (count == 0) {
+            throw new NoSuchElementException("The summary is empty.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "Summary{count=0}";
+        }
+        return "Summary{count=" + count + ", min=" + min + ", max=" + max + ", mean=" + mean
+                + ", standardDeviation=" + standardDeviation() + ", p50=" + p50() + ", p90=" + p90()
+                + ", p99=" + p99() + ", p999=" + p999() + "}";
+    }
+}
@@ -0,0 +1,210 @@
+package ir.garshasb.collections.sorting;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sorting by a primitive key extracted once per element, backing the {@code sortedByInt}, {@code sortedByLong}
+ * and {@code sortedByDouble} extensions.
+ * <p>
+ * The keys go into a {@code long[]}, {@code double} keys through an order preserving bit transform. When the range of
+ * the keys leaves room for the bits of an element index, as it always does for {@code int} keys and usually does for
+ * timestamps and identifiers, each key is packed with its index into one {@code long} and the packed array is sorted
+ * with {@link Arrays#sort(long[])} or {@link Arrays#parallelSort(long[])}: no comparator, no boxing, and ties are
+ * ordered by index. Wider keys are merge sorted together with an {@code int[]} of indexes. Either way the sort is
+ * stable, elements with equal keys keep their encounter order.
+ */
+public final class PrimitiveKeySort {
+
+    /**
+     * Merge sort runs up to this length are sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    /**
+     * Merge sort ranges from this length on are split in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private PrimitiveKeySort() {
+    }
+
+    public static <T> List<T> sortedByInt(Iterable<T> source, ToIntFunction<? super T> selector, boolean parallel) {
+        Object[] elements = toArray(source);
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection unchecked
+            keys[i] = selector.applyAsInt((T) elements[i]);
+        }
+        return permute(elements, order(keys, parallel));
+    }
+
+    public static <T> List<T> sortedByLong(Iterable<T> source, ToLongFunction<? super T> selector, boolean parallel) {
+        Object[] elements = toArray(source);
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection unchecked
+            keys[i] = selector.applyAsLong((T) elements[i]);
+        }
+        return permute(elements, order(keys, parallel));
+    }
+
+    /**
+     * Keys are ordered like {@link Double#compare(double, double)}: {@code -0.0} before {@code 0.0} and NaN last.
+     */
+    public static <T> List<T> sortedByDouble(Iterable<T> source, ToDoubleFunction<? super T> selector, boolean parallel) {
+        Object[] elements = toArray(source);
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            //noinspection unchecked
+            long bits = Double.doubleToLongBits(selector.applyAsDouble((T) elements[i]));
+            // flip the magnitude of negatives so that the signed order of the bits is the numeric order
+            keys[i] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+        return permute(elements, order(keys, parallel));
+    }
+
+    /**
+     * Returns the indexes of {@code keys} in ascending key order, equal keys in ascending index order.
+     */
+    static int[] order(long[] keys, boolean parallel) {
+        int n = keys.length;
+        int[] order = new int[n];
+        if (n == 0) {
+            return order;
+        }
+        long min = keys[0];
+        long max = keys[0];
+        for (long key : keys) {
+            min = Math.min(min, key);
+            max = Math.max(max, key);
+        }
+        int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, n - 1));
+        // max - min read as unsigned never overflows, it must leave the index bits and the sign bit free
+        if ((max - min) >>> (63 - indexBits) == 0) {
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                packed[i] = (keys[i] - min) << indexBits | i;
+            }
+            if (parallel) {
+                Arrays.parallelSort(packed);
+            } else {
+                Arrays.sort(packed);
+            }
+            long indexMask = (1L << indexBits) - 1;
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) (packed[i] & indexMask);
+            }
+            return order;
+        }
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long[] sortedKeys = keys.clone();
+        MergeSort sort = new MergeSort(sortedKeys, order, new long[n], new int[n], 0, n);
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(sort);
+        } else {
+            sort.compute();
+        }
+        return order;
+    }
+
+    private static Object[] toArray(Iterable<?> source) {
+        if (source instanceof Collection) {
+            return ((Collection<?>) source).toArray();
+        }
+        ArrayList<Object> list = new ArrayList<>();
+        source.forEach(list::add);
+        return list.toArray();
+    }
+
+    private static <T> List<T> permute(Object[] elements, int[] order) {
+        ArrayList<T> result = new ArrayList<>(elements.length);
+        for (int index : order) {
+            //noinspection unchecked
+            result.add((T) elements[index]);
+        }
+        return result;
+    }
+
+    /**
+     * A stable top-down merge sort of {@code keys[from, to)} carrying {@code indexes} along, the halves of long ranges
+     * sorted in parallel when run in a pool.
+     */
+    private static final class MergeSort extends RecursiveAction {
+        private final long[] keys;
+        private final int[] indexes;
+        private final long[] keyBuffer;
+        private final int[] indexBuffer;
+        private final int from;
+        private final int to;
+
+        MergeSort(long[] keys, int[] indexes, long[] keyBuffer, int[] indexBuffer, int from, int to) {
+            this.keys = keys;
+            this.indexes = indexes;
+            this.keyBuffer = keyBuffer;
+            this.indexBuffer = indexBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= INSERTION_SORT_THRESHOLD) {
+                insertionSort();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            MergeSort left = new MergeSort(keys, indexes, keyBuffer, indexBuffer, from, middle);
+            MergeSort right = new MergeSort(keys, indexes, keyBuffer, indexBuffer, middle, to);
+            if (getPool() != null && to - from >= PARALLEL_THRESHOLD) {
+                invokeAll(left, right);
+            } else {
+                left.compute();
+                right.compute();
+            }
+            if (keys[middle - 1] <= keys[middle]) {
+                return;
+            }
+            merge(middle);
+        }
+
+        private void insertionSort() {
+            for (int i = from + 1; i < to; i++) {
+                long key = keys[i];
+                int index = indexes[i];
+                int j = i - 1;
+                for (; j >= from && keys[j] > key; j--) {
+                    keys[j + 1] = keys[j];
+                    indexes[j + 1] = indexes[j];
+                }
+                keys[j + 1] = key;
+                indexes[j + 1] = index;
+            }
+        }
+
+        private void merge(int middle) {
+            System.arraycopy(keys, from, keyBuffer, from, middle - from);
+            System.arraycopy(indexes, from, indexBuffer, from, middle - from);
+            int left = from;
+            int right = middle;
+            int out = from;
+            // taking the left run on ties keeps the sort stable
+            while (left < middle && right < to) {
+                if (keys[right] < keyBuffer[left]) {
+                    keys[out] = keys[right];
+                    indexes[out++] = indexes[right++];
+                } else {
+                    keys[out] = keyBuffer[left];
+                    indexes[out++] = indexBuffer[left++];
+                }
+            }
+            System.arraycopy(keyBuffer, left, keys, out, middle - left);
+            System.arraycopy(indexBuffer, left, indexes, out, middle - left);
+        }
+    }
+}
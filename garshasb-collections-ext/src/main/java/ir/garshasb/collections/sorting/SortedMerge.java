@@ -0,0 +1,208 @@
+package ir.garshasb.collections.sorting;
+
+import ir.garshasb.collections.sets.SortedIterable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A lazy k-way merge of sources each sorted by the same key, backing the {@code mergeSorted} and {@code mergeSortedBy}
+ * Iterable extensions.
+ * <p>
+ * Every iteration keeps one cursor per source in a tournament tree ordered by the key of its current element, so producing
+ * an element costs log2(k) key comparisons, half as many as a binary heap, and nothing is copied or re-sorted.
+ * Keys are computed once per element. The merge pays off when it is consumed as it goes, partly, or from sources that are
+ * not all in memory: copying every source into one list and sorting it is about as fast, since TimSort finds the sorted runs.
+ * Equal keys are produced in source order, and in iteration order within a source, which makes the merge stable.
+ * The deduplicating merge only produces the first of a run of elements with equal keys.
+ * <p>
+ * The merge is a {@link SortedIterable}, so the set operations of the Iterable extensions run against it as a linear merge.
+ * The order of the sources is trusted, not checked. Each {@link #iterator()} starts over from the sources.
+ */
+public final class SortedMerge<T, K> implements SortedIterable<T> {
+
+    private final List<? extends Iterable<? extends T>> sources;
+    private final Function<? super T, ? extends K> keySelector;
+    private final Comparator<? super K> keyComparator;
+    private final boolean distinct;
+    private final Comparator<? super T> comparator;
+
+    private SortedMerge(List<? extends Iterable<? extends T>> sources, Function<? super T, ? extends K> keySelector,
+                        Comparator<? super K> keyComparator, boolean distinct, Comparator<? super T> comparator) {
+        this.sources = sources;
+        this.keySelector = keySelector;
+        this.keyComparator = keyComparator;
+        this.distinct = distinct;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the merge of {@code sources}, each sorted by {@code comparator}.
+     *
+     * @param distinct whether to skip elements comparing equal to the previous one
+     */
+    public static <T> SortedMerge<T, T> merge(List<? extends Iterable<? extends T>> sources,
+                                              Comparator<? super T> comparator, boolean distinct) {
+        // elements are their own keys, a null selector spares the identity calls
+        return new SortedMerge<T, T>(sources, null, comparator, distinct, comparator);
+    }
+
+    /**
+     * Returns the merge of {@code sources}, each sorted by the natural order of the keys {@code keySelector} returns.
+     *
+     * @param distinct whether to skip elements with the same key as the previous one
+     */
+    public static <T, K extends Comparable<? super K>> SortedMerge<T, K> mergeBy(List<? extends Iterable<? extends T>> sources,
+                                                                                 Function<? super T, ? extends K> keySelector,
+                                                                                 boolean distinct) {
+        return new SortedMerge<T, K>(sources, keySelector, Comparator.naturalOrder(), distinct, Comparator.comparing(keySelector));
+    }
+
+    @Override
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new MergeIterator();
+    }
+
+    private final class MergeIterator implements Iterator<T> {
+        /**
+         * A tournament over the cursors: each internal node {@code 1..k-1} holds the loser of the match played there,
+         * node {@code 0} the overall winner, the cursor holding the smallest key. Cursor {@code c} is the leaf {@code k + c}.
+         */
+        private final int[] tree;
+        private final Iterator<? extends T>[] iterators;
+        private final Object[] elements;
+        private final Object[] keys;
+        private boolean started;
+        private boolean produced;
+        private K lastKey;
+
+        @SuppressWarnings("unchecked")
+        MergeIterator() {
+            int count = sources.size();
+            tree = new int[Math.max(1, count)];
+            iterators = new Iterator[count];
+            elements = new Object[count];
+            keys = keySelector == null ? elements : new Object[count];
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!started) {
+                start();
+            }
+            if (distinct && produced) {
+                // drop the rest of the run of the last produced key
+                while (!exhausted(tree[0]) && keyComparator.compare(key(tree[0]), lastKey) == 0) {
+                    advance();
+                }
+            }
+            return !exhausted(tree[0]);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            //noinspection unchecked
+            T element = (T) elements[winner];
+            lastKey = key(winner);
+            produced = true;
+            advance();
+            return element;
+        }
+
+        private void start() {
+            started = true;
+            if (iterators.length == 0) {
+                tree[0] = -1;
+                return;
+            }
+            for (int cursor = 0; cursor < iterators.length; cursor++) {
+                Iterator<? extends T> iterator = sources.get(cursor).iterator();
+                if (iterator.hasNext()) {
+                    iterators[cursor] = iterator;
+                    load(cursor);
+                }
+            }
+            tree[0] = play(1);
+        }
+
+        /**
+         * Plays the matches of the subtree at {@code node}, recording the losers, and returns its winner.
+         */
+        private int play(int node) {
+            int count = iterators.length;
+            if (node >= count) {
+                return node - count;
+            }
+            int left = play(2 * node);
+            int right = play(2 * node + 1);
+            if (less(right, left)) {
+                tree[node] = left;
+                return right;
+            }
+            tree[node] = right;
+            return left;
+        }
+
+        /**
+         * Moves the winner to its next element, or marks it exhausted, and replays its matches up to the root.
+         */
+        private void advance() {
+            int winner = tree[0];
+            if (iterators[winner].hasNext()) {
+                load(winner);
+            } else {
+                iterators[winner] = null;
+                elements[winner] = null;
+                keys[winner] = null;
+            }
+            for (int node = (winner + iterators.length) >>> 1; node > 0; node >>>= 1) {
+                int loser = tree[node];
+                if (less(loser, winner)) {
+                    tree[node] = winner;
+                    winner = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        private void load(int cursor) {
+            T element = iterators[cursor].next();
+            elements[cursor] = element;
+            if (keySelector != null) {
+                keys[cursor] = keySelector.apply(element);
+            }
+        }
+
+        private boolean exhausted(int cursor) {
+            return cursor < 0 || iterators[cursor] == null;
+        }
+
+        /**
+         * Orders cursors by key, then by source so that the merge is stable, exhausted cursors last.
+         */
+        private boolean less(int a, int b) {
+            if (exhausted(a)) {
+                return false;
+            }
+            if (exhausted(b)) {
+                return true;
+            }
+            int order = keyComparator.compare(key(a), key(b));
+            return order < 0 || order == 0 && a < b;
+        }
+
+        @SuppressWarnings("unchecked")
+        private K key(int cursor) {
+            return (K) keys[cursor];
+        }
+    }
+}
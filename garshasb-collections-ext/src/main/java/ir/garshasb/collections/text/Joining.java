@@ -0,0 +1,170 @@
+package ir.garshasb.collections.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Joins the elements of an {@link Iterable} into an {@link Appendable}, a UTF-8 {@link OutputStream} or a {@link ByteBuffer},
+ * backing the {@code joinTo} and {@code joinToString} extensions.
+ * <p>
+ * Elements are appended without an intermediate {@code String} where possible:
+ * a {@link CharSequence} is appended as is, a {@link Character} as a {@code char}, {@code null} as {@code "null"},
+ * anything else through {@code toString()}. A {@code transform}, when given, replaces that element path.
+ * <p>
+ * When more than {@code limit} elements are present (a negative {@code limit} means no limit),
+ * only the first {@code limit} are joined, followed by {@value #TRUNCATED}.
+ */
+public final class Joining {
+
+    /**
+     * Appended in place of the elements past {@code limit}.
+     */
+    public static final String TRUNCATED = "...";
+
+    /**
+     * Characters assumed per element when the capacity of a {@code StringBuilder} can not be computed exactly.
+     */
+    static final int ESTIMATED_ELEMENT_LENGTH = 8;
+
+    /**
+     * Upper bound of the guessed, as opposed to computed, part of a {@code StringBuilder} capacity.
+     */
+    static final int MAX_GUESSED_CAPACITY = 1 << 16;
+
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private Joining() {
+    }
+
+    /**
+     * Appends the elements of {@code source} to {@code buffer}.
+     *
+     * @param transform maps each element to the characters to append, or {@code null} for the default element path.
+     * @throws UncheckedIOException if {@code buffer} throws an {@link IOException}.
+     */
+    public static <T, A extends Appendable> A joinTo(Iterable<T> source, A buffer, CharSequence separator, CharSequence prefix,
+                                                    CharSequence postfix, int limit, Function<T, ? extends CharSequence> transform) {
+        try {
+            append(source, buffer, separator, prefix, postfix, limit, transform);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * Joins the elements of {@code source} into a {@code String}, sizing the builder up front.
+     *
+     * @see #estimateCapacity
+     */
+    public static <T> String joinToString(Iterable<T> source, CharSequence separator, CharSequence prefix,
+                                          CharSequence postfix, int limit, Function<T, ? extends CharSequence> transform) {
+        StringBuilder builder = new StringBuilder(estimateCapacity(source, separator, prefix, postfix, limit, transform != null));
+        return joinTo(source, builder, separator, prefix, postfix, limit, transform).toString();
+    }
+
+    /**
+     * Encodes the joined elements of {@code source} as UTF-8 straight into {@code out}, through one reused chunk,
+     * without building the whole text first. {@code out} is neither flushed nor closed.
+     *
+     * @throws UncheckedIOException if {@code out} throws an {@link IOException}.
+     */
+    public static <T> OutputStream joinTo(Iterable<T> source, OutputStream out, CharSequence separator, CharSequence prefix,
+                                          CharSequence postfix, int limit, Function<T, ? extends CharSequence> transform) {
+        try {
+            Utf8Sink sink = Utf8Sink.of(out);
+            append(source, sink, separator, prefix, postfix, limit, transform);
+            sink.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * Encodes the joined elements of {@code source} as UTF-8 into {@code buffer}, starting at its position.
+     *
+     * @throws java.nio.BufferOverflowException if the encoded text does not fit in the remaining bytes of {@code buffer},
+     *                                          in which case the bytes that fitted may already be written.
+     */
+    public static <T> ByteBuffer joinTo(Iterable<T> source, ByteBuffer buffer, CharSequence separator, CharSequence prefix,
+                                        CharSequence postfix, int limit, Function<T, ? extends CharSequence> transform) {
+        try {
+            Utf8Sink sink = Utf8Sink.of(buffer);
+            append(source, sink, separator, prefix, postfix, limit, transform);
+            sink.finish();
+        } catch (IOException e) {
+            // a ByteBuffer sink does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns a {@code StringBuilder} capacity for joining {@code source}.
+     * <p>
+     * Exact for a {@link RandomAccess} list of {@link CharSequence}s joined without a transform,
+     * otherwise {@value #ESTIMATED_ELEMENT_LENGTH} characters are assumed per element of a {@link Collection},
+     * at most {@value #MAX_GUESSED_CAPACITY} in total so that a wrong guess does not over-allocate.
+     */
+    static int estimateCapacity(Iterable<?> source, CharSequence separator, CharSequence prefix, CharSequence postfix,
+                                int limit, boolean transformed) {
+        long fixed = prefix.length() + postfix.length();
+        if (!(source instanceof Collection)) {
+            return (int) Math.min(fixed + 16, MAX_CAPACITY);
+        }
+        int size = ((Collection<?>) source).size();
+        int count = limit >= 0 && limit < size ? limit : size;
+        if (count < size) {
+            fixed += separator.length() + TRUNCATED.length();
+        }
+        fixed += (long) Math.max(count - 1, 0) * separator.length();
+        if (!transformed && source instanceof List && source instanceof RandomAccess) {
+            List<?> list = (List<?>) source;
+            long characters = 0;
+            for (int i = 0; i < count && characters >= 0; i++) {
+                Object element = list.get(i);
+                characters = element instanceof CharSequence ? characters + ((CharSequence) element).length() : -1;
+            }
+            if (characters >= 0) {
+                return (int) Math.min(fixed + characters, MAX_CAPACITY);
+            }
+        }
+        return (int) Math.min(fixed + Math.min((long) count * ESTIMATED_ELEMENT_LENGTH, MAX_GUESSED_CAPACITY), MAX_CAPACITY);
+    }
+
+    private static <T> void append(Iterable<T> source, Appendable buffer, CharSequence separator, CharSequence prefix,
+                                   CharSequence postfix, int limit, Function<T, ? extends CharSequence> transform) throws IOException {
+        buffer.append(prefix);
+        int count = 0;
+        for (T element : source) {
+            if (count++ > 0) {
+                buffer.append(separator);
+            }
+            if (limit >= 0 && count > limit) {
+                buffer.append(TRUNCATED);
+                break;
+            }
+            appendElement(buffer, element, transform);
+        }
+        buffer.append(postfix);
+    }
+
+    private static <T> void appendElement(Appendable buffer, T element, Function<T, ? extends CharSequence> transform) throws IOException {
+        if (transform != null) {
+            buffer.append(transform.apply(element));
+        } else if (element instanceof CharSequence) {
+            buffer.append((CharSequence) element);
+        } else if (element instanceof Character) {
+            buffer.append((Character) element);
+        } else {
+            buffer.append(String.valueOf(element));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package ir.garshasb.collections.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link Appendable} encoding the appended characters to UTF-8 into a fixed chunk, handed to the sink whenever it fills up.
+ * <p>
+ * Character sequences are read with {@code charAt}, so no {@code String} copy of them is made.
+ * Unpaired surrogates are encoded as {@code '?'}, like {@link String#getBytes(java.nio.charset.Charset)} does.
+ * {@link #finish()} must be called once everything is appended.
+ */
+abstract class Utf8Sink implements Appendable {
+
+    static final int CHUNK_SIZE = 8192;
+
+    private final byte[] chunk;
+    private int length;
+    private char pendingHighSurrogate;
+
+    Utf8Sink(int chunkSize) {
+        this.chunk = new byte[Math.max(4, chunkSize)];
+    }
+
+    static Utf8Sink of(OutputStream out) {
+        return new Utf8Sink(CHUNK_SIZE) {
+            @Override
+            protected void write(byte[] bytes, int length) throws IOException {
+                out.write(bytes, 0, length);
+            }
+        };
+    }
+
+    /**
+     * @throws java.nio.BufferOverflowException from {@link #finish()} or any append once {@code buffer} is full.
+     */
+    static Utf8Sink of(ByteBuffer buffer) {
+        return new Utf8Sink(Math.min(CHUNK_SIZE, buffer.remaining())) {
+            @Override
+            protected void write(byte[] bytes, int length) {
+                buffer.put(bytes, 0, length);
+            }
+        };
+    }
+
+    protected abstract void write(byte[] bytes, int length) throws IOException;
+
+    @Override
+    public Utf8Sink append(CharSequence csq) throws IOException {
+        if (csq == null) {
+            csq = "null";
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8Sink append(CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) {
+            csq = "null";
+        }
+        for (int i = start; i < end; i++) {
+            encode(csq.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Sink append(char c) throws IOException {
+        encode(c);
+        return this;
+    }
+
+    /**
+     * Encodes a trailing unpaired high surrogate and hands the rest of the chunk to the sink.
+     */
+    void finish() throws IOException {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            put((byte) '?');
+        }
+        if (length > 0) {
+            write(chunk, length);
+            length = 0;
+        }
+    }
+
+    private void encode(char c) throws IOException {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                reserve(4);
+                chunk[length++] = (byte) (0xF0 | (codePoint >> 18));
+                chunk[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                chunk[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                chunk[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            put((byte) '?');
+        }
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            reserve(2);
+            chunk[length++] = (byte) (0xC0 | (c >> 6));
+            chunk[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            put((byte) '?');
+        } else {
+            reserve(3);
+            chunk[length++] = (byte) (0xE0 | (c >> 12));
+            chunk[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            chunk[length++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void put(byte b) throws IOException {
+        reserve(1);
+        chunk[length++] = b;
+    }
+
+    private void reserve(int bytes) throws IOException {
+        if (length + bytes > chunk.length) {
+            write(chunk, length);
+            length = 0;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package ir.garshasb.collections.views;
+
+import java.lang.reflect.Array;
+import java.util.*;
+
+/**
+ * Read-only views over lists, arrays and iterables, backing the {@code reversedView}, {@code sliceView} and
+ * {@code stepView} extensions.
+ * <p>
+ * A view costs O(1) to create whatever the size of its source: nothing is copied, element access is translated to
+ * the source, and later changes of the source show through, structural ones included: a slice keeps covering the same
+ * positions of its source and ends early while the source is shorter. Views of {@link RandomAccess} lists and of arrays are
+ * {@code RandomAccess} themselves, views of other lists iterate them sequentially instead of calling {@code get}.
+ * All mutators throw {@link UnsupportedOperationException}.
+ */
+public final class ListViews {
+
+    private ListViews() {
+    }
+
+    /**
+     * Returns a view of {@code list} in reverse order.
+     */
+    public static <T> List<T> reversed(List<T> list) {
+        return list instanceof RandomAccess ? new RandomAccessReversed<>(list) : new Reversed<>(list);
+    }
+
+    /**
+     * Returns a view of the elements of {@code list} from {@code fromIndex} (inclusive) to {@code toIndex} (exclusive).
+     * <p>
+     * Unlike {@link List#subList}, the view survives structural changes of {@code list}: it shows whatever elements are
+     * at these positions when it is read, fewer if {@code list} has shrunk below {@code toIndex}.
+     *
+     * @throws IndexOutOfBoundsException if {@code fromIndex < 0}, {@code toIndex > list.size()} or {@code fromIndex > toIndex}.
+     */
+    public static <T> List<T> slice(List<T> list, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + list.size());
+        }
+        return sliced(list, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a view of every {@code step}-th element of {@code list}, starting with the first one.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive.
+     */
+    public static <T> List<T> step(List<T> list, int step) {
+        requirePositiveStep(step);
+        return list instanceof RandomAccess ? new RandomAccessStepped<>(list, step) : new Stepped<>(list, step);
+    }
+
+    /**
+     * Returns a fixed-size, read-only list view of {@code array}, which may be an array of a primitive type
+     * whose elements are then boxed on access.
+     *
+     * @throws IllegalArgumentException if {@code array} is not an array.
+     */
+    public static List<Object> ofArray(Object array) {
+        if (array instanceof Object[]) {
+            return Collections.unmodifiableList(Arrays.asList((Object[]) array));
+        }
+        if (array == null || !array.getClass().isArray()) {
+            throw new IllegalArgumentException("Not an array: " + array);
+        }
+        return new PrimitiveArray(array);
+    }
+
+    /**
+     * Returns a view of {@code iterable} in reverse order.
+     * <p>
+     * A list is viewed as by {@link #reversed(List)} and a {@link Deque} is iterated with its descending iterator.
+     * Any other iterable can only be walked forwards, so its elements are buffered each time the view is iterated.
+     */
+    public static <T> Iterable<T> reversed(Iterable<T> iterable) {
+        if (iterable instanceof List) {
+            return reversed((List<T>) iterable);
+        }
+        if (iterable instanceof Deque) {
+            return () -> unmodifiable(((Deque<T>) iterable).descendingIterator());
+        }
+        return () -> {
+            ArrayList<T> buffer = new ArrayList<>();
+            iterable.forEach(buffer::add);
+            return reversed(buffer).iterator();
+        };
+    }
+
+    /**
+     * Returns a lazy view of the elements of {@code iterable} from {@code fromIndex} (inclusive) to {@code toIndex}
+     * (exclusive), or to its end if it has fewer elements. A list is viewed as by {@link #slice(List, int, int)},
+     * and elements it gains later up to {@code toIndex} show through.
+     *
+     * @throws IllegalArgumentException if {@code fromIndex} is negative or greater than {@code toIndex}.
+     */
+    public static <T> Iterable<T> slice(Iterable<T> iterable, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex " + fromIndex + " and toIndex " + toIndex + " do not form a range.");
+        }
+        if (iterable instanceof List) {
+            return sliced((List<T>) iterable, fromIndex, toIndex);
+        }
+        return () -> new Iterator<T>() {
+            private final Iterator<T> source = iterable.iterator();
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                for (; index < fromIndex && source.hasNext(); index++) {
+                    source.next();
+                }
+                return index < toIndex && source.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                index++;
+                return source.next();
+            }
+        };
+    }
+
+    /**
+     * Returns a lazy view of every {@code step}-th element of {@code iterable}, starting with the first one.
+     * A list is viewed as by {@link #step(List, int)}.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive.
+     */
+    public static <T> Iterable<T> step(Iterable<T> iterable, int step) {
+        if (iterable instanceof List) {
+            return step((List<T>) iterable, step);
+        }
+        requirePositiveStep(step);
+        return () -> new SteppingIterator<>(iterable.iterator(), step);
+    }
+
+    private static <T> List<T> sliced(List<T> list, int fromIndex, int toIndex) {
+        return list instanceof RandomAccess ? new RandomAccessSliced<>(list, fromIndex, toIndex) : new Sliced<>(list, fromIndex, toIndex);
+    }
+
+    private static void requirePositiveStep(int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step " + step + " must be greater than zero.");
+        }
+    }
+
+    private static <T> Iterator<T> unmodifiable(Iterator<T> source) {
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return source.next();
+            }
+        };
+    }
+
+    private static class Reversed<T> extends AbstractList<T> {
+        final List<T> source;
+
+        Reversed(List<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public T get(int index) {
+            int size = source.size();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return source.get(size - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            ListIterator<T> backwards = source.listIterator(source.size());
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return backwards.hasPrevious();
+                }
+
+                @Override
+                public T next() {
+                    return backwards.previous();
+                }
+            };
+        }
+    }
+
+    private static final class RandomAccessReversed<T> extends Reversed<T> implements RandomAccess {
+        RandomAccessReversed(List<T> source) {
+            super(source);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return listIterator();
+        }
+    }
+
+    private static class Sliced<T> extends AbstractList<T> {
+        final List<T> source;
+        final int fromIndex;
+        final int toIndex;
+
+        Sliced(List<T> source, int fromIndex, int toIndex) {
+            this.source = source;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public T get(int index) {
+            int size = size();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return source.get(fromIndex + index);
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, Math.min(toIndex, source.size()) - fromIndex);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            int size = size();
+            if (size == 0) {
+                return Collections.emptyIterator();
+            }
+            ListIterator<T> forwards = source.listIterator(fromIndex);
+            return new Iterator<T>() {
+                private int remaining = size;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public T next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    remaining--;
+                    return forwards.next();
+                }
+            };
+        }
+    }
+
+    private static final class RandomAccessSliced<T> extends Sliced<T> implements RandomAccess {
+        RandomAccessSliced(List<T> source, int fromIndex, int toIndex) {
+            super(source, fromIndex, toIndex);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return listIterator();
+        }
+    }
+
+    private static class Stepped<T> extends AbstractList<T> {
+        final List<T> source;
+        final int step;
+
+        Stepped(List<T> source, int step) {
+            this.source = source;
+            this.step = step;
+        }
+
+        @Override
+        public T get(int index) {
+            int size = size();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return source.get(index * step);
+        }
+
+        @Override
+        public int size() {
+            int size = source.size();
+            return size / step + (size % step == 0 ? 0 : 1);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new SteppingIterator<>(source.iterator(), step);
+        }
+    }
+
+    private static final class RandomAccessStepped<T> extends Stepped<T> implements RandomAccess {
+        RandomAccessStepped(List<T> source, int step) {
+            super(source, step);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return listIterator();
+        }
+    }
+
+    private static final class PrimitiveArray extends AbstractList<Object> implements RandomAccess {
+        private final Object array;
+
+        PrimitiveArray(Object array) {
+            this.array = array;
+        }
+
+        @Override
+        public Object get(int index) {
+            return Array.get(array, index);
+        }
+
+        @Override
+        public int size() {
+            return Array.getLength(array);
+        }
+    }
+
+    private static final class SteppingIterator<T> implements Iterator<T> {
+        private final Iterator<T> source;
+        private final int step;
+        private boolean skip;
+
+        SteppingIterator(Iterator<T> source, int step) {
+            this.source = source;
+            this.step = step;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (skip) {
+                for (int i = 1; i < step && source.hasNext(); i++) {
+                    source.next();
+                }
+                skip = false;
+            }
+            return source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            skip = true;
+            return source.next();
+        }
+    }
+}